@@ -19,6 +19,7 @@ package com.wolfyscript.utilities
 
 import com.fasterxml.jackson.databind.ObjectMapper
 import com.wolfyscript.utilities.chat.Chat
+import com.wolfyscript.utilities.classpath.ClasspathIndex
 import com.wolfyscript.utilities.platform.Platform
 import com.wolfyscript.utilities.registry.Registries
 import org.reflections.Reflections
@@ -56,8 +57,18 @@ abstract class WolfyCore {
 
     abstract val wolfyUtils: WolfyUtils
 
+    /**
+     * Scans the whole classpath the first time it is accessed, which may take a long time.
+     * Prefer the [classpathIndex] instead.
+     */
+    @Deprecated("Scanning the classpath is slow. Use the classpathIndex instead.", ReplaceWith("classpathIndex"))
     abstract val reflections: Reflections
 
+    /**
+     * The index of the types and resources available on the classpath.
+     */
+    abstract val classpathIndex: ClasspathIndex
+
     abstract val registries: Registries
 
     abstract val platform: Platform
@@ -0,0 +1,56 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.classpath;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Provides the types and resources available on the classpath of the plugin.<br>
+ * The index is usually generated at build time (see {@link StaticClasspathIndex}), so there is no need to scan the classpath on startup.
+ */
+public interface ClasspathIndex {
+
+    /**
+     * Gets the types annotated with the specified annotation, including their subtypes.
+     *
+     * @param annotation The type of the annotation.
+     * @return The annotated types.
+     */
+    Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation);
+
+    /**
+     * Gets all the subtypes (direct and indirect) of the specified type.
+     *
+     * @param type The super type.
+     * @param <T>  The super type.
+     * @return The subtypes, not including the type itself.
+     */
+    <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type);
+
+    /**
+     * Gets the paths of the resources, whose file name matches the pattern.
+     *
+     * @param pattern The pattern the file names must match.
+     * @return The relative paths of the matching resources.
+     */
+    Set<String> getResources(Pattern pattern);
+
+}
@@ -0,0 +1,73 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.classpath;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.reflections.Reflections;
+
+/**
+ * Looks up the types and resources by scanning the classpath using {@link Reflections}.<br>
+ * Scanning the whole classpath is slow, so this is only used as a fallback when there is no {@link StaticClasspathIndex},
+ * or for the jars that are not indexed (e.g. third-party plugins).
+ */
+public class ReflectionsClasspathIndex implements ClasspathIndex {
+
+    private final Supplier<Reflections> reflectionsSupplier;
+    private Reflections reflections;
+
+    public ReflectionsClasspathIndex(Reflections reflections) {
+        this.reflections = reflections;
+        this.reflectionsSupplier = () -> reflections;
+    }
+
+    /**
+     * Creates an index that only scans the classpath once the first lookup happens.
+     *
+     * @param reflectionsSupplier Scans the classpath.
+     */
+    public ReflectionsClasspathIndex(Supplier<Reflections> reflectionsSupplier) {
+        this.reflectionsSupplier = reflectionsSupplier;
+    }
+
+    private synchronized Reflections getReflections() {
+        if (reflections == null) {
+            reflections = reflectionsSupplier.get();
+        }
+        return reflections;
+    }
+
+    @Override
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        return getReflections().getTypesAnnotatedWith(annotation);
+    }
+
+    @Override
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        return getReflections().getSubTypesOf(type);
+    }
+
+    @Override
+    public Set<String> getResources(Pattern pattern) {
+        return getReflections().getResources(pattern);
+    }
+
+}
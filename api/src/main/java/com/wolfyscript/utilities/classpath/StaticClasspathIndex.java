@@ -0,0 +1,170 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.classpath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.annotation.Annotation;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reads the types and resources from the index files, that are generated at build time and stored at {@link #INDEX_PATH} inside the jars.<br>
+ * Each line of an index file contains one entry:
+ * <pre>
+ * annotated &lt;annotation&gt; &lt;type&gt;   the type is annotated with the annotation
+ * subtype &lt;super type&gt; &lt;type&gt;     the type directly extends or implements the super type
+ * resource &lt;path&gt;                 the relative path of a resource
+ * </pre>
+ * The classes are only loaded once they are requested.
+ */
+public final class StaticClasspathIndex implements ClasspathIndex {
+
+    public static final String INDEX_PATH = "META-INF/wolfyutils/classpath.index";
+
+    private final ClassLoader classLoader;
+    private final Map<String, Set<String>> annotatedTypes = new HashMap<>();
+    private final Map<String, Set<String>> directSubTypes = new HashMap<>();
+    private final Set<String> resources = new LinkedHashSet<>();
+
+    private StaticClasspathIndex(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Loads all the index files, that are available to the class loader.
+     *
+     * @param classLoader The class loader to load the index files and classes with.
+     * @return The index; or null if there are no index files available.
+     * @throws IOException If an index file cannot be read.
+     */
+    @Nullable
+    public static StaticClasspathIndex load(ClassLoader classLoader) throws IOException {
+        Enumeration<URL> urls = classLoader.getResources(INDEX_PATH);
+        if (!urls.hasMoreElements()) return null;
+        var index = new StaticClasspathIndex(classLoader);
+        while (urls.hasMoreElements()) {
+            try (var reader = new BufferedReader(new InputStreamReader(urls.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                index.read(reader);
+            }
+        }
+        return index;
+    }
+
+    private void read(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            int separator = line.indexOf(' ');
+            if (separator < 0) continue;
+            String value = line.substring(separator + 1);
+            switch (line.substring(0, separator)) {
+                case "annotated" -> addEntry(annotatedTypes, value);
+                case "subtype" -> addEntry(directSubTypes, value);
+                case "resource" -> resources.add(value);
+                default -> {
+                    // Ignore entries unknown to this version
+                }
+            }
+        }
+    }
+
+    private static void addEntry(Map<String, Set<String>> entries, String value) {
+        int separator = value.indexOf(' ');
+        if (separator < 0) return;
+        entries.computeIfAbsent(value.substring(0, separator), key -> new HashSet<>()).add(value.substring(separator + 1));
+    }
+
+    @Override
+    public Set<Class<?>> getTypesAnnotatedWith(Class<? extends Annotation> annotation) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String annotatedType : annotatedTypes.getOrDefault(annotation.getName(), Set.of())) {
+            names.add(annotatedType);
+            collectSubTypes(annotatedType, names);
+        }
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (String name : names) {
+            Class<?> type = loadClass(name);
+            if (type != null) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public <T> Set<Class<? extends T>> getSubTypesOf(Class<T> type) {
+        Set<String> names = new LinkedHashSet<>();
+        collectSubTypes(type.getName(), names);
+        Set<Class<? extends T>> types = new LinkedHashSet<>();
+        for (String name : names) {
+            Class<?> subType = loadClass(name);
+            if (subType != null && type.isAssignableFrom(subType)) {
+                types.add(subType.asSubclass(type));
+            }
+        }
+        return types;
+    }
+
+    private void collectSubTypes(String type, Set<String> result) {
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            for (String subType : directSubTypes.getOrDefault(queue.poll(), Set.of())) {
+                if (result.add(subType)) {
+                    queue.add(subType);
+                }
+            }
+        }
+    }
+
+    @Override
+    public Set<String> getResources(Pattern pattern) {
+        Set<String> matching = new LinkedHashSet<>();
+        for (String path : resources) {
+            String fileName = path.substring(path.lastIndexOf('/') + 1);
+            if (pattern.matcher(fileName).matches()) {
+                matching.add(path);
+            }
+        }
+        return matching;
+    }
+
+    @Nullable
+    private Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Types of optional dependencies (e.g. plugin integrations) may not be loadable
+            return null;
+        }
+    }
+
+}
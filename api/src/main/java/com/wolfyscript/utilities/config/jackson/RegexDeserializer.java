@@ -40,7 +40,7 @@ public class RegexDeserializer<T> extends ValueDeserializer<T> {
         if (!cachedPatterns.containsKey(type)) {
             Map<OptionalRegexCreator, Pattern> subTypePatterns = new HashMap<>();
 
-            for (Class<? extends T> subType : core.getReflections().getSubTypesOf(type)) {
+            for (Class<? extends T> subType : core.getClasspathIndex().getSubTypesOf(type)) {
                 OptionalRegexCreator regexCreator = subType.getAnnotation(OptionalRegexCreator.class);
                 subTypePatterns.put(regexCreator, Pattern.compile(regexCreator.regex()));
             }
@@ -17,6 +17,8 @@
  */
 package com.wolfyscript.utilities.data
 
+import com.wolfyscript.utilities.functions.ReceiverConsumer
+
 /**
  * A DataComponentMap contains the data applied to a [DataHolder].
  * Each data component is associated with a unique key, and can be fetched using Keys (e.g. [ItemStack Data Keys][ItemStackDataKeys]).
@@ -47,4 +49,15 @@ interface DataComponentMap<H : DataHolder<H>> {
     fun keySet(): Set<DataKey<*, H>>
 
     fun size(): Int
+
+    /**
+     * Applies any number of reads and writes to this map as a single batch.
+     * Implementations may fetch the underlying platform data only once, and apply it once after the [edits] are done,
+     * instead of doing so for each call.
+     *
+     * The map passed to the [edits] must only be used inside of it.
+     */
+    fun edit(edits: ReceiverConsumer<DataComponentMap<H>>) {
+        with(edits) { consume() }
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.eval.compiled;
+
+/**
+ * The comparisons of the {@link com.wolfyscript.utilities.eval.operator.ComparisonOperator}s.
+ */
+public enum Comparison {
+
+    EQUAL,
+    NOT_EQUAL,
+    LESS,
+    LESS_EQUAL,
+    GREATER,
+    GREATER_EQUAL;
+
+    /**
+     * Checks if the result of a comparison ({@link Comparable#compareTo(Object)}) matches this comparison.
+     *
+     * @param comparison The result of the comparison.
+     * @return True if the result matches; otherwise false.
+     */
+    public boolean matches(int comparison) {
+        return switch (this) {
+            case EQUAL -> comparison == 0;
+            case NOT_EQUAL -> comparison != 0;
+            case LESS -> comparison < 0;
+            case LESS_EQUAL -> comparison <= 0;
+            case GREATER -> comparison > 0;
+            case GREATER_EQUAL -> comparison >= 0;
+        };
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.eval.compiled;
+
+/**
+ * Creates the {@link CompiledCondition}s of the operators.
+ */
+public final class CompiledConditions {
+
+    private static final CompiledCondition TRUE = context -> true;
+    private static final CompiledCondition FALSE = context -> false;
+
+    private CompiledConditions() {
+    }
+
+    public static CompiledCondition constant(boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    public static CompiledCondition and(CompiledCondition thisCondition, CompiledCondition thatCondition) {
+        return context -> thisCondition.test(context) && thatCondition.test(context);
+    }
+
+    public static CompiledCondition or(CompiledCondition thisCondition, CompiledCondition thatCondition) {
+        return context -> thisCondition.test(context) || thatCondition.test(context);
+    }
+
+    public static CompiledCondition not(CompiledCondition condition) {
+        return context -> !condition.test(context);
+    }
+
+    /**
+     * Compiles the comparison of the two values.<br>
+     * Values of the same numeric {@link ValueKind} are compared as primitives, with the same result as {@link Comparable#compareTo(Object)} of their wrapper types.
+     * Any other values are compared using {@link Comparable#compareTo(Object)}.
+     *
+     * @param comparison The comparison to apply to the result.
+     * @param thisValue  The left value.
+     * @param thatValue  The right value.
+     * @return The compiled comparison.
+     */
+    public static <V extends Comparable<V>> CompiledCondition compare(Comparison comparison, CompiledValue<V> thisValue, CompiledValue<V> thatValue) {
+        ValueKind kind = thisValue.kind() == thatValue.kind() ? thisValue.kind() : ValueKind.OBJECT;
+        return switch (kind) {
+            case BYTE, SHORT, INT -> context -> comparison.matches(Integer.compare(thisValue.getInt(context), thatValue.getInt(context)));
+            case LONG -> context -> comparison.matches(Long.compare(thisValue.getLong(context), thatValue.getLong(context)));
+            case FLOAT -> context -> comparison.matches(Float.compare(thisValue.getFloat(context), thatValue.getFloat(context)));
+            case DOUBLE -> context -> comparison.matches(Double.compare(thisValue.getDouble(context), thatValue.getDouble(context)));
+            case OBJECT -> context -> comparison.matches(thisValue.get(context).compareTo(thatValue.get(context)));
+        };
+    }
+
+}
@@ -0,0 +1,54 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.eval.compiled;
+
+import com.wolfyscript.utilities.eval.context.EvalContext;
+
+/**
+ * The compiled form of a {@link com.wolfyscript.utilities.eval.value_provider.ValueProvider}.<br>
+ * Values of a numeric {@link ValueKind} can be read as primitives, without boxing them.
+ *
+ * @param <V> The type of the value.
+ * @see CompiledValues#of(com.wolfyscript.utilities.eval.value_provider.ValueProvider)
+ */
+public interface CompiledValue<V> {
+
+    V get(EvalContext context);
+
+    default ValueKind kind() {
+        return ValueKind.OBJECT;
+    }
+
+    default int getInt(EvalContext context) {
+        return ((Number) get(context)).intValue();
+    }
+
+    default long getLong(EvalContext context) {
+        return ((Number) get(context)).longValue();
+    }
+
+    default float getFloat(EvalContext context) {
+        return ((Number) get(context)).floatValue();
+    }
+
+    default double getDouble(EvalContext context) {
+        return ((Number) get(context)).doubleValue();
+    }
+
+}
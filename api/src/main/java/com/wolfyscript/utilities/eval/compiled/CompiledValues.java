@@ -0,0 +1,186 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.eval.compiled;
+
+import com.wolfyscript.utilities.eval.context.EvalContext;
+import com.wolfyscript.utilities.eval.value_provider.AbstractValueProvider;
+import com.wolfyscript.utilities.eval.value_provider.ValueProvider;
+
+/**
+ * Creates the {@link CompiledValue}s of the value providers.
+ */
+public final class CompiledValues {
+
+    private CompiledValues() {
+    }
+
+    /**
+     * Compiles the specified value provider.<br>
+     * Providers that cannot be compiled are evaluated by calling {@link ValueProvider#getValue(EvalContext)}.
+     *
+     * @param provider The provider to compile.
+     * @param <V>      The type of the value.
+     * @return The compiled value.
+     */
+    public static <V> CompiledValue<V> of(ValueProvider<V> provider) {
+        if (provider instanceof AbstractValueProvider<V> abstractProvider) {
+            return abstractProvider.compile();
+        }
+        return interpreted(provider);
+    }
+
+    public static <V> CompiledValue<V> constant(V value, ValueKind kind) {
+        return new Constant<>(value, kind);
+    }
+
+    public static <V> CompiledValue<V> variable(int slot, Class<V> type) {
+        return new Variable<>(slot, type, ValueKind.of(type));
+    }
+
+    public static <V> CompiledValue<V> conditioned(CompiledCondition condition, CompiledValue<V> thenValue, CompiledValue<V> elseValue) {
+        return new Conditioned<>(condition, thenValue, elseValue);
+    }
+
+    public static <V> CompiledValue<V> interpreted(ValueProvider<V> provider) {
+        return provider::getValue;
+    }
+
+    private static final class Constant<V> implements CompiledValue<V> {
+
+        private final V value;
+        private final ValueKind kind;
+        private final long longValue;
+        private final double doubleValue;
+
+        private Constant(V value, ValueKind kind) {
+            this.value = value;
+            this.kind = kind;
+            if (value instanceof Number number) {
+                this.longValue = number.longValue();
+                this.doubleValue = number.doubleValue();
+            } else {
+                this.longValue = 0;
+                this.doubleValue = 0;
+            }
+        }
+
+        @Override
+        public V get(EvalContext context) {
+            return value;
+        }
+
+        @Override
+        public ValueKind kind() {
+            return kind;
+        }
+
+        @Override
+        public int getInt(EvalContext context) {
+            return (int) longValue;
+        }
+
+        @Override
+        public long getLong(EvalContext context) {
+            return longValue;
+        }
+
+        @Override
+        public float getFloat(EvalContext context) {
+            return (float) doubleValue;
+        }
+
+        @Override
+        public double getDouble(EvalContext context) {
+            return doubleValue;
+        }
+    }
+
+    private static final class Variable<V> implements CompiledValue<V> {
+
+        private final int slot;
+        private final Class<V> type;
+        private final ValueKind kind;
+
+        private Variable(int slot, Class<V> type, ValueKind kind) {
+            this.slot = slot;
+            this.type = type;
+            this.kind = kind;
+        }
+
+        @Override
+        public V get(EvalContext context) {
+            return type.cast(context.getVariable(slot));
+        }
+
+        @Override
+        public ValueKind kind() {
+            return kind;
+        }
+    }
+
+    private static final class Conditioned<V> implements CompiledValue<V> {
+
+        private final CompiledCondition condition;
+        private final CompiledValue<V> thenValue;
+        private final CompiledValue<V> elseValue;
+        private final ValueKind kind;
+
+        private Conditioned(CompiledCondition condition, CompiledValue<V> thenValue, CompiledValue<V> elseValue) {
+            this.condition = condition;
+            this.thenValue = thenValue;
+            this.elseValue = elseValue;
+            this.kind = thenValue.kind() == elseValue.kind() ? thenValue.kind() : ValueKind.OBJECT;
+        }
+
+        private CompiledValue<V> select(EvalContext context) {
+            return condition.test(context) ? thenValue : elseValue;
+        }
+
+        @Override
+        public V get(EvalContext context) {
+            return select(context).get(context);
+        }
+
+        @Override
+        public ValueKind kind() {
+            return kind;
+        }
+
+        @Override
+        public int getInt(EvalContext context) {
+            return select(context).getInt(context);
+        }
+
+        @Override
+        public long getLong(EvalContext context) {
+            return select(context).getLong(context);
+        }
+
+        @Override
+        public float getFloat(EvalContext context) {
+            return select(context).getFloat(context);
+        }
+
+        @Override
+        public double getDouble(EvalContext context) {
+            return select(context).getDouble(context);
+        }
+    }
+
+}
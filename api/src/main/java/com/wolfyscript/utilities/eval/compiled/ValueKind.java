@@ -0,0 +1,51 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.eval.compiled;
+
+/**
+ * The kind of value a {@link CompiledValue} provides.<br>
+ * Two values of the same numeric kind are compared as primitives.
+ */
+public enum ValueKind {
+
+    BYTE,
+    SHORT,
+    INT,
+    LONG,
+    FLOAT,
+    DOUBLE,
+    OBJECT;
+
+    /**
+     * Gets the kind of the specified type.
+     *
+     * @param type The type of the value. Either a primitive or the wrapper type.
+     * @return The kind of the type; or {@link #OBJECT} if it is not a numeric type.
+     */
+    public static ValueKind of(Class<?> type) {
+        if (type == Integer.class || type == int.class) return INT;
+        if (type == Double.class || type == double.class) return DOUBLE;
+        if (type == Float.class || type == float.class) return FLOAT;
+        if (type == Long.class || type == long.class) return LONG;
+        if (type == Short.class || type == short.class) return SHORT;
+        if (type == Byte.class || type == byte.class) return BYTE;
+        return OBJECT;
+    }
+
+}
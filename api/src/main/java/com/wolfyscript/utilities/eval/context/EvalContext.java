@@ -18,23 +18,73 @@
 
 package com.wolfyscript.utilities.eval.context;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Contains the variables that are available when evaluating operators and value providers.<br>
+ * <br>
+ * Each variable name is assigned a global slot index once, so the variables are stored in an array instead of a map.
+ * Value providers resolve the slots of their variables when they are created (deserialized),
+ * so reading a variable is a plain array access using {@link #getVariable(int)}.
+ */
 public class EvalContext {
 
-    private final Map<String, Object> variables;
+    private static final Map<String, Integer> SLOTS = new ConcurrentHashMap<>();
+    private static final AtomicInteger SLOT_COUNT = new AtomicInteger();
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private Object[] values;
 
     public EvalContext() {
-        this.variables = new HashMap<>();
+        this.values = NO_VALUES;
+    }
+
+    /**
+     * Gets the slot of the variable with the specified name, or assigns a new slot to it.
+     *
+     * @param variableName The name of the variable.
+     * @return The slot of the variable.
+     */
+    public static int slotOf(String variableName) {
+        Integer slot = SLOTS.get(variableName);
+        if (slot != null) return slot;
+        return SLOTS.computeIfAbsent(variableName, name -> SLOT_COUNT.getAndIncrement());
     }
 
     public Object getVariable(String variableName) {
-        return variables.get(variableName);
+        Integer slot = SLOTS.get(variableName);
+        return slot != null ? getVariable(slot) : null;
+    }
+
+    /**
+     * Gets the value of the variable in the specified slot.
+     *
+     * @param slot The slot of the variable. See {@link #slotOf(String)}
+     * @return The value of the variable; or null if not set.
+     */
+    public Object getVariable(int slot) {
+        return slot < values.length ? values[slot] : null;
     }
 
     public void setVariable(String name, Object value) {
-        variables.put(name, value);
+        setVariable(slotOf(name), value);
+    }
+
+    /**
+     * Sets the value of the variable in the specified slot.
+     *
+     * @param slot  The slot of the variable. See {@link #slotOf(String)}
+     * @param value The value of the variable.
+     */
+    public void setVariable(int slot, Object value) {
+        if (slot >= values.length) {
+            if (value == null) return;
+            values = Arrays.copyOf(values, Math.max(slot + 1, SLOT_COUNT.get()));
+        }
+        values[slot] = value;
     }
 
 }
@@ -19,12 +19,14 @@
 package com.wolfyscript.utilities.eval.operator;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledCondition;
 import com.wolfyscript.utilities.eval.context.EvalContext;
 import com.wolfyscript.utilities.config.jackson.ValueDeserializer;
 import com.wolfyscript.utilities.config.jackson.KeyedBaseType;
@@ -38,6 +40,9 @@ import java.io.IOException;
 @OptionalValueDeserializer(deserializer = BoolOperator.OptionalValueDeserializer.class)
 public abstract class BoolOperator extends Operator {
 
+    @JsonIgnore
+    private CompiledCondition compiled;
+
     public BoolOperator(NamespacedKey namespacedKey) {
         super(namespacedKey);
     }
@@ -48,6 +53,29 @@ public abstract class BoolOperator extends Operator {
 
     public abstract boolean evaluate(EvalContext context);
 
+    /**
+     * Compiles this operator into a form, that evaluates without walking the operator tree.<br>
+     * The compiled form must have the same result as {@link #evaluate(EvalContext)}.
+     * Operators that do not override this are evaluated by calling {@link #evaluate(EvalContext)}.
+     *
+     * @return The compiled operator.
+     */
+    protected CompiledCondition compile() {
+        return this::evaluate;
+    }
+
+    /**
+     * Gets the compiled form of this operator, compiling it on the first call.
+     *
+     * @return The compiled operator.
+     */
+    public final CompiledCondition compiled() {
+        if (compiled == null) {
+            compiled = compile();
+        }
+        return compiled;
+    }
+
     public static class OptionalValueDeserializer extends ValueDeserializer<BoolOperator> {
 
         public OptionalValueDeserializer() {
@@ -25,6 +25,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.wolfyscript.utilities.KeyedStaticId;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledCondition;
+import com.wolfyscript.utilities.eval.compiled.CompiledConditions;
 import com.wolfyscript.utilities.eval.context.EvalContext;
 import com.wolfyscript.utilities.config.jackson.OptionalValueSerializer;
 import java.io.IOException;
@@ -46,6 +48,11 @@ public class BoolOperatorConst extends BoolOperator {
         return value;
     }
 
+    @Override
+    protected CompiledCondition compile() {
+        return CompiledConditions.constant(value);
+    }
+
     public static class ValueSerializer extends com.wolfyscript.utilities.config.jackson.ValueSerializer<BoolOperatorConst> {
 
         public ValueSerializer() {
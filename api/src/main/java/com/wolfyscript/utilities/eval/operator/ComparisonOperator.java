@@ -20,6 +20,10 @@ package com.wolfyscript.utilities.eval.operator;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledCondition;
+import com.wolfyscript.utilities.eval.compiled.CompiledConditions;
+import com.wolfyscript.utilities.eval.compiled.CompiledValues;
+import com.wolfyscript.utilities.eval.compiled.Comparison;
 import com.wolfyscript.utilities.eval.context.EvalContext;
 import com.wolfyscript.utilities.eval.value_provider.ValueProvider;
 
@@ -50,4 +54,14 @@ public abstract class ComparisonOperator<V extends Comparable<V>> extends BoolOp
     @Override
     public abstract boolean evaluate(EvalContext context);
 
+    /**
+     * Compiles the comparison of the two values.
+     *
+     * @param comparison The comparison of this operator.
+     * @return The compiled comparison.
+     */
+    protected CompiledCondition compile(Comparison comparison) {
+        return CompiledConditions.compare(comparison, CompiledValues.of(thisValue), CompiledValues.of(thatValue));
+    }
+
 }
@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.wolfyscript.utilities.KeyedStaticId;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledCondition;
+import com.wolfyscript.utilities.eval.compiled.Comparison;
 import com.wolfyscript.utilities.eval.context.EvalContext;
 import com.wolfyscript.utilities.eval.value_provider.ValueProvider;
 
@@ -38,4 +40,9 @@ public class ComparisonOperatorGreaterEqual<V extends Comparable<V>> extends Com
     public boolean evaluate(EvalContext context) {
         return this.thisValue.getValue(context).compareTo(this.thatValue.getValue(context)) >= 0;
     }
+
+    @Override
+    protected CompiledCondition compile() {
+        return compile(Comparison.GREATER_EQUAL);
+    }
 }
@@ -23,6 +23,8 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.wolfyscript.utilities.KeyedStaticId;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledCondition;
+import com.wolfyscript.utilities.eval.compiled.CompiledConditions;
 import com.wolfyscript.utilities.eval.context.EvalContext;
 
 @KeyedStaticId(key = "or")
@@ -41,4 +43,9 @@ public class LogicalOperatorOr extends LogicalOperator {
     public boolean evaluate(EvalContext context) {
         return thisValue.evaluate(context) || thatValue.evaluate(context);
     }
+
+    @Override
+    protected CompiledCondition compile() {
+        return CompiledConditions.or(thisValue.compiled(), thatValue.compiled());
+    }
 }
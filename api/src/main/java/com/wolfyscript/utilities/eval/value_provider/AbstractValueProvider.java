@@ -21,6 +21,8 @@ package com.wolfyscript.utilities.eval.value_provider;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.eval.compiled.CompiledValue;
+import com.wolfyscript.utilities.eval.compiled.CompiledValues;
 
 public abstract class AbstractValueProvider<V> implements ValueProvider<V> {
 
@@ -40,4 +42,14 @@ public abstract class AbstractValueProvider<V> implements ValueProvider<V> {
     public NamespacedKey key() {
         return key;
     }
+
+    /**
+     * Compiles this provider into a form, that evaluates without walking the provider tree.<br>
+     * Providers that do not override this are evaluated by calling {@link #getValue(com.wolfyscript.utilities.eval.context.EvalContext)}.
+     *
+     * @return The compiled value.
+     */
+    public CompiledValue<V> compile() {
+        return CompiledValues.interpreted(this);
+    }
 }
@@ -20,6 +20,8 @@ package com.wolfyscript.utilities.eval.value_provider
 import com.fasterxml.jackson.annotation.JsonCreator
 import com.fasterxml.jackson.annotation.JsonProperty
 import com.wolfyscript.utilities.KeyedStaticId
+import com.wolfyscript.utilities.eval.compiled.CompiledValue
+import com.wolfyscript.utilities.eval.compiled.CompiledValues
 import com.wolfyscript.utilities.eval.context.EvalContext
 import com.wolfyscript.utilities.eval.operator.BoolOperator
 
@@ -36,6 +38,10 @@ class ValueProviderConditioned<V> @JsonCreator constructor(
     ) private val elseValue: ValueProvider<V>
 ) : AbstractValueProvider<V>() {
     override fun getValue(context: EvalContext?): V {
-        return if (condition.evaluate(context)) thenValue.value else elseValue.value
+        return if (condition.evaluate(context)) thenValue.getValue(context) else elseValue.getValue(context)
+    }
+
+    override fun compile(): CompiledValue<V> {
+        return CompiledValues.conditioned(condition.compiled(), CompiledValues.of(thenValue), CompiledValues.of(elseValue))
     }
 }
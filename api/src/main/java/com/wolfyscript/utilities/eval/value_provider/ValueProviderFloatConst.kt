@@ -23,6 +23,9 @@ import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.databind.SerializerProvider
 import com.wolfyscript.utilities.KeyedStaticId
 import com.wolfyscript.utilities.config.jackson.OptionalValueSerializer
+import com.wolfyscript.utilities.eval.compiled.CompiledValue
+import com.wolfyscript.utilities.eval.compiled.CompiledValues
+import com.wolfyscript.utilities.eval.compiled.ValueKind
 import com.wolfyscript.utilities.eval.context.EvalContext
 import java.io.IOException
 
@@ -35,6 +38,8 @@ class ValueProviderFloatConst @JsonCreator constructor(
         return value
     }
 
+    override fun compile(): CompiledValue<Float> = CompiledValues.constant(value, ValueKind.FLOAT)
+
     class ValueSerializer : com.wolfyscript.utilities.config.jackson.ValueSerializer<ValueProviderFloatConst>(
         ValueProviderFloatConst::class.java
     ) {
@@ -23,6 +23,9 @@ import com.fasterxml.jackson.core.JsonGenerator
 import com.fasterxml.jackson.databind.SerializerProvider
 import com.wolfyscript.utilities.KeyedStaticId
 import com.wolfyscript.utilities.config.jackson.OptionalValueSerializer
+import com.wolfyscript.utilities.eval.compiled.CompiledValue
+import com.wolfyscript.utilities.eval.compiled.CompiledValues
+import com.wolfyscript.utilities.eval.compiled.ValueKind
 import com.wolfyscript.utilities.eval.context.EvalContext
 import java.io.IOException
 
@@ -36,6 +39,8 @@ class ValueProviderIntegerConst @JsonCreator constructor(
         return value
     }
 
+    override fun compile(): CompiledValue<Int> = CompiledValues.constant(value, ValueKind.INT)
+
     class ValueSerializer : com.wolfyscript.utilities.config.jackson.ValueSerializer<ValueProviderIntegerConst>(
         ValueProviderIntegerConst::class.java
     ) {
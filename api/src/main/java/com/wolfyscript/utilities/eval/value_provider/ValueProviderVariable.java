@@ -21,7 +21,10 @@ package com.wolfyscript.utilities.eval.value_provider;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.wolfyscript.utilities.NamespacedKey;
+import com.wolfyscript.utilities.eval.compiled.CompiledValue;
+import com.wolfyscript.utilities.eval.compiled.CompiledValues;
 import com.wolfyscript.utilities.eval.context.EvalContext;
+import java.lang.invoke.MethodType;
 
 public abstract class ValueProviderVariable<V> extends AbstractValueProvider<V> {
 
@@ -29,22 +32,39 @@ public abstract class ValueProviderVariable<V> extends AbstractValueProvider<V>
     private final String variable;
     @JsonIgnore
     private final Class<V> typeClass;
+    @JsonIgnore
+    private final int slot;
 
     protected ValueProviderVariable(NamespacedKey key, Class<V> typeClass, String variable) {
         super(key);
-        this.typeClass = typeClass;
+        this.typeClass = wrap(typeClass);
         this.variable = variable;
+        this.slot = EvalContext.slotOf(variable);
     }
 
     protected ValueProviderVariable(Class<V> typeClass, String variable) {
         super();
-        this.typeClass = typeClass;
+        this.typeClass = wrap(typeClass);
         this.variable = variable;
+        this.slot = EvalContext.slotOf(variable);
     }
 
     @Override
     public V getValue(EvalContext context) {
-        return typeClass.cast(context.getVariable(variable));
+        return typeClass.cast(context.getVariable(slot));
+    }
+
+    @Override
+    public CompiledValue<V> compile() {
+        return CompiledValues.variable(slot, typeClass);
+    }
+
+    /**
+     * Kotlin types (e.g. Int::class.java) resolve to the primitive classes, that cannot cast the boxed values of the variables.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> Class<V> wrap(Class<V> type) {
+        return type.isPrimitive() ? (Class<V>) MethodType.methodType(type).wrap().returnType() : type;
     }
 
 }
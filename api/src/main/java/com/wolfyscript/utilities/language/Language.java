@@ -54,6 +54,8 @@ public class Language {
     @JsonInclude(JsonInclude.Include.NON_DEFAULT)
     private final boolean useMiniMessageFormat = false;
     private final Map<String, LanguageNode> mappedLangNodes = new ConcurrentHashMap<>();
+    @JsonIgnore
+    private final LanguageNodeMissing missingNode;
 
     /**
      * Used to create (deserialize) the Language from Json. The {@link Translations} provides the option to load the Language from a file.
@@ -67,6 +69,7 @@ public class Language {
     protected Language(@JsonProperty("file") @JacksonInject("file") File file, @JacksonInject("api")  WolfyUtils api, @JsonProperty("lang") @JacksonInject("lang") String lang) {
         this.lang = lang;
         this.api = api;
+        this.missingNode = new LanguageNodeMissing(this, api.getChat());
     }
 
     @JsonAnySetter
@@ -86,7 +89,6 @@ public class Language {
      */
     @JsonAnyGetter
     private Map<String, LanguageNode> getValues() {
-        mappedLangNodes.values().removeIf(LanguageNodeMissing.class::isInstance);
         return mappedLangNodes;
     }
 
@@ -133,9 +135,16 @@ public class Language {
         return list;
     }
 
+    /**
+     * Gets the node at the specified path.<br>
+     * Unknown paths are not added to the language, instead they all share the same {@link LanguageNodeMissing}.
+     *
+     * @param path The path of the node.
+     * @return The node at the path; or a {@link LanguageNodeMissing} if there is none.
+     */
     @NotNull
     public LanguageNode getNode(String path) {
-        return mappedLangNodes.computeIfAbsent(path, s -> new LanguageNodeMissing(this, api.getChat()));
+        return mappedLangNodes.getOrDefault(path, missingNode);
     }
 
     @NotNull
@@ -23,15 +23,17 @@ import com.wolfyscript.utilities.chat.Chat;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class LanguageNodeArray extends LanguageNode {
 
     private final List<String> raw;
     private final String rawLine;
+    private final ParsedText line;
+    private final ParsedText[] lines;
 
     LanguageNodeArray(Language language, Chat chat, JsonNode jsonNode) {
         super(language, chat, jsonNode);
@@ -42,34 +44,36 @@ public class LanguageNodeArray extends LanguageNode {
             this.raw.add(language.usesMiniMessageFormat() ? value : chat.getWolfyUtils().getTranslations().convertLegacyToMiniMessage(value));
         }
         this.rawLine = raw.stream().reduce("", (s, s2) -> s + " " + s2);
+        this.line = new ParsedText(chat, rawLine);
+        this.lines = raw.stream().map(value -> new ParsedText(chat, value)).toArray(ParsedText[]::new);
     }
 
     @Override
     public Component getComponent() {
-        return chat.getMiniMessage().deserialize(rawLine);
+        return line.get();
     }
 
     @Override
     public Component getComponent(TagResolver tagResolver) {
-        return chat.getMiniMessage().deserialize(rawLine, tagResolver);
+        return line.get(tagResolver);
     }
 
     @Override
     public List<Component> getComponents() {
-        return getComponents(raw);
+        List<Component> components = new ArrayList<>(lines.length);
+        for (ParsedText text : lines) {
+            components.add(text.get());
+        }
+        return components;
     }
 
     @Override
     public List<Component> getComponents(TagResolver tagResolver) {
-        return getComponents(raw, tagResolver);
-    }
-
-    private List<Component> getComponents(List<String> rawValues) {
-        return rawValues.stream().map(s -> chat.getMiniMessage().deserialize(s)).collect(Collectors.toList());
-    }
-
-    private List<Component> getComponents(List<String> rawValues, TagResolver tagResolver) {
-        return rawValues.stream().map(s -> chat.getMiniMessage().deserialize(s, tagResolver)).collect(Collectors.toList());
+        List<Component> components = new ArrayList<>(lines.length);
+        for (ParsedText text : lines) {
+            components.add(text.get(tagResolver));
+        }
+        return components;
     }
 
     @Override
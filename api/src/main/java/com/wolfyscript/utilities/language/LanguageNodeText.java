@@ -27,39 +27,39 @@ import java.util.List;
 
 public class LanguageNodeText extends LanguageNode {
 
-    private final String raw;
+    private final ParsedText text;
 
     LanguageNodeText(Language language, Chat chat, JsonNode jsonNode) {
         super(language, chat, jsonNode);
         if (language.usesMiniMessageFormat()) {
-            this.raw = jsonNode.asText("");
+            this.text = new ParsedText(chat, jsonNode.asText(""));
         } else {
-            this.raw = chat.getWolfyUtils().getTranslations().convertLegacyToMiniMessage(jsonNode.asText(""));
+            this.text = new ParsedText(chat, chat.getWolfyUtils().getTranslations().convertLegacyToMiniMessage(jsonNode.asText("")));
         }
     }
 
     @Override
     public Component getComponent() {
-        return chat.getMiniMessage().deserialize(raw);
+        return text.get();
     }
 
     @Override
     public Component getComponent(TagResolver tagResolver) {
-        return chat.getMiniMessage().deserialize(raw, tagResolver);
+        return text.get(tagResolver);
     }
 
     @Override
     public List<Component> getComponents() {
-        return List.of(chat.getMiniMessage().deserialize(raw));
+        return List.of(text.get());
     }
 
     @Override
     public List<Component> getComponents(TagResolver tagResolver) {
-        return List.of(chat.getMiniMessage().deserialize(raw, tagResolver));
+        return List.of(text.get(tagResolver));
     }
 
     @Override
     public String getRaw() {
-        return raw;
+        return text.getRaw();
     }
 }
@@ -0,0 +1,110 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.language;
+
+import com.wolfyscript.utilities.chat.Chat;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A MiniMessage text of a {@link LanguageNode}, that is only deserialized once and then reused.<br>
+ * The names of the tags used in the text are collected once, so a {@link TagResolver} only causes the text to be
+ * deserialized again if it resolves one of those tags (e.g. a placeholder). Otherwise, the cached Component is returned.
+ */
+final class ParsedText {
+
+    private final Chat chat;
+    private final String raw;
+    private final String[] tagNames;
+    private volatile Component component;
+
+    ParsedText(Chat chat, String raw) {
+        this.chat = chat;
+        this.raw = raw;
+        this.tagNames = collectTagNames(raw);
+    }
+
+    /**
+     * Gets the Component of the text, deserializing it only on the first call.
+     *
+     * @return The cached Component.
+     */
+    Component get() {
+        Component result = component;
+        if (result == null) {
+            result = chat.getMiniMessage().deserialize(raw);
+            component = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the Component of the text with the tags of the resolver applied.<br>
+     * The text is only deserialized again, when the resolver handles any of the tags used in the text.
+     *
+     * @param tagResolver The resolver of the custom tags.
+     * @return The resolved Component.
+     */
+    Component get(TagResolver tagResolver) {
+        for (String tagName : tagNames) {
+            if (tagResolver.has(tagName)) {
+                return chat.getMiniMessage().deserialize(raw, tagResolver);
+            }
+        }
+        return get();
+    }
+
+    String getRaw() {
+        return raw;
+    }
+
+    /**
+     * Collects the names of all the tags in the text.<br>
+     * This rather includes too many names (e.g. escaped tags) than too few, as those only cause an unnecessary deserialization.
+     */
+    private static String[] collectTagNames(String raw) {
+        if (raw == null) return new String[0];
+        Set<String> names = new LinkedHashSet<>();
+        int start = raw.indexOf('<');
+        while (start >= 0) {
+            int nameStart = start + 1;
+            if (nameStart < raw.length() && raw.charAt(nameStart) == '/') {
+                nameStart++;
+            }
+            int nameEnd = nameStart;
+            while (nameEnd < raw.length() && isNameChar(raw.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd > nameStart) {
+                names.add(raw.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT));
+            }
+            start = raw.indexOf('<', start + 1);
+        }
+        return names.toArray(new String[0]);
+    }
+
+    private static boolean isNameChar(char c) {
+        return c != ':' && c != '>' && c != '<' && c != '/' && !Character.isWhitespace(c);
+    }
+
+}
@@ -20,6 +20,7 @@ package com.wolfyscript.utilities.language;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.viewportl.gui.GuiAPIManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
 import org.jetbrains.annotations.NotNull;
@@ -35,6 +36,11 @@ import java.util.regex.Pattern;
 
 public abstract class Translations {
 
+    /**
+     * Matches the keys (e.g. <code>$some.key$</code>) that {@link #replaceKeys(String)} replaces with the text of the language.
+     */
+    protected static final Pattern KEY_PATTERN = Pattern.compile("[$]([a-zA-Z0-9._]*?)[$]");
+
     protected final WolfyUtils api;
 
     private final Map<String, Language> registeredLanguages = new HashMap<>();
@@ -49,6 +55,7 @@ public abstract class Translations {
 
     public void unregisterLanguages() {
         registeredLanguages.clear();
+        languagesChanged();
     }
 
     public Language getLanguage(String lang) {
@@ -69,6 +76,7 @@ public abstract class Translations {
             setFallbackLanguage(language);
         }
         registeredLanguages.putIfAbsent(language.getName(), language);
+        languagesChanged();
     }
 
     public abstract Language loadLangFile(String lang);
@@ -84,6 +92,7 @@ public abstract class Translations {
      */
     public void setActiveLanguage(Language language) {
         activeLanguage = language;
+        languagesChanged();
     }
 
     public Language getActiveLanguage() {
@@ -100,6 +109,17 @@ public abstract class Translations {
      */
     public void setFallbackLanguage(Language fallbackLanguage) {
         this.fallbackLanguage = fallbackLanguage;
+        languagesChanged();
+    }
+
+    /**
+     * Clears the GUI templates, as their shared static parts may contain text of the previous languages.
+     */
+    private void languagesChanged() {
+        GuiAPIManager guiManager = api.getGuiManager();
+        if (guiManager != null) {
+            guiManager.clearTemplates();
+        }
     }
 
     public Language getFallbackLanguage() {
@@ -169,7 +189,7 @@ public abstract class Translations {
     }
 
     public String replaceKeys(String msg) {
-        Matcher matcher = Pattern.compile("[$]([a-zA-Z0-9._]*?)[$]").matcher(msg);
+        Matcher matcher = KEY_PATTERN.matcher(msg);
         while (matcher.find()) {
             String key = matcher.group(0);
             JsonNode node = getNodeAt(key.replace("$", ""));
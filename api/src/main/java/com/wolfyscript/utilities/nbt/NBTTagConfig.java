@@ -57,6 +57,8 @@ public abstract class NBTTagConfig implements Keyed {
     protected final NamespacedKey type;
     @JsonIgnore
     protected NBTTagConfig parent;
+    @JsonIgnore
+    private int version;
 
     protected NBTTagConfig(@JacksonInject WolfyUtils wolfyUtils) {
         this.wolfyUtils = wolfyUtils;
@@ -89,6 +91,27 @@ public abstract class NBTTagConfig implements Keyed {
         return parent;
     }
 
+    /**
+     * Gets the version of this tag, which is increased each time this tag, or one of its nested tags, is modified.<br>
+     * Compiled forms of the tag can compare it, instead of walking the whole tree, to find out if they are outdated.
+     *
+     * @return The current version of this tag.
+     */
+    @JsonIgnore
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Increases the version of this tag and of all its parents.
+     */
+    protected void markModified() {
+        version++;
+        if (parent != null) {
+            parent.markModified();
+        }
+    }
+
     public abstract NBTTagConfig copy();
 
     public static class OptionalValueDeserializer extends ValueDeserializer<NBTTagConfig> {
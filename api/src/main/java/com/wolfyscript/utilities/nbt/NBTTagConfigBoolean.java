@@ -62,6 +62,15 @@ public class NBTTagConfigBoolean extends NBTTagConfig {
         return getValue(new EvalContext());
     }
 
+    /**
+     * Checks if this tag always evaluates to the same value, independent of the context.
+     *
+     * @return true if the value is a {@link BoolOperatorConst}; false otherwise
+     */
+    public boolean isConstant() {
+        return value instanceof BoolOperatorConst;
+    }
+
     @Override
     public NBTTagConfigBoolean copy() {
         return new NBTTagConfigBoolean(this);
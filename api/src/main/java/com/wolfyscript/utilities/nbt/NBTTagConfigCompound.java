@@ -26,6 +26,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.wolfyscript.utilities.KeyedStaticId;
 import com.wolfyscript.utilities.WolfyUtils;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -62,6 +63,7 @@ public class NBTTagConfigCompound extends NBTTagConfig {
         //That is supported behaviour!
         children.putIfAbsent(key, child);
         child.setParent(this);
+        markModified();
     }
 
     @JsonSetter("children")
@@ -71,11 +73,17 @@ public class NBTTagConfigCompound extends NBTTagConfig {
             value.setParent(this);
             return value;
         }));
+        markModified();
     }
 
+    /**
+     * Gets the child tags of this compound. Use {@link #setChildren(Map)} to change them.
+     *
+     * @return An unmodifiable view of the children.
+     */
     @JsonGetter
     public Map<String, NBTTagConfig> getChildren() {
-        return children;
+        return Collections.unmodifiableMap(children);
     }
 
     @Override
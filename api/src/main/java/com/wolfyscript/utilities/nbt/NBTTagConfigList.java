@@ -27,6 +27,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.wolfyscript.utilities.WolfyUtils;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,12 +69,18 @@ public abstract class NBTTagConfigList<VAL extends NBTTagConfig> extends NBTTagC
         }).toList();
     }
 
+    /**
+     * Gets the elements of this list.
+     *
+     * @return An unmodifiable view of the elements.
+     */
     public List<Element<VAL>> getElements() {
-        return elements;
+        return Collections.unmodifiableList(elements);
     }
 
     public void setValues(List<VAL> values) {
         this.values = values.stream().peek(val -> val.setParent(this)).toList();
+        markModified();
     }
 
     public List<VAL> getValues() {
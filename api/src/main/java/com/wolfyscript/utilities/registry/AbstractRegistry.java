@@ -23,6 +23,8 @@ import com.wolfyscript.utilities.Keyed;
 import com.wolfyscript.utilities.NamespacedKey;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -36,6 +38,15 @@ public abstract class AbstractRegistry<M extends Map<NamespacedKey, V>, V extend
     protected final Registries registries;
     protected final M map;
     protected final Class<V> type;
+    /**
+     * Reverse index of the registered values. Values are mapped by identity, as their hashCode may change after they are registered.
+     */
+    private final Map<V, NamespacedKey> keysByValue = new IdentityHashMap<>();
+    /**
+     * Values that are registered under multiple keys, so the reverse index needs to be restored when one of the keys is removed.
+     */
+    private final Set<V> duplicateValues = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<String, Map<NamespacedKey, V>> entriesByNamespace = new HashMap<>();
 
     public AbstractRegistry(NamespacedKey namespacedKey, M map, Registries registries) {
         this(namespacedKey, map, registries, null);
@@ -74,10 +85,111 @@ public abstract class AbstractRegistry<M extends Map<NamespacedKey, V>, V extend
     public void register(NamespacedKey namespacedKey, V value) {
         if (value != null) {
             Preconditions.checkState(!this.map.containsKey(namespacedKey), "namespaced key '%s' already has an associated value!", namespacedKey);
-            map.put(namespacedKey, value);
+            putEntry(namespacedKey, value);
         }
     }
 
+    /**
+     * Puts the value into the registry map and updates the indexes.<br>
+     * Subclasses must use this method (and {@link #removeEntry(NamespacedKey)}) instead of modifying the {@link #map} directly,
+     * otherwise the indexes get out of sync.
+     *
+     * @param key   The key to put the value under.
+     * @param value The value to put.
+     * @return The value that was previously registered under the key; or null if there was none.
+     */
+    protected V putEntry(NamespacedKey key, V value) {
+        V previous = map.put(key, value);
+        if (previous != null) {
+            unindex(key, previous);
+        }
+        if (keysByValue.putIfAbsent(value, key) != null) {
+            duplicateValues.add(value);
+        }
+        entriesByNamespace.computeIfAbsent(key.getNamespace(), namespace -> new HashMap<>()).put(key, value);
+        return previous;
+    }
+
+    /**
+     * Removes the value of the key from the registry map and updates the indexes.
+     *
+     * @param key The key of the value to remove.
+     * @return The removed value; or null if there was none.
+     */
+    protected V removeEntry(NamespacedKey key) {
+        V value = map.remove(key);
+        if (value != null) {
+            unindex(key, value);
+        }
+        return value;
+    }
+
+    private void unindex(NamespacedKey key, V value) {
+        if (key.equals(keysByValue.get(value))) {
+            keysByValue.remove(value);
+            if (duplicateValues.remove(value)) {
+                // The value is still registered under another key, so find the remaining keys
+                NamespacedKey remainingKey = null;
+                for (Map.Entry<NamespacedKey, V> entry : map.entrySet()) {
+                    if (entry.getValue() == value) {
+                        if (remainingKey != null) {
+                            duplicateValues.add(value);
+                            break;
+                        }
+                        remainingKey = entry.getKey();
+                    }
+                }
+                if (remainingKey != null) {
+                    keysByValue.put(value, remainingKey);
+                }
+            }
+        }
+        Map<NamespacedKey, V> namespaceEntries = entriesByNamespace.get(key.getNamespace());
+        if (namespaceEntries != null) {
+            namespaceEntries.remove(key);
+            if (namespaceEntries.isEmpty()) {
+                entriesByNamespace.remove(key.getNamespace());
+            }
+        }
+    }
+
+    /**
+     * Receives the key under which the value is registered in this Registry.<br>
+     * Registered instances are looked up in constant time using the reverse index.
+     * Only if the instance itself is not registered, this falls back to searching for an equal value.
+     *
+     * @param value The value to get the key for.
+     * @return The key for the registered value or null if not found.
+     */
+    @Override
+    public NamespacedKey getKey(V value) {
+        NamespacedKey key = keysByValue.get(value);
+        if (key != null || value == null) {
+            return key;
+        }
+        return Registry.super.getKey(value);
+    }
+
+    /**
+     * Gets all the namespaces that have at least one value registered in this registry.
+     *
+     * @return An unmodifiable view of the registered namespaces.
+     */
+    public Set<String> getRegisteredNamespaces() {
+        return Collections.unmodifiableSet(entriesByNamespace.keySet());
+    }
+
+    /**
+     * Gets the entries, that are registered under the specified namespace.
+     *
+     * @param namespace The namespace of the entries.
+     * @return An unmodifiable view of the entries of the namespace; or an empty map if there are none.
+     */
+    public Map<NamespacedKey, V> getEntriesOf(String namespace) {
+        Map<NamespacedKey, V> namespaceEntries = entriesByNamespace.get(namespace);
+        return namespaceEntries == null ? Collections.emptyMap() : Collections.unmodifiableMap(namespaceEntries);
+    }
+
     @Override
     public void register(V value) {
         register(value.key(), value);
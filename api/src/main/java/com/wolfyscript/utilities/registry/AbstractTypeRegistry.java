@@ -25,6 +25,7 @@ import com.wolfyscript.utilities.NamespacedKey;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Objects;
@@ -38,6 +39,10 @@ public abstract class AbstractTypeRegistry<M extends Map<NamespacedKey, Class<?
     protected final NamespacedKey key;
     protected final Registries registries;
     protected final M map;
+    /**
+     * Reverse index of the registered classes.
+     */
+    private final Map<Class<? extends V>, NamespacedKey> keysByType = new HashMap<>();
 
     public AbstractTypeRegistry(NamespacedKey key, M map, Registries registries) {
         this.key = key;
@@ -80,9 +85,22 @@ public abstract class AbstractTypeRegistry<M extends Map<NamespacedKey, Class<?
             Objects.requireNonNull(key, "Can't register value " + value.getName() + " because key is null!");
             Preconditions.checkState(!this.map.containsKey(key), "namespaced key '%s' already has an associated value!", key);
             map.put(key, value);
+            keysByType.putIfAbsent(value, key);
         }
     }
 
+    /**
+     * Receives the key under which the class is registered in this Registry, using the reverse index.<br>
+     * If the class is registered under multiple keys, the key it was first registered under is returned.
+     *
+     * @param value The class to get the key for.
+     * @return The key for the registered class or null if not found.
+     */
+    @Override
+    public NamespacedKey getKey(Class<? extends V> value) {
+        return value == null ? null : keysByType.get(value);
+    }
+
     @Override
     public void register(Class<? extends V> value) {
         KeyedStaticId staticIdAnnot = value.getAnnotation(KeyedStaticId.class);
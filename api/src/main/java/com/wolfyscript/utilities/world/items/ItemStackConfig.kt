@@ -55,6 +55,10 @@ abstract class ItemStackConfig(
      * Direct support for Adventure tags.
      */
     var name: ValueProvider<String>? = null
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
 
     fun name(name: String) {
         this.name = ValueProviderStringConst(name)
@@ -65,20 +69,79 @@ abstract class ItemStackConfig(
      */
     var lore: List<ValueProvider<String>> = ArrayList()
         get() = Collections.unmodifiableList(field)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
 
     var amount: ValueProvider<Int> = ValueProviderIntegerConst(1)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
     var repairCost: ValueProvider<Int> = ValueProviderIntegerConst(0)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
     var damage: ValueProvider<Int> = ValueProviderIntegerConst(0)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
     var unbreakable: BoolOperator = BoolOperatorConst(wolfyUtils, false)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
     var customModelData: ValueProvider<Int>? = ValueProviderIntegerConst(0)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
     var enchants: Map<String, ValueProvider<Int>> = HashMap()
         get() = Collections.unmodifiableMap(field)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
 
     /* ********************
      * Unhandled NBT Tags
      * ********************/
     @get:JsonGetter("nbt")
     var nbt: NBTTagConfigCompound = NBTTagConfigCompound(wolfyUtils, null)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
+
+    /**
+     * If the settings of this config can no longer be changed.
+     *
+     * @see freeze
+     */
+    @get:JsonIgnore
+    var isFrozen: Boolean = false
+        private set
+
+    /**
+     * Prevents any further changes to the settings, so this config can be shared safely (e.g. by the views of a GUI).
+     * Changing a setting afterwards throws an [IllegalStateException].
+     *
+     * The lore and enchantments are copied, so the collections that were set before cannot change them either.
+     * **The NBT compound is not copied and must not be changed in place!**
+     */
+    fun freeze() {
+        if (isFrozen) return
+        lore = lore.toList()
+        enchants = enchants.toMap()
+        isFrozen = true
+    }
+
+    private fun checkNotFrozen() {
+        check(!isFrozen) { "The stack config of item '$itemId' is frozen and must not be changed!" }
+    }
 
     /**
      * Constructs the implementation specific ItemStack from the settings.
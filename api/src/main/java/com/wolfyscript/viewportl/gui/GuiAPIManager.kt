@@ -38,6 +38,26 @@ interface GuiAPIManager {
      */
     fun registerGui(key: String, windowConsumer: ReceiverConsumer<Window>)
 
+    /**
+     * Registers a new window with the specified id.<br></br>
+     * The consumer provides the newly constructed [Window], which can then be configured.<br></br>
+     *
+     * When the template is shared, the static parts of the window (e.g. buttons and icons that do not depend on any reactive state)
+     * are only built once and then reused by all the views of the window.
+     *
+     * @param key The unique id of the window
+     * @param shareTemplate If the static parts should be shared between the views of the window
+     * @param windowConsumer The consumer that provides the new window
+     */
+    fun registerGui(key: String, shareTemplate: Boolean, windowConsumer: ReceiverConsumer<Window>)
+
+    /**
+     * Clears the static parts, that are shared by the views of the windows, so they are built again by the next views.<br></br>
+     * The shared parts are built from the languages and configs at that time, so this must be called whenever those are reloaded.
+     * The languages of the [com.wolfyscript.utilities.language.Translations] call it automatically.
+     */
+    fun clearTemplates()
+
     /**
      * Gets the registered router with the specified id.<br></br>
      *
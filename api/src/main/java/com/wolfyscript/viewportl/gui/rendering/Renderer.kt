@@ -35,4 +35,16 @@ interface Renderer<C: RenderContext> {
 
     fun updateTitle(component: Component?)
 
+    /**
+     * Called after the reactive graph ran its pending effects.
+     * Renderers that batch their changes apply them to the viewers here.
+     */
+    fun flush() { }
+
+    /**
+     * Called once the runtime of this renderer is released.
+     * Renderers must cancel any of their scheduled tasks here.
+     */
+    fun dispose() { }
+
 }
@@ -0,0 +1,287 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.eval.operator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledValues;
+import com.wolfyscript.utilities.eval.context.EvalContext;
+import com.wolfyscript.utilities.eval.value_provider.ValueProvider;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderByteConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderByteVar;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderConditioned;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderDoubleConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderDoubleVar;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderFloatConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderFloatVar;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderIntegerConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderIntegerVar;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderLongConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderLongVar;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderShortConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderShortVar;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderStringConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderStringVar;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Evaluates randomly generated operator trees both interpreted ({@link BoolOperator#evaluate(EvalContext)})
+ * and compiled ({@link BoolOperator#compiled()}), and checks that both have the same result, or fail with the same exception.
+ */
+class CompiledOperatorTest {
+
+    private static final long SEED = 0x5EEDL;
+    private static final int TREES = 2_000;
+    private static final int CONTEXTS_PER_TREE = 16;
+    private static final int MAX_DEPTH = 4;
+    private static final int VARIABLES_PER_TYPE = 2;
+
+    private static WolfyUtils wolfyUtils;
+
+    @BeforeAll
+    static void setUpCore() {
+        try {
+            WolfyCore.getInstance();
+        } catch (IllegalStateException e) {
+            // The constructor of the core registers the instance, that the value providers use to create their keys
+            mock(WolfyCore.class, withSettings().useConstructor().defaultAnswer(RETURNS_DEEP_STUBS));
+        }
+        wolfyUtils = mock(WolfyUtils.class, RETURNS_DEEP_STUBS);
+    }
+
+    @Test
+    void compiledMatchesInterpreted() {
+        var random = new Random(SEED);
+        for (int i = 0; i < TREES; i++) {
+            Generated<BoolOperator> operator = generateOperator(random, 0);
+            for (int j = 0; j < CONTEXTS_PER_TREE; j++) {
+                EvalContext context = generateContext(random);
+                assertEquals(
+                        outcome(() -> operator.value().evaluate(context)),
+                        outcome(() -> operator.value().compiled().test(context)),
+                        operator.description()
+                );
+            }
+        }
+    }
+
+    @Test
+    void compiledValuesMatchInterpreted() {
+        var random = new Random(SEED + 1);
+        for (int i = 0; i < TREES; i++) {
+            ValueType type = ValueType.values()[random.nextInt(ValueType.values().length)];
+            Generated<ValueProvider<?>> provider = generateProvider(random, type, 0);
+            var compiled = CompiledValues.of(provider.value());
+            for (int j = 0; j < CONTEXTS_PER_TREE; j++) {
+                EvalContext context = generateContext(random);
+                assertEquals(
+                        outcome(() -> provider.value().getValue(context)),
+                        outcome(() -> compiled.get(context)),
+                        provider.description()
+                );
+            }
+        }
+    }
+
+    @Test
+    void variablesOfAllTypesAreRead() {
+        var context = new EvalContext();
+        for (ValueType type : ValueType.values()) {
+            var random = new Random(SEED + type.ordinal());
+            Object value = type.randomValue(random);
+            context.setVariable(type.variable(0), value);
+            ValueProvider<?> provider = type.variableProvider.apply(type.variable(0));
+            assertEquals(value, provider.getValue(context), type.name());
+            assertEquals(value, CompiledValues.of(provider).get(context), type.name());
+        }
+    }
+
+    @Test
+    void conditionedUsesCallerContext() {
+        var context = new EvalContext();
+        context.setVariable("conditioned_flag", 5);
+        context.setVariable("conditioned_value", 42);
+        var condition = new ComparisonOperatorGreater<>(wolfyUtils, new ValueProviderIntegerVar("conditioned_flag"), new ValueProviderIntegerConst(0));
+        var provider = new ValueProviderConditioned<>(condition, new ValueProviderIntegerVar("conditioned_value"), new ValueProviderIntegerConst(-1));
+        assertEquals(42, provider.getValue(context));
+        assertEquals(42, CompiledValues.of(provider).get(context));
+
+        context.setVariable("conditioned_flag", -5);
+        assertEquals(-1, provider.getValue(context));
+        assertEquals(-1, CompiledValues.of(provider).get(context));
+    }
+
+    private static Object outcome(Supplier<Object> evaluation) {
+        try {
+            return evaluation.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static EvalContext generateContext(Random random) {
+        var context = new EvalContext();
+        for (ValueType type : ValueType.values()) {
+            for (int i = 0; i < VARIABLES_PER_TYPE; i++) {
+                // Leave a few variables unset, so missing variables fail the same way
+                if (random.nextInt(32) != 0) {
+                    context.setVariable(type.variable(i), type.randomValue(random));
+                }
+            }
+        }
+        return context;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Generated<BoolOperator> generateOperator(Random random, int depth) {
+        int choice = depth >= MAX_DEPTH ? 3 + random.nextInt(7) : random.nextInt(10);
+        switch (choice) {
+            case 0 -> {
+                var thisOp = generateOperator(random, depth + 1);
+                var thatOp = generateOperator(random, depth + 1);
+                return new Generated<>(new LogicalOperatorAnd(wolfyUtils, thisOp.value(), thatOp.value()), "(" + thisOp.description() + " && " + thatOp.description() + ")");
+            }
+            case 1 -> {
+                var thisOp = generateOperator(random, depth + 1);
+                var thatOp = generateOperator(random, depth + 1);
+                return new Generated<>(new LogicalOperatorOr(wolfyUtils, thisOp.value(), thatOp.value()), "(" + thisOp.description() + " || " + thatOp.description() + ")");
+            }
+            case 2 -> {
+                var thisOp = generateOperator(random, depth + 1);
+                return new Generated<>(new LogicalOperatorNot(wolfyUtils, thisOp.value()), "!" + thisOp.description());
+            }
+            case 3 -> {
+                boolean value = random.nextBoolean();
+                return new Generated<>(new BoolOperatorConst(wolfyUtils, value), String.valueOf(value));
+            }
+            default -> {
+                ValueType type = ValueType.values()[random.nextInt(ValueType.values().length)];
+                Generated<ValueProvider<?>> thisValue = generateProvider(random, type, depth + 1);
+                Generated<ValueProvider<?>> thatValue = generateProvider(random, type, depth + 1);
+                ValueProvider a = thisValue.value();
+                ValueProvider b = thatValue.value();
+                return switch (choice) {
+                    case 4 -> new Generated<>(new ComparisonOperatorEqual(wolfyUtils, a, b), thisValue.description() + " == " + thatValue.description());
+                    case 5 -> new Generated<>(new ComparisonOperatorNotEqual(wolfyUtils, a, b), thisValue.description() + " != " + thatValue.description());
+                    case 6 -> new Generated<>(new ComparisonOperatorLess(wolfyUtils, a, b), thisValue.description() + " < " + thatValue.description());
+                    case 7 -> new Generated<>(new ComparisonOperatorLessEqual(wolfyUtils, a, b), thisValue.description() + " <= " + thatValue.description());
+                    case 8 -> new Generated<>(new ComparisonOperatorGreater(wolfyUtils, a, b), thisValue.description() + " > " + thatValue.description());
+                    default -> new Generated<>(new ComparisonOperatorGreaterEqual(wolfyUtils, a, b), thisValue.description() + " >= " + thatValue.description());
+                };
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Generated<ValueProvider<?>> generateProvider(Random random, ValueType type, int depth) {
+        int choice = random.nextInt(depth >= MAX_DEPTH ? 2 : 3);
+        if (choice == 0) {
+            Object value = type.randomValue(random);
+            return new Generated<>(type.constProvider.apply(value), type.name() + "(" + value + ")");
+        }
+        if (choice == 1) {
+            String variable = type.variable(random.nextInt(VARIABLES_PER_TYPE));
+            return new Generated<>(type.variableProvider.apply(variable), "$" + variable);
+        }
+        Generated<BoolOperator> condition = generateOperator(random, depth + 1);
+        Generated<ValueProvider<?>> thenValue = generateProvider(random, type, depth + 1);
+        Generated<ValueProvider<?>> elseValue = generateProvider(random, type, depth + 1);
+        return new Generated<>(
+                new ValueProviderConditioned(condition.value(), thenValue.value(), elseValue.value()),
+                "(" + condition.description() + " ? " + thenValue.description() + " : " + elseValue.description() + ")"
+        );
+    }
+
+    private record Generated<T>(T value, String description) {
+    }
+
+    private enum ValueType {
+        BYTE(value -> new ValueProviderByteConst((Byte) value), ValueProviderByteVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return random.nextBoolean() ? (byte) (random.nextInt(5) - 2) : pick(random, Byte.MIN_VALUE, Byte.MAX_VALUE, (byte) 0);
+            }
+        },
+        SHORT(value -> new ValueProviderShortConst((Short) value), ValueProviderShortVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return random.nextBoolean() ? (short) (random.nextInt(5) - 2) : pick(random, Short.MIN_VALUE, Short.MAX_VALUE, (short) 0);
+            }
+        },
+        INT(value -> new ValueProviderIntegerConst((Integer) value), ValueProviderIntegerVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return random.nextBoolean() ? random.nextInt(5) - 2 : pick(random, Integer.MIN_VALUE, Integer.MAX_VALUE, 0);
+            }
+        },
+        LONG(value -> new ValueProviderLongConst((Long) value), ValueProviderLongVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return random.nextBoolean() ? (long) (random.nextInt(5) - 2) : pick(random, Long.MIN_VALUE, Long.MAX_VALUE, 1L << 40);
+            }
+        },
+        FLOAT(value -> new ValueProviderFloatConst((Float) value), ValueProviderFloatVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return random.nextBoolean() ? (float) (random.nextInt(5) - 2) : pick(random, 0f, -0f, Float.NaN, Float.POSITIVE_INFINITY, Float.NEGATIVE_INFINITY, Float.MIN_VALUE, 0.1f);
+            }
+        },
+        DOUBLE(value -> new ValueProviderDoubleConst((Double) value), ValueProviderDoubleVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return random.nextBoolean() ? (double) (random.nextInt(5) - 2) : pick(random, 0d, -0d, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.MIN_VALUE, 0.1d);
+            }
+        },
+        STRING(value -> new ValueProviderStringConst((String) value), ValueProviderStringVar::new) {
+            @Override
+            Object randomValue(Random random) {
+                return pick(random, "", "a", "b", "ab", "B");
+            }
+        };
+
+        private final Function<Object, ValueProvider<?>> constProvider;
+        private final Function<String, ValueProvider<?>> variableProvider;
+
+        ValueType(Function<Object, ValueProvider<?>> constProvider, Function<String, ValueProvider<?>> variableProvider) {
+            this.constProvider = constProvider;
+            this.variableProvider = variableProvider;
+        }
+
+        abstract Object randomValue(Random random);
+
+        String variable(int index) {
+            return "test_" + name().toLowerCase() + "_" + index;
+        }
+
+        @SafeVarargs
+        private static <T> T pick(Random random, T... values) {
+            return values[random.nextInt(values.length)];
+        }
+    }
+
+}
@@ -29,6 +29,7 @@ repositories {
 dependencies {
     compileOnly(files(libs::class.java.protectionDomain.codeSource.location))
     implementation("org.jetbrains.kotlin:kotlin-gradle-plugin:1.9.23")
+    implementation(libs.org.ow2.asm.asm)
 }
 
 java {
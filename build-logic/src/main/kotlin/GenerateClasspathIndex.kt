@@ -0,0 +1,102 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+import org.gradle.api.DefaultTask
+import org.gradle.api.file.ConfigurableFileCollection
+import org.gradle.api.file.DirectoryProperty
+import org.gradle.api.tasks.InputFiles
+import org.gradle.api.tasks.OutputDirectory
+import org.gradle.api.tasks.PathSensitive
+import org.gradle.api.tasks.PathSensitivity
+import org.gradle.api.tasks.TaskAction
+import org.objectweb.asm.AnnotationVisitor
+import org.objectweb.asm.ClassReader
+import org.objectweb.asm.ClassVisitor
+import org.objectweb.asm.Opcodes
+import org.objectweb.asm.Type
+import java.io.File
+import java.util.TreeSet
+
+/**
+ * Generates the classpath index, that is read by the `StaticClasspathIndex` at runtime instead of scanning the classpath.
+ *
+ * The compiled classes are read using ASM, so no class is loaded at build time.
+ * For each class the annotations and direct super types are indexed, and the paths of all resources are listed.
+ */
+abstract class GenerateClasspathIndex : DefaultTask() {
+
+    companion object {
+        const val INDEX_PATH = "META-INF/wolfyutils/classpath.index"
+        private val IGNORED_ANNOTATIONS = setOf("kotlin.Metadata", "kotlin.jvm.internal.SourceDebugExtension")
+    }
+
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val classes: ConfigurableFileCollection
+
+    @get:InputFiles
+    @get:PathSensitive(PathSensitivity.RELATIVE)
+    abstract val resources: ConfigurableFileCollection
+
+    @get:OutputDirectory
+    abstract val outputDirectory: DirectoryProperty
+
+    @TaskAction
+    fun generate() {
+        // Sorted, so the index is the same for the same input
+        val entries = TreeSet<String>()
+        classes.asFileTree.matching { include("**/*.class") }.visit {
+            if (!isDirectory && !name.equals("module-info.class") && !name.equals("package-info.class")) {
+                indexClass(file, entries)
+            }
+        }
+        resources.asFileTree.visit {
+            if (!isDirectory) {
+                entries.add("resource ${relativePath.pathString}")
+            }
+        }
+
+        val indexFile = outputDirectory.file(INDEX_PATH).get().asFile
+        indexFile.parentFile.mkdirs()
+        indexFile.writeText(entries.joinToString(separator = "\n", postfix = "\n"))
+    }
+
+    private fun indexClass(classFile: File, entries: MutableSet<String>) {
+        ClassReader(classFile.readBytes()).accept(object : ClassVisitor(Opcodes.ASM9) {
+
+            private lateinit var className: String
+
+            override fun visit(version: Int, access: Int, name: String, signature: String?, superName: String?, interfaces: Array<out String>?) {
+                className = Type.getObjectType(name).className
+                if (superName != null && superName != "java/lang/Object") {
+                    entries.add("subtype ${Type.getObjectType(superName).className} $className")
+                }
+                interfaces?.forEach { entries.add("subtype ${Type.getObjectType(it).className} $className") }
+            }
+
+            override fun visitAnnotation(descriptor: String, visible: Boolean): AnnotationVisitor? {
+                val annotation = Type.getType(descriptor).className
+                if (visible && annotation !in IGNORED_ANNOTATIONS) {
+                    entries.add("annotated $annotation $className")
+                }
+                return null
+            }
+        }, ClassReader.SKIP_CODE or ClassReader.SKIP_DEBUG or ClassReader.SKIP_FRAMES)
+    }
+
+}
@@ -33,6 +33,27 @@ dependencies {
     compileOnly(libs.com.google.guava.guava)
 
     testImplementation(libs.org.junit.jupiter.junit.jupiter)
+    testImplementation(libs.org.mockito.mockito.core)
+}
+
+configurations.testImplementation {
+    // The compileOnly dependencies are provided by the server at runtime, so the tests need them as well
+    extendsFrom(configurations.compileOnly.get())
+}
+
+tasks.withType<Test> {
+    useJUnitPlatform()
+}
+
+// Index the classes and resources at build time, so they don't need to be scanned on startup
+val generateClasspathIndex = tasks.register<GenerateClasspathIndex>("generateClasspathIndex") {
+    classes.from(sourceSets.main.get().output.classesDirs)
+    resources.from(sourceSets.main.get().resources.sourceDirectories)
+    outputDirectory.set(layout.buildDirectory.dir("generated/classpath-index"))
+}
+
+sourceSets.main {
+    output.dir(mapOf("builtBy" to generateClasspathIndex), generateClasspathIndex.flatMap { it.outputDirectory })
 }
 
 tasks.withType<JavaCompile> {
@@ -0,0 +1,52 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+plugins {
+    `java-library`
+}
+
+val libs = extensions.getByType(org.gradle.accessors.dm.LibrariesForLibs::class)
+
+// The JMH benchmarks are located in src/jmh and have access to the main classes, including the compileOnly dependencies
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations {
+    named(jmh.implementationConfigurationName) {
+        extendsFrom(configurations.implementation.get(), configurations.compileOnly.get())
+    }
+    named(jmh.runtimeOnlyConfigurationName) {
+        extendsFrom(configurations.runtimeOnly.get())
+    }
+}
+
+dependencies {
+    jmh.implementationConfigurationName(libs.org.openjdk.jmh.jmh.core)
+    jmh.annotationProcessorConfigurationName(libs.org.openjdk.jmh.jmh.generator.annprocess)
+}
+
+// Runs the benchmarks, e.g. "gradlew :common:jmh -Pjmh.includes=ReactiveGraphBenchmark"
+tasks.register<JavaExec>("jmh") {
+    group = "verification"
+    description = "Runs the JMH benchmarks."
+    classpath = jmh.runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args(providers.gradleProperty("jmh.includes").getOrElse(".*"))
+}
@@ -22,10 +22,13 @@ plugins {
     `maven-publish`
     id("wolfyutils.common.conventions")
     id("wolfyutils.kotlinmodule")
+    id("wolfyutils.jmh.conventions")
 }
 
 dependencies {
     api(project(":api"))
+
+    "jmhImplementation"(libs.org.mockito.mockito.core)
 }
 
 tasks.named<ProcessResources>("processResources") {
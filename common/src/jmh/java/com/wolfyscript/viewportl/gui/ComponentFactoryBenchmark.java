@@ -0,0 +1,119 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.inject.Inject;
+import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.viewportl.gui.components.Component;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the time it takes to build the components of a window with the {@link ComponentFactory} paths.<br>
+ * Each invocation builds the 54 slots of a large chest menu, either using the constructor handle of the factory,
+ * or using a Guice injector per component, as it was done before the factories were cached.
+ * Both component types have the same parameters, but the extra title of the Guice one is not known to the factory,
+ * so it falls back to an injector.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ComponentFactoryBenchmark {
+
+    private static final int SLOTS = 54;
+
+    private BuildContext context;
+    private Component parent;
+    private ComponentFactory handleFactory;
+    private ComponentFactory guiceFactory;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = mock(BuildContext.class);
+        when(context.getWolfyUtils()).thenReturn(mock(WolfyUtils.class));
+        parent = mock(Component.class);
+        handleFactory = ComponentFactory.Companion.of(HandleSlot.class);
+        guiceFactory = ComponentFactory.Companion.of(GuiceSlot.class);
+        if (!handleFactory.getClass().getSimpleName().equals("ConstructorFactory") || !guiceFactory.getClass().getSimpleName().equals("GuiceFactory")) {
+            throw new IllegalStateException("The factories do not use the measured paths");
+        }
+    }
+
+    @Benchmark
+    public void buildWithHandle(Blackhole blackhole) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            blackhole.consume(handleFactory.create(context, slot, parent));
+        }
+    }
+
+    @Benchmark
+    public void buildWithGuice(Blackhole blackhole) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            blackhole.consume(guiceFactory.create(context, slot, parent));
+        }
+    }
+
+    public static class HandleSlot {
+
+        private final String id;
+        private final WolfyUtils wolfyUtils;
+        private final long numericId;
+        private final BuildContext context;
+        private final Component parent;
+
+        @Inject
+        public HandleSlot(@JsonProperty("id") String id, WolfyUtils wolfyUtils, long numericId, BuildContext context, Component parent) {
+            this.id = id;
+            this.wolfyUtils = wolfyUtils;
+            this.numericId = numericId;
+            this.context = context;
+            this.parent = parent;
+        }
+    }
+
+    public static class GuiceSlot extends HandleSlot {
+
+        private final String title;
+
+        @Inject
+        public GuiceSlot(@JsonProperty("id") String id, WolfyUtils wolfyUtils, long numericId, BuildContext context, Component parent, String title) {
+            super(id, wolfyUtils, numericId, context, parent);
+            this.title = title;
+        }
+    }
+
+}
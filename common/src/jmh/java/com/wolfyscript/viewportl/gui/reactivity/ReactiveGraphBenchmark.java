@@ -0,0 +1,97 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui.reactivity;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.wolfyscript.viewportl.gui.ViewRuntimeImpl;
+import java.util.concurrent.TimeUnit;
+import kotlin.Unit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the fan-out of a single signal to all the effects that subscribed to it.<br>
+ * Each invocation changes the signal, which marks all subscribers in {@link ReactiveGraph#markDirty(NodeId)},
+ * and then runs them in {@link ReactiveGraph#runEffects()}, so every effect reads the signal again.<br>
+ * The runtime is mocked, so the scheduled flush never runs and only the graph itself is measured.
+ * Run it with <code>-prof gc</code> to see the allocations per fan-out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReactiveGraphBenchmark {
+
+    @Param({"1000", "10000"})
+    public int subscriberCount;
+
+    private ReactiveGraph graph;
+    private Signal<Integer> signal;
+    private int value;
+    // Written by the effects, so their reads are not eliminated
+    private int observed;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ViewRuntimeImpl viewRuntime = mock(ViewRuntimeImpl.class, RETURNS_DEEP_STUBS);
+        graph = new ReactiveGraph(viewRuntime);
+        when(viewRuntime.getReactiveSource()).thenReturn(graph);
+
+        signal = graph.createSignal(Integer.class, runtime -> 0);
+        for (int i = 0; i < subscriberCount; i++) {
+            graph.createEffect(unit -> {
+                observed = signal.get();
+                return Unit.INSTANCE;
+            });
+        }
+        // The first run subscribes the effects to the signal
+        if (graph.runEffects() != subscriberCount) {
+            throw new IllegalStateException("Not all effects ran in the setup");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graph.dispose();
+    }
+
+    @Benchmark
+    public int fanOut() {
+        signal.set(++value);
+        graph.runEffects();
+        return observed;
+    }
+
+}
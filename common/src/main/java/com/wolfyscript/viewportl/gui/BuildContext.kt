@@ -19,11 +19,6 @@
 package com.wolfyscript.viewportl.gui
 
 import com.google.common.base.Preconditions
-import com.google.inject.Binder
-import com.google.inject.Guice
-import com.google.inject.Module
-import com.google.inject.Stage
-import com.google.inject.util.Providers
 import com.wolfyscript.utilities.NamespacedKey
 import com.wolfyscript.utilities.WolfyUtils
 import com.wolfyscript.viewportl.gui.components.Component
@@ -31,7 +26,15 @@ import com.wolfyscript.viewportl.gui.reactivity.ReactiveGraph
 import com.wolfyscript.utilities.tuple.Pair
 import java.util.function.Consumer
 
-class BuildContext(val runtime: ViewRuntime, val reactiveSource: ReactiveGraph, val wolfyUtils: WolfyUtils) {
+class BuildContext(
+    val runtime: ViewRuntime,
+    val reactiveSource: ReactiveGraph,
+    val wolfyUtils: WolfyUtils,
+    /**
+     * The template shared by all runtimes of the GUI, or null when the GUI does not share its static parts.
+     */
+    val template: WindowTemplate? = null
+) {
 
     private companion object {
         private var COMPONENT_COUNTER: Long = 0
@@ -61,18 +64,13 @@ class BuildContext(val runtime: ViewRuntime, val reactiveSource: ReactiveGraph,
     }
 
     private fun <B : Component> instantiateNewComponent(parent: Component? = null, numericId: Long, builderTypeInfo: Pair<NamespacedKey, Class<B>>): B {
-        val injector = Guice.createInjector(Stage.PRODUCTION, Module { binder: Binder ->
-            binder.bind(WolfyUtils::class.java).toInstance(wolfyUtils)
-            binder.bind(Long::class.java).toInstance(numericId)
-            binder.bind(BuildContext::class.java).toInstance(this)
-            binder.bind(Component::class.java).toProvider(Providers.of(parent))
-        })
-        return injector.getInstance(builderTypeInfo.value)
+        val implType = builderTypeInfo.value
+        return implType.cast(ComponentFactory.of(implType).create(this, numericId, parent))
     }
 
     private fun getOrCreateNumericId(namedId: String? = null): Long {
         if (namedId != null && componentIdAliases.containsKey(namedId)) {
-            return componentIdAliases[namedId]?.nodeId() ?: nextId()
+            return componentIdAliases[namedId]?.let { (runtime as ViewRuntimeImpl).modelGraph.nodeIdOf(it) } ?: nextId()
         }
         return nextId()
     }
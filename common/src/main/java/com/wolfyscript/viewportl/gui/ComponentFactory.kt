@@ -0,0 +1,162 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui
+
+import com.fasterxml.jackson.annotation.JsonProperty
+import com.google.inject.Binder
+import com.google.inject.BindingAnnotation
+import com.google.inject.Guice
+import com.google.inject.Module
+import com.google.inject.Stage
+import com.google.inject.util.Providers
+import com.wolfyscript.utilities.WolfyUtils
+import com.wolfyscript.viewportl.gui.components.Component
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.reflect.AnnotatedElement
+import java.lang.reflect.Constructor
+import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Creates the instances of a Component implementation, with the same values that were previously bound by a Guice injector per component:
+ *
+ *  - [WolfyUtils] the api of the [BuildContext]
+ *  - [Long] the numeric id of the component
+ *  - [BuildContext] the context that builds the component
+ *  - [Component] the parent component (may be null)
+ *  - [String] the `@JsonProperty("id")` parameter, that Guice creates as an empty string
+ *
+ * The `@Inject` constructor is resolved once per implementation and invoked via a [MethodHandle].
+ * Implementations that require anything else (e.g. member injection, other constructor parameters, or parameters with a binding annotation like `@Named`)
+ * fall back to a Guice injector.
+ */
+internal sealed interface ComponentFactory {
+
+    fun create(context: BuildContext, numericId: Long, parent: Component?): Any
+
+    companion object {
+
+        private val FACTORIES: MutableMap<Class<*>, ComponentFactory> = ConcurrentHashMap()
+
+        /**
+         * Gets the cached factory of the implementation type, or resolves a new one.
+         */
+        fun of(type: Class<*>): ComponentFactory = FACTORIES.computeIfAbsent(type) { resolve(it) }
+
+        private fun resolve(type: Class<*>): ComponentFactory {
+            if (hasMemberInjection(type)) return GuiceFactory(type)
+            val constructor = findConstructor(type) ?: return GuiceFactory(type)
+            val parameterAnnotations = constructor.parameterAnnotations
+            val parameters = constructor.parameterTypes.mapIndexed { index, parameterType ->
+                val annotations = parameterAnnotations[index]
+                // Bound values (e.g. @Named) are only known to the Guice modules
+                if (annotations.any { isBindingAnnotation(it) }) return GuiceFactory(type)
+                when (parameterType) {
+                    WolfyUtils::class.java -> Parameter.WOLFY_UTILS
+                    Long::class.javaPrimitiveType, Long::class.javaObjectType -> Parameter.NUMERIC_ID
+                    BuildContext::class.java -> Parameter.CONTEXT
+                    Component::class.java -> Parameter.PARENT
+                    String::class.java -> if (isIdParameter(annotations)) Parameter.ID else return GuiceFactory(type)
+                    else -> return GuiceFactory(type)
+                }
+            }.toTypedArray()
+            if (!Modifier.isPublic(constructor.modifiers) || !Modifier.isPublic(type.modifiers)) {
+                constructor.isAccessible = true
+            }
+            val handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                .asSpreader(Array<Any?>::class.java, parameters.size)
+                .asType(MethodType.methodType(Any::class.java, Array<Any?>::class.java))
+            return ConstructorFactory(handle, parameters)
+        }
+
+        private fun findConstructor(type: Class<*>): Constructor<*>? {
+            val constructors = type.declaredConstructors
+            return constructors.firstOrNull { isInjectAnnotated(it) } ?: constructors.firstOrNull { it.parameterCount == 0 }
+        }
+
+        private fun hasMemberInjection(type: Class<*>): Boolean {
+            var current: Class<*>? = type
+            while (current != null && current != Any::class.java) {
+                if (current.declaredFields.any { isInjectAnnotated(it) } || current.declaredMethods.any { isInjectAnnotated(it) }) {
+                    return true
+                }
+                current = current.superclass
+            }
+            return false
+        }
+
+        private fun isInjectAnnotated(element: AnnotatedElement): Boolean {
+            return element.isAnnotationPresent(com.google.inject.Inject::class.java) || element.isAnnotationPresent(javax.inject.Inject::class.java)
+        }
+
+        private fun isBindingAnnotation(annotation: Annotation): Boolean {
+            val annotationType = annotation.annotationClass.java
+            return annotationType.isAnnotationPresent(BindingAnnotation::class.java) || annotationType.isAnnotationPresent(javax.inject.Qualifier::class.java)
+        }
+
+        private fun isIdParameter(annotations: Array<Annotation>): Boolean {
+            return annotations.any { it is JsonProperty && it.value == "id" }
+        }
+    }
+
+    private enum class Parameter {
+        WOLFY_UTILS,
+        NUMERIC_ID,
+        CONTEXT,
+        PARENT,
+
+        /**
+         * The id of the component. Strings are not bound, so Guice creates it just-in-time using the empty constructor.
+         */
+        ID
+    }
+
+    private class ConstructorFactory(private val handle: MethodHandle, private val parameters: Array<Parameter>) : ComponentFactory {
+
+        override fun create(context: BuildContext, numericId: Long, parent: Component?): Any {
+            val args = arrayOfNulls<Any>(parameters.size)
+            for (i in parameters.indices) {
+                args[i] = when (parameters[i]) {
+                    Parameter.WOLFY_UTILS -> context.wolfyUtils
+                    Parameter.NUMERIC_ID -> numericId
+                    Parameter.CONTEXT -> context
+                    Parameter.PARENT -> parent
+                    Parameter.ID -> ""
+                }
+            }
+            return handle.invoke(args)
+        }
+    }
+
+    private class GuiceFactory(private val type: Class<*>) : ComponentFactory {
+
+        override fun create(context: BuildContext, numericId: Long, parent: Component?): Any {
+            val injector = Guice.createInjector(Stage.PRODUCTION, Module { binder: Binder ->
+                binder.bind(WolfyUtils::class.java).toInstance(context.wolfyUtils)
+                binder.bind(Long::class.java).toInstance(numericId)
+                binder.bind(BuildContext::class.java).toInstance(context)
+                binder.bind(Component::class.java).toProvider(Providers.of(parent))
+            })
+            return injector.getInstance(type)
+        }
+    }
+
+}
@@ -24,9 +24,11 @@ import com.google.common.collect.Multimap
 import com.google.common.collect.MultimapBuilder
 import com.wolfyscript.utilities.WolfyUtils
 import com.wolfyscript.utilities.functions.ReceiverConsumer
+import it.unimi.dsi.fastutil.longs.Long2LongLinkedOpenHashMap
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
 import java.util.*
+import java.util.concurrent.ConcurrentHashMap
 import java.util.function.Consumer
 import java.util.function.Function
 import java.util.stream.Stream
@@ -37,27 +39,59 @@ class GuiAPIManagerImpl(private val wolfyUtils: WolfyUtils) :
     private val entriesMap: BiMap<String, Function<ViewRuntime, Window>> = HashBiMap.create()
 
     private val runtimes: Long2ObjectMap<ViewRuntime> = Long2ObjectOpenHashMap()
+    private val templates: MutableMap<String, WindowTemplate> = ConcurrentHashMap()
     private val cachedViewRuntimes: Multimap<String, Long> = MultimapBuilder.hashKeys().hashSetValues().build()
     private val viewRuntimesPerPlayer: Multimap<UUID, Long> = MultimapBuilder.hashKeys().hashSetValues().build()
 
+    // The runtimes that are no longer viewed, in the order they became idle, mapped to the time they became idle.
+    private val idleRuntimes: Long2LongLinkedOpenHashMap = Long2LongLinkedOpenHashMap()
+    private var evictedRuntimes: Long = 0
+
+    /**
+     * The amount of runtimes, that are currently cached (viewed and idle).
+     */
+    val liveRuntimeCount: Int
+        get() = synchronized(runtimes) { runtimes.size }
+
+    /**
+     * The amount of cached runtimes, that are currently not viewed by any player.
+     */
+    val idleRuntimeCount: Int
+        get() = synchronized(runtimes) { idleRuntimes.size }
+
+    /**
+     * The total amount of runtimes, that were released so far.
+     */
+    val evictedRuntimeCount: Long
+        get() = synchronized(runtimes) { evictedRuntimes }
+
     override fun getViewManagersFor(uuid: UUID): Stream<ViewRuntime> {
-        return viewRuntimesPerPlayer[uuid].stream().map { runtimes[it] }
+        return synchronized(runtimes) {
+            synchronized(viewRuntimesPerPlayer) { viewRuntimesPerPlayer[uuid].mapNotNull { runtimes[it] } }
+        }.stream()
     }
 
     override fun getViewManagersFor(uuid: UUID, guiID: String): Stream<ViewRuntime> {
-        val ids = cachedViewRuntimes[guiID]
-        return viewRuntimesPerPlayer[uuid].stream()
-            .filter { ids.contains(it) }
-            .map { runtimes[it] }
+        return synchronized(runtimes) {
+            val ids = cachedViewRuntimes[guiID]
+            synchronized(viewRuntimesPerPlayer) { viewRuntimesPerPlayer[uuid].filter { ids.contains(it) }.mapNotNull { runtimes[it] } }
+        }.stream()
     }
 
     override fun registerGui(key: String, windowConsumer: ReceiverConsumer<Window>) {
+        registerGui(key, false, windowConsumer)
+    }
+
+    override fun registerGui(key: String, shareTemplate: Boolean, windowConsumer: ReceiverConsumer<Window>) {
+        val template = if (shareTemplate) WindowTemplate(key) else null
+        if (template != null) templates[key] = template else templates.remove(key)
         // TODO: maybe wrap in an extra object?
         registerGui(key) { runtime ->
             val buildContext = BuildContext(
                 runtime,
                 (runtime as ViewRuntimeImpl).reactiveSource,
-                wolfyUtils
+                wolfyUtils,
+                template
             )
             val window: Window = WindowImpl(key, 54, null, wolfyUtils, buildContext)
             with(windowConsumer) { window.consume() }
@@ -69,8 +103,11 @@ class GuiAPIManagerImpl(private val wolfyUtils: WolfyUtils) :
         getGui(guiId).ifPresent { constructor ->
             val viewerSet = mutableSetOf(*viewers)
             val viewManagersForID = cachedViewRuntimes[guiId]
-            val runtime = viewManagersForID.map { runtimes[it] }.firstOrNull { it.viewers == viewerSet }
+            val runtime = synchronized(runtimes) {
+                viewManagersForID.map { runtimes[it] }.firstOrNull { it.viewers == viewerSet }
+            }
             if (runtime != null) {
+                markActive(runtime.id())
                 callback.accept(runtime)
             } else {
                 // Construct the new view manager async, so it doesn't affect the main thread!
@@ -79,6 +116,8 @@ class GuiAPIManagerImpl(private val wolfyUtils: WolfyUtils) :
                     synchronized(runtimes) {
                         viewManagersForID.add(viewManager.id)
                         runtimes.put(viewManager.id, viewManager)
+                        // Idle until it is opened, so it is released even if it is never opened
+                        idleRuntimes.put(viewManager.id, System.currentTimeMillis())
                     }
                     synchronized(viewRuntimesPerPlayer) {
                         for (viewer in viewerSet) {
@@ -91,10 +130,110 @@ class GuiAPIManagerImpl(private val wolfyUtils: WolfyUtils) :
         }
     }
 
+    /**
+     * Marks the runtime as viewed, so it is no longer evicted when idle.
+     *
+     * @param runtimeId The id of the runtime.
+     */
+    fun markActive(runtimeId: Long) {
+        synchronized(runtimes) {
+            idleRuntimes.remove(runtimeId)
+        }
+    }
+
+    /**
+     * Marks the runtime as no longer viewed by any of its viewers.
+     * Idle runtimes are kept for reuse until they are evicted by [evictIdleRuntimes].
+     *
+     * @param runtimeId The id of the runtime.
+     */
+    fun markIdle(runtimeId: Long) {
+        synchronized(runtimes) {
+            if (runtimes.containsKey(runtimeId) && !idleRuntimes.containsKey(runtimeId)) {
+                idleRuntimes.put(runtimeId, System.currentTimeMillis())
+            }
+        }
+    }
+
+    /**
+     * Releases the runtimes, that have been idle for longer than the timeout.
+     * When more than the max amount of runtimes are idle afterward, the ones that have been idle the longest are released as well.
+     *
+     * @param idleTimeout The time in milliseconds after which an idle runtime is released.
+     * @param maxIdleRuntimes The max amount of idle runtimes to keep for reuse.
+     * @return The amount of released runtimes.
+     */
+    fun evictIdleRuntimes(idleTimeout: Long, maxIdleRuntimes: Int): Int {
+        val evicted = ArrayList<ViewRuntimeImpl>()
+        synchronized(runtimes) {
+            val idleThreshold = System.currentTimeMillis() - idleTimeout
+            // The map is ordered by the time the runtimes became idle, so the longest idle runtimes are first
+            while (!idleRuntimes.isEmpty() && (idleRuntimes.size > maxIdleRuntimes || idleRuntimes.getLong(idleRuntimes.firstLongKey()) <= idleThreshold)) {
+                removeRuntime(idleRuntimes.firstLongKey())?.let { evicted.add(it) }
+            }
+        }
+        evicted.forEach { it.dispose() }
+        return evicted.size
+    }
+
+    /**
+     * Removes the specified player from the viewers of all their runtimes.
+     * Used when the player leaves, as the runtimes cannot be viewed by them anymore.
+     * A runtime is only released once none of its viewers is left, so the other viewers can keep using it.
+     *
+     * @param viewer The uuid of the player.
+     * @return The amount of released runtimes.
+     */
+    fun releaseRuntimesOf(viewer: UUID): Int {
+        val released = ArrayList<ViewRuntimeImpl>()
+        synchronized(runtimes) {
+            synchronized(viewRuntimesPerPlayer) {
+                for (id in viewRuntimesPerPlayer.removeAll(viewer)) {
+                    val runtime = runtimes[id] ?: continue
+                    // Viewers that left before were already removed, so the remaining entries are the viewers that are still online
+                    val viewed = runtime.viewers.any { it != viewer && viewRuntimesPerPlayer.containsEntry(it, id) }
+                    if (!viewed) {
+                        removeRuntime(id)?.let { released.add(it) }
+                    }
+                }
+            }
+        }
+        released.forEach { it.dispose() }
+        return released.size
+    }
+
+    /**
+     * Removes the runtime from all the caches. Must be called while holding the lock of [runtimes].
+     */
+    private fun removeRuntime(runtimeId: Long): ViewRuntimeImpl? {
+        idleRuntimes.remove(runtimeId)
+        val runtime = runtimes.remove(runtimeId) ?: return null
+        cachedViewRuntimes.values().remove(runtimeId)
+        synchronized(viewRuntimesPerPlayer) {
+            for (viewer in runtime.viewers) {
+                viewRuntimesPerPlayer.remove(viewer, runtimeId)
+            }
+        }
+        evictedRuntimes++
+        return runtime as ViewRuntimeImpl
+    }
+
     private fun registerGui(id: String, constructor: Function<ViewRuntime, Window>) {
         entriesMap[id] = constructor
     }
 
+    override fun clearTemplates() {
+        templates.values.forEach { it.clear() }
+    }
+
+    /**
+     * Gets the template shared by the runtimes of the specified GUI.
+     *
+     * @param guiId The id of the gui.
+     * @return The template; or null if the GUI does not share a template.
+     */
+    fun getTemplate(guiId: String): WindowTemplate? = templates[guiId]
+
     override fun createViewAndOpen(guiID: String, vararg viewers: UUID) {
         createViewAndThen(guiID, { it.open() }, *viewers)
     }
@@ -19,6 +19,7 @@
 package com.wolfyscript.viewportl.gui
 
 import com.wolfyscript.utilities.WolfyUtils
+import com.wolfyscript.viewportl.gui.components.ComponentGroupImpl
 import com.wolfyscript.viewportl.gui.interaction.InteractionHandler
 import com.wolfyscript.viewportl.gui.model.UpdateInformation
 import com.wolfyscript.viewportl.gui.reactivity.ReactiveGraph
@@ -73,6 +74,7 @@ class ViewRuntimeImpl(
     }
 
     private fun open(window: Window) {
+        (wolfyUtils.guiManager as? GuiAPIManagerImpl)?.markActive(id)
         setCurrentRoot(window)
 
         renderer.changeWindow(window)
@@ -99,6 +101,20 @@ class ViewRuntimeImpl(
         return Optional.ofNullable(currentRoot)
     }
 
+    /**
+     * Closes the current menu and cancels all the interval and flush tasks of this runtime.
+     * Called once the runtime was released by the [GuiAPIManagerImpl], after which it must no longer be used.
+     */
+    fun dispose() {
+        currentMenu?.close()
+        for (node in modelGraph.nodes()) {
+            (node.component as? ComponentGroupImpl)?.cancelIntervals()
+        }
+        history.clear()
+        reactiveSource.dispose()
+        renderer.dispose()
+    }
+
     override fun id(): Long {
         return id
     }
@@ -0,0 +1,177 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui
+
+import com.wolfyscript.utilities.functions.ReceiverConsumer
+import com.wolfyscript.utilities.world.items.ItemStackConfig
+import com.wolfyscript.viewportl.gui.components.Component
+import java.lang.reflect.Modifier
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Holds the static parts of a GUI, that are shared by all the [ViewRuntime]s created for it.
+ *
+ * Components that do not depend on any reactive state are only built by the first runtime, and then reused by all the following runtimes.
+ * The following runtimes insert the shared component into their own [com.wolfyscript.viewportl.gui.rendering.ModelGraph],
+ * so they only allocate the nodes of the graph and the components that are bound to their reactive state.
+ * Whether a component is static is only known after its effects ran for the first time, so the runtimes check it using a [ComponentClaim],
+ * until one of them shares it.
+ *
+ * Icons that do not depend on any reactive state always produce the same stack, so a frozen snapshot of it is shared as well.
+ *
+ * Only parts configured by non-capturing consumers are shared, because a capturing consumer may produce a different result for each runtime.
+ * The shared parts are frozen, so they cannot be changed by any of the runtimes.
+ * They are built from the current languages and configs, so [clear] must be called whenever those are reloaded.
+ */
+class WindowTemplate(val key: String) {
+
+    private val constantStacks: MutableMap<StackKey, ItemStackConfig> = ConcurrentHashMap()
+    private val staticComponents: MutableMap<ComponentKey, Component> = ConcurrentHashMap()
+    // The components that depend on reactive state, so they are no longer checked
+    private val dynamicComponents: MutableSet<ComponentKey> = ConcurrentHashMap.newKeySet()
+    // Increased on clear, so checks that were started before are discarded
+    private val generation: AtomicInteger = AtomicInteger()
+
+    /**
+     * The amount of constant stacks, that are currently shared.
+     */
+    val constantStackCount: Int
+        get() = constantStacks.size
+
+    /**
+     * The amount of static components, that are currently shared.
+     */
+    val staticComponentCount: Int
+        get() = staticComponents.size
+
+    /**
+     * Gets the shared stack, that was previously built with the item id and stack config.
+     *
+     * @param itemId The id of the item.
+     * @param stackConfig The consumer that configured the stack.
+     * @return The shared (frozen) stack; or null if there is none yet, or it cannot be shared.
+     */
+    fun getConstantStack(itemId: String, stackConfig: ReceiverConsumer<ItemStackConfig>): ItemStackConfig? {
+        if (!isShareable(stackConfig.javaClass)) return null
+        return constantStacks[StackKey(itemId, stackConfig.javaClass)]
+    }
+
+    /**
+     * Offers the stack built with the item id and stack config, so other runtimes can reuse it.
+     * Must only be called for stacks that do not depend on any reactive state.
+     *
+     * The stack of the calling runtime stays its own, instead the snapshot is built separately and frozen before it is shared.
+     *
+     * @param itemId The id of the item.
+     * @param stackConfig The consumer that configured the stack.
+     * @param snapshot Builds a new stack with the item id and stack config.
+     */
+    fun offerConstantStack(itemId: String, stackConfig: ReceiverConsumer<ItemStackConfig>, snapshot: () -> ItemStackConfig) {
+        if (!isShareable(stackConfig.javaClass)) return
+        constantStacks.computeIfAbsent(StackKey(itemId, stackConfig.javaClass)) { snapshot().also { it.freeze() } }
+    }
+
+    /**
+     * Gets the shared component, that was previously built with the alias, type and configurator.
+     *
+     * @param alias The alias of the component, if any.
+     * @param type The type of the component.
+     * @param configurator The consumer that configured the component.
+     * @return The shared component; or null if there is none yet, or it cannot be shared.
+     */
+    fun getStaticComponent(alias: String?, type: Class<*>, configurator: ReceiverConsumer<*>): Component? {
+        if (!isShareable(configurator.javaClass)) return null
+        return staticComponents[ComponentKey(alias, type, configurator.javaClass)]
+    }
+
+    /**
+     * Claims the check of the component built with the alias, type and configurator.
+     * Components that are known to depend on reactive state are not checked again.
+     *
+     * @param alias The alias of the component, if any.
+     * @param type The type of the component.
+     * @param configurator The consumer that configured the component.
+     * @return The claim used to complete the check; or null if the component is already shared, depends on reactive state, or cannot be shared.
+     */
+    fun claimComponentCheck(alias: String?, type: Class<*>, configurator: ReceiverConsumer<*>): ComponentClaim? {
+        if (!isShareable(configurator.javaClass)) return null
+        val componentKey = ComponentKey(alias, type, configurator.javaClass)
+        if (staticComponents.containsKey(componentKey) || dynamicComponents.contains(componentKey)) return null
+        return ComponentClaim(componentKey, generation.get())
+    }
+
+    /**
+     * Removes all shared stacks and components, so they are built again by the next runtimes.
+     * Must be called when the languages or configs used to build the GUI are reloaded.
+     */
+    fun clear() {
+        generation.incrementAndGet()
+        constantStacks.clear()
+        staticComponents.clear()
+        dynamicComponents.clear()
+    }
+
+    /**
+     * The check of a component, that was claimed by a runtime.
+     * Once the effects of the component ran, the runtime completes the check with the result.
+     * Checks that were claimed before the template was cleared are discarded.
+     */
+    inner class ComponentClaim internal constructor(private val componentKey: ComponentKey, private val generation: Int) {
+
+        /**
+         * Shares the component with the following runtimes, unless another runtime shared it already.
+         *
+         * @param component The static component.
+         * @param freeze Freezes the component, so it cannot be changed afterward. Only called when the component is shared.
+         */
+        fun share(component: Component, freeze: Runnable) {
+            if (generation != this@WindowTemplate.generation.get()) return
+            staticComponents.computeIfAbsent(componentKey) {
+                freeze.run()
+                component
+            }
+        }
+
+        /**
+         * Marks the component as dependent on reactive state, so it is no longer checked.
+         */
+        fun reject() {
+            if (generation != this@WindowTemplate.generation.get()) return
+            dynamicComponents.add(componentKey)
+        }
+    }
+
+    private data class StackKey(val itemId: String, val configType: Class<*>)
+
+    internal data class ComponentKey(val alias: String?, val type: Class<*>, val configType: Class<*>)
+
+    private companion object {
+
+        private val SHAREABLE_TYPES: MutableMap<Class<*>, Boolean> = ConcurrentHashMap()
+
+        /**
+         * Lambdas store the captured values in instance fields of their own class, so only types without such fields always behave the same.
+         */
+        fun isShareable(type: Class<*>): Boolean = SHAREABLE_TYPES.computeIfAbsent(type) {
+            it.declaredFields.all { field -> Modifier.isStatic(field.modifiers) }
+        }
+    }
+
+}
@@ -44,11 +44,29 @@ import java.util.*
 abstract class AbstractComponentImpl<C : Component>(
     override val id: String,
     final override val wolfyUtils: WolfyUtils,
-    override val parent: Component?
+    parent: Component?
 ) : Component, Effect {
 
+    /**
+     * The parent of this component. Components that are shared by the runtimes of a [com.wolfyscript.viewportl.gui.WindowTemplate] have no parent,
+     * as they belong to the groups of multiple runtimes.
+     */
+    override var parent: Component? = parent
+        protected set
+
     private val type: NamespacedKey = wolfyUtils.identifiers.getNamespaced(javaClass)
+    /**
+     * The node of this component in the graph of its runtime, unless it is shared (see [isShared]).
+     * Use [com.wolfyscript.viewportl.gui.rendering.ModelGraph.nodeIdOf] to get the node of a component in a specific runtime.
+     */
     var nodeId: Long? = null
+
+    /**
+     * If this component is shared by the runtimes of a [com.wolfyscript.viewportl.gui.WindowTemplate].
+     * Shared components have a node in the graph of each of those runtimes, so they do not store the [nodeId].
+     */
+    internal open val isShared: Boolean
+        get() = false
     override var styles: RenderProperties = RenderPropertiesImpl(PropertyPosition.def())
 
     init {
@@ -44,14 +44,23 @@ import javax.annotation.Nullable
 class ButtonImpl @JsonCreator @Inject constructor(
     @JsonProperty("id") id: String,
     @JacksonInject("wolfyUtils") wolfyUtils: WolfyUtils,
-    @JacksonInject("context") private val context: BuildContext,
+    @JacksonInject("context") context: BuildContext,
     @Nullable @JacksonInject("parent") parent: Component? = null,
 ) : AbstractComponentImpl<Button>(id, wolfyUtils, parent), Button {
 
     private val animation: Animation<ButtonAnimationFrame>? = null
+    private var frozen: Boolean = false
 
     override var icon: ButtonIcon = DynamicIcon(wolfyUtils, context, this)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
     override var onClick: ReceiverConsumer<ClickTransaction>? = null
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
 
     override fun icon(iconConsumer: ReceiverConsumer<ButtonIcon>) {
         with(iconConsumer) {
@@ -60,6 +69,28 @@ class ButtonImpl @JsonCreator @Inject constructor(
     }
 
     override var sound: Sound? = Sound.sound(Key.key("minecraft:ui.button.click"), Sound.Source.MASTER, 0.25f, 1f)
+        set(value) {
+            checkNotFrozen()
+            field = value
+        }
+
+    /**
+     * Prevents any further changes to this button, so it can be shared by the runtimes of a [com.wolfyscript.viewportl.gui.WindowTemplate].
+     * The parent and the build context are dropped, so the shared button does not keep the runtime that built it.
+     */
+    internal fun freeze() {
+        frozen = true
+        parent = null
+        nodeId = null
+        (icon as? DynamicIcon)?.freeze() ?: icon.stack.freeze()
+    }
+
+    private fun checkNotFrozen() {
+        check(!frozen) { "The button '$id' is shared by the views of the GUI and must not be changed!" }
+    }
+
+    override val isShared: Boolean
+        get() = frozen
 
     override fun insert(runtime: ViewRuntime, parentNode: Long) {
         runtime as ViewRuntimeImpl
@@ -77,35 +108,76 @@ class ButtonImpl @JsonCreator @Inject constructor(
 
     class DynamicIcon internal constructor(
         @JacksonInject("wolfyUtils") private val wolfyUtils: WolfyUtils,
-        @JacksonInject("context") private val context: BuildContext,
+        @JacksonInject("context") context: BuildContext,
         @JacksonInject("button") private val button: Button,
     ) : ButtonIcon {
 
+        // Dropped once frozen, as it is only required to build the icon
+        private var context: BuildContext? = context
+
         override var stack: ItemStackConfig = wolfyUtils.core.platform.items.createStackConfig(wolfyUtils, "air")
+            set(value) {
+                checkNotFrozen()
+                field = value
+            }
         override var resolvers: TagResolver = TagResolver.empty()
+            set(value) {
+                checkNotFrozen()
+                field = value
+            }
+
+        internal fun freeze() {
+            context = null
+            stack.freeze()
+        }
+
+        private fun checkNotFrozen() {
+            check(context != null) { "The icon of button '${button.id}' is shared by the views of the GUI and must not be changed!" }
+        }
+
+        private fun buildContext(): BuildContext {
+            checkNotFrozen()
+            return context!!
+        }
 
         override fun stack(stackSupplier: Supplier<ItemStackConfig>) {
             stack = stackSupplier.get()
         }
 
         override fun stack(itemId: String, stackConfig: ReceiverConsumer<ItemStackConfig>) {
+            val context = buildContext()
+            val template = context.template
+            val sharedStack = template?.getConstantStack(itemId, stackConfig)
+            if (sharedStack != null) {
+                // Another runtime already built this stack, and it does not depend on any reactive state
+                stack = sharedStack
+                return
+            }
             context.reactiveSource.createEffect {
                 val newStack = wolfyUtils.core.platform.items.createStackConfig(wolfyUtils, itemId)
                 with(stackConfig) { newStack.consume() }
                 stack = newStack
-
-                (context.runtime as ViewRuntimeImpl).incomingUpdate(object : UpdateInformation {
-                    override fun updated(): List<Long> = listOf(button.nodeId())
+                if (template != null && !context.reactiveSource.observerHasSources()) {
+                    template.offerConstantStack(itemId, stackConfig) {
+                        wolfyUtils.core.platform.items.createStackConfig(wolfyUtils, itemId).also { with(stackConfig) { it.consume() } }
+                    }
+                }
+
+                val runtime = context.runtime as ViewRuntimeImpl
+                runtime.incomingUpdate(object : UpdateInformation {
+                    override fun updated(): List<Long> = listOf(runtime.modelGraph.nodeIdOf(button) ?: -1)
                 })
             }
         }
 
         override fun resolvers(resolverSupplier: Supplier<TagResolver>) {
+            val context = buildContext()
             context.reactiveSource.createEffect {
                 resolvers = resolverSupplier.get()
 
-                (context.runtime as ViewRuntimeImpl).incomingUpdate(object : UpdateInformation {
-                    override fun updated(): List<Long> = listOf(button.nodeId())
+                val runtime = context.runtime as ViewRuntimeImpl
+                runtime.incomingUpdate(object : UpdateInformation {
+                    override fun updated(): List<Long> = listOf(runtime.modelGraph.nodeIdOf(button) ?: -1)
                 })
             }
         }
@@ -91,17 +91,40 @@ class ComponentGroupImpl @JsonCreator @Inject constructor(
         type: Class<B>,
         configurator: ReceiverConsumer<B>
     ) {
+        val template = context.template
+        if (template != null) {
+            val sharedComponent = template.getStaticComponent(id, type, configurator)
+            if (sharedComponent != null) {
+                // Another runtime already built this component, and it does not depend on any reactive state
+                children.add(sharedComponent)
+                return
+            }
+        }
         val component = context.getOrCreateComponent(this, id, type)
         children.add(component)
-        with(configurator) { component.consume() }
-        component.completeBuild()
+        val claim = if (component is ButtonImpl) template?.claimComponentCheck(id, type, configurator) else null
+        if (claim == null) {
+            with(configurator) { component.consume() }
+            component.completeBuild()
+            return
+        }
+        val reactiveSource = context.reactiveSource
+        val createdNodes = reactiveSource.recordCreatedNodes {
+            with(configurator) { component.consume() }
+            component.completeBuild()
+        }
+        // Queued after the effects of the component, so it runs once they ran for the first time
+        reactiveSource.createEffect {
+            val static = createdNodes.map { reactiveSource.isStatic(it) }
+            when {
+                static.any { it == false } -> claim.reject()
+                static.all { it == true } -> claim.share(component) { (component as ButtonImpl).freeze() }
+            }
+        }
     }
 
     override fun remove(runtime: ViewRuntime, nodeId: Long, parentNode: Long) {
-        for (intervalTask in intervalTasks) {
-            intervalTask.cancel()
-        }
-        intervalTasks.clear()
+        cancelIntervals()
 
         (runtime as ViewRuntimeImpl).modelGraph.removeNode(nodeId)
     }
@@ -116,23 +139,27 @@ class ComponentGroupImpl @JsonCreator @Inject constructor(
         }
 
         // start intervals after the component has been constructed
-        for (intervalTask in intervalTasks) {
-            intervalTask.cancel()
-        }
-        intervalTasks.clear()
+        cancelIntervals()
         for (intervalRunnable in intervalRunnables) {
             val task = wolfyUtils.core.platform.scheduler.task(wolfyUtils)
                 .interval(intervalRunnable.second)
                 .delay(1)
-                .execute(Runnable {
-                    intervalRunnable.first.run()
-                    context.reactiveSource.runEffects()
-                })
+                .execute(intervalRunnable.first)
                 .build()
             intervalTasks.add(task)
         }
     }
 
+    /**
+     * Cancels the interval tasks of this group, that were started when it was inserted.
+     */
+    internal fun cancelIntervals() {
+        for (intervalTask in intervalTasks) {
+            intervalTask.cancel()
+        }
+        intervalTasks.clear()
+    }
+
     override fun completeBuild() {
         buildConditionals(parent)
         buildMatchers(parent)
@@ -47,21 +47,21 @@ class ConditionalChildComponentBuilderImpl(private val context: BuildContext) :
             val runtime = context.runtime
             context.reactiveSource.createEffect {
                 runtime as ViewRuntimeImpl
-                val parentNodeId = (parent as? AbstractComponentImpl<*>)?.nodeId ?: 0
+                val parentNodeId = parent?.let { runtime.modelGraph.nodeIdOf(it) } ?: 0
 
                 val result = conditionMemo.get() ?: false
                 val id = when {
                     result -> {
                         conditional.whenImpl?.build(parent)?.let {
                             it.insert(runtime, parentNodeId)
-                            it.nodeId()
+                            runtime.modelGraph.nodeIdOf(it)
                         } ?: -1
                     }
 
                     conditional.elseImpl != null -> {
                         conditional.elseImpl?.build(parent)?.let {
                             it.insert(runtime, parentNodeId)
-                            it.nodeId()
+                            runtime.modelGraph.nodeIdOf(it)
                         } ?: -1
                     }
 
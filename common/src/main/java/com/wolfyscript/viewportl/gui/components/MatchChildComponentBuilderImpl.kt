@@ -41,7 +41,7 @@ class MatchChildComponentBuilderImpl(private val context: BuildContext) : MatchC
             val runtime = context.runtime
             context.reactiveSource.createEffect {
                 runtime as ViewRuntimeImpl
-                val parentNodeId = (parent as? AbstractComponentImpl<*>)?.nodeId ?: 0
+                val parentNodeId = parent?.let { runtime.modelGraph.nodeIdOf(it) } ?: 0
                 val value = valueMemo.get()
                 val id = cases.find {
                     with(it.condition) {
@@ -54,7 +54,7 @@ class MatchChildComponentBuilderImpl(private val context: BuildContext) : MatchC
                         builder.let {
                             val comp = it
                             comp.insert(runtime, parentNodeId)
-                            comp.nodeId()
+                            runtime.modelGraph.nodeIdOf(comp)
                         }
                     }
                 } ?: -1
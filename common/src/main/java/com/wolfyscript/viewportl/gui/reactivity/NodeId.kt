@@ -21,8 +21,20 @@ package com.wolfyscript.viewportl.gui.reactivity
 import com.wolfyscript.viewportl.gui.ViewRuntimeImpl
 import java.util.function.Function
 
+/**
+ * Identifies a node inside the [ReactiveGraph] of a runtime.
+ *
+ * The [id] packs the arena slot of the node ([index]) into the lower 32 bits and the version of that slot ([version]) into the upper 32 bits.
+ * Slots are reused once a node is removed, so the version makes sure that ids of removed nodes never resolve to a newer node.
+ */
 class NodeId(val id: Long, val runtime: ViewRuntimeImpl) {
 
+    val index: Int
+        get() = id.toInt()
+
+    val version: Int
+        get() = (id ushr 32).toInt()
+
     fun <V> update(updateFn: Function<V, V>) {
         val reactivityNode: ReactivityNode<V>? = runtime.reactiveSource.node(this)
         if (reactivityNode != null) {
@@ -34,7 +46,7 @@ class NodeId(val id: Long, val runtime: ViewRuntimeImpl) {
     }
 
     override fun toString(): String {
-        return id.toString()
+        return if (version == 0) index.toString() else "${index}v${version}"
     }
 
     override fun hashCode(): Int {
@@ -47,4 +59,12 @@ class NodeId(val id: Long, val runtime: ViewRuntimeImpl) {
         return false
     }
 
-}
\ No newline at end of file
+    companion object {
+
+        fun pack(index: Int, version: Int): Long {
+            return (version.toLong() shl 32) or (index.toLong() and 0xFFFFFFFFL)
+        }
+
+    }
+
+}
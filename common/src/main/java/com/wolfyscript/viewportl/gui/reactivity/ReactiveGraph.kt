@@ -17,10 +17,6 @@
  */
 package com.wolfyscript.viewportl.gui.reactivity
 
-import com.google.common.collect.ListMultimap
-import com.google.common.collect.Multimap
-import com.google.common.collect.Multimaps
-import com.google.common.collect.SetMultimap
 import com.wolfyscript.utilities.functions.ReceiverFunction
 import com.wolfyscript.utilities.platform.Platform
 import com.wolfyscript.viewportl.gui.ViewRuntime
@@ -29,7 +25,13 @@ import com.wolfyscript.viewportl.gui.reactivity.properties.EffectProperty
 import com.wolfyscript.viewportl.gui.reactivity.properties.ScopeProperty
 import com.wolfyscript.viewportl.gui.reactivity.properties.SignalProperty
 import com.wolfyscript.viewportl.gui.reactivity.properties.TriggerProperty
-import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap
+import com.wolfyscript.utilities.platform.scheduler.Task
+import it.unimi.dsi.fastutil.Arrays as FastArrays
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap
+import it.unimi.dsi.fastutil.ints.IntArrayList
+import it.unimi.dsi.fastutil.ints.IntLinkedOpenHashSet
+import it.unimi.dsi.fastutil.longs.LongArrayList
+import it.unimi.dsi.fastutil.objects.ObjectArrayList
 import org.apache.commons.lang3.function.TriFunction
 import java.util.*
 import java.util.function.BiFunction
@@ -37,34 +39,86 @@ import java.util.function.Function
 import java.util.logging.Level
 import kotlin.reflect.KClass
 
+/**
+ * The reactive graph of a single [ViewRuntimeImpl].
+ *
+ * All nodes are stored in an arena that is indexed by the slot of the [NodeId] ([NodeId.index]).
+ * Edges (subscribers and sources), properties, owners and cleanups are kept in parallel arrays of that arena,
+ * so the hot paths (reading, writing and marking nodes) only do array accesses on primitive ids.
+ * Slots of removed nodes are recycled, while the slot version ([NodeId.version]) makes sure that stale ids no longer resolve.
+ */
 class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
 
-    private var owner: NodeId?
-    private var observer: NodeId? = null
+    private var owner: Int = NO_NODE
+    private var observer: Int = NO_NODE
+
+    // Node arena
+    private val nodes: ObjectArrayList<ReactivityNode<*>?> = ObjectArrayList()
+    private val versions: IntArrayList = IntArrayList()
+    private val freeSlots: IntArrayList = IntArrayList()
 
     // Graph
-    private val nodes: MutableMap<NodeId, ReactivityNode<*>> = Object2ObjectOpenHashMap()
-    private val nodeSubscribers: SetMultimap<NodeId, NodeId> = Multimaps.newSetMultimap(mutableMapOf()) { mutableSetOf() }
-    private val nodeSources: SetMultimap<NodeId, NodeId> = Multimaps.newSetMultimap(mutableMapOf()) { mutableSetOf() }
+    private val nodeSubscribers: ObjectArrayList<IntLinkedOpenHashSet?> = ObjectArrayList()
+    private val nodeSources: ObjectArrayList<IntArrayList?> = ObjectArrayList()
 
     // Owners and Properties
-    private val nodeProperties: ListMultimap<NodeId, ScopeProperty> = Multimaps.newListMultimap(mutableMapOf()) { mutableListOf() }
-    private val nodeOwners: SetMultimap<NodeId, NodeId> = Multimaps.newSetMultimap(mutableMapOf()) { mutableSetOf() }
-    private val cleanups: Multimap<NodeId, Cleanup> = Multimaps.newListMultimap(mutableMapOf()) { mutableListOf() }
+    private val nodeProperties: ObjectArrayList<MutableList<ScopeProperty>?> = ObjectArrayList()
+    private val nodeOwners: ObjectArrayList<IntArrayList?> = ObjectArrayList()
+    private val cleanups: ObjectArrayList<MutableList<Cleanup>?> = ObjectArrayList()
 
     // Effects that need to be updated
-    private val pendingEffects: MutableSet<NodeId> = mutableSetOf()
+    private val pendingEffects: IntLinkedOpenHashSet = IntLinkedOpenHashSet()
+    private var flushScheduled: Boolean = false
+    private var flushTask: Task? = null
+    private var disposed: Boolean = false
+
+    // Reused buffers of the effects (packed slot and version) and their depth, that are run in a single pass
+    private val effectBatch: LongArrayList = LongArrayList()
+    private val effectDepths: IntArrayList = IntArrayList()
+    private val nodeDepths: Int2IntOpenHashMap = Int2IntOpenHashMap().apply { defaultReturnValue(-1) }
+
+    /**
+     * If the graph is currently running the pending effects.
+     * Changes made during that time are applied when the run completes, so there is no need to schedule anything else.
+     */
+    var isRunningEffects: Boolean = false
+        private set
+
+    /**
+     * The amount of effects that were run by the last scheduled flush.
+     */
+    var effectsFlushedLastTick: Int = 0
+        private set
+
+    /**
+     * The total amount of effects that were run by this graph.
+     */
+    var totalEffectsFlushed: Long = 0
+        private set
+
+    // Reused stack of the depth-first walk in markDirty
+    private val markStack: IntArrayList = IntArrayList()
+
+    // The nodes created since recordCreatedNodes was called, or null when not recording
+    private var createdNodes: MutableList<NodeId>? = null
 
     init {
-        owner = createNode(ReactivityNode.Type.Trigger(), null)
+        owner = createNode(ReactivityNode.Type.Trigger(), null).index
     }
 
     private fun addNewScopeProperty(property: ScopeProperty) {
-        if (owner != null) {
-            nodeProperties[owner].add(property)
+        if (owner != NO_NODE) {
+            val properties = nodeProperties[owner] ?: mutableListOf<ScopeProperty>().also { nodeProperties[owner] = it }
+            properties.add(property)
 
             property.toNodeId()?.let {
-                nodeOwners[it].add(owner)
+                val index = slotOf(it)
+                if (index != NO_NODE) {
+                    val owners = nodeOwners[index] ?: IntArrayList(1).also { owners -> nodeOwners[index] = owners }
+                    if (!owners.contains(owner)) {
+                        owners.add(owner)
+                    }
+                }
             }
         }
     }
@@ -73,31 +127,196 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
         val prevOwner = this.owner
         val prevObserver = observer
 
-        this.owner = owner
-        observer = owner
-        fn.run()
-
-        this.owner = prevOwner
-        observer = prevObserver
+        this.owner = slotOf(owner)
+        observer = this.owner
+        try {
+            fn.run()
+        } finally {
+            this.owner = prevOwner
+            observer = prevObserver
+        }
     }
 
     fun runWithObserver(nodeId: NodeId, fn: Runnable) {
         val previousObserver = observer
         val previousOwner = owner
 
-        observer = nodeId
-        owner = nodeId
-        fn.run()
+        observer = slotOf(nodeId)
+        owner = observer
+        try {
+            fn.run()
+        } finally {
+            observer = previousObserver
+            owner = previousOwner
+        }
+    }
 
-        observer = previousObserver
-        owner = previousOwner
+    /**
+     * Checks if the currently running observer subscribed to any sources (e.g. signals or memos) so far.
+     * Used to detect effects, that do not depend on any reactive state and therefore never run again.
+     */
+    internal fun observerHasSources(): Boolean {
+        if (observer == NO_NODE) return false
+        val sources = nodeSources[observer] ?: return false
+        return !sources.isEmpty()
     }
 
-    fun runEffects() {
-        pendingEffects.removeAll {
-            updateIfNecessary(it)
-            true
+    /**
+     * Runs the function and collects the ids of all the nodes that were created by it.
+     * Used to check if a component built by the function depends on any reactive state, see [isStatic].
+     *
+     * @param fn The function to run.
+     * @return The ids of the created nodes.
+     */
+    internal fun recordCreatedNodes(fn: Runnable): List<NodeId> {
+        val previous = createdNodes
+        val recorded = ArrayList<NodeId>()
+        createdNodes = recorded
+        try {
+            fn.run()
+        } finally {
+            createdNodes = previous
+            previous?.addAll(recorded)
         }
+        return recorded
+    }
+
+    /**
+     * Checks if the node never changes, which is an effect that already ran without subscribing to any sources.
+     *
+     * @param id The id of the node.
+     * @return true if the node is static; false if it may change; or null if the effect did not run yet, or the node no longer exists.
+     */
+    internal fun isStatic(id: NodeId): Boolean? {
+        val index = slotOf(id)
+        if (index == NO_NODE) return null
+        val node = nodes[index]!!
+        if (node.type !is ReactivityNode.Type.Effect) return false
+        if (pendingEffects.contains(index) || node.state() != ReactivityNode.State.CLEAN) return null
+        return nodeSources[index]?.isEmpty() ?: true
+    }
+
+    /**
+     * Runs all pending effects in topological order, so an effect runs after the effects and memos it depends on.
+     * The effects are ordered by their depth in the graph (the longest path from a source without any sources),
+     * while effects of the same depth keep the order they were queued in.
+     * Effects that are marked while running the pending effects are picked up in the same call, in a following pass.
+     * When an effect fails, the effects that did not run yet are run by the next flush, and the exception is rethrown.
+     *
+     * @return the amount of effects that were run
+     */
+    fun runEffects(): Int {
+        if (isRunningEffects) return 0 // The running call picks up the new effects
+        isRunningEffects = true
+        var count = 0
+        var position = 0
+        try {
+            while (!pendingEffects.isEmpty()) {
+                collectPendingEffects()
+                position = 0
+                while (position < effectBatch.size) {
+                    val packed = effectBatch.getLong(position++)
+                    val index = (packed ushr 32).toInt()
+                    // An effect that ran before may have removed this effect
+                    if (nodes[index] == null || versions.getInt(index) != packed.toInt()) continue
+                    updateIfNecessary(index)
+                    count++
+                }
+            }
+        } catch (e: Throwable) {
+            // The failed effect is dropped, while the effects of the batch that did not run yet are queued again
+            for (i in position until effectBatch.size) {
+                val packed = effectBatch.getLong(i)
+                val index = (packed ushr 32).toInt()
+                if (nodes[index] != null && versions.getInt(index) == packed.toInt()) {
+                    pendingEffects.add(index)
+                }
+            }
+            throw e
+        } finally {
+            isRunningEffects = false
+            effectBatch.clear()
+            if (!pendingEffects.isEmpty()) {
+                // An effect failed, so run the remaining effects in the next flush
+                scheduleFlush()
+            }
+        }
+        if (count > 0) {
+            totalEffectsFlushed += count
+            // Apply all changes of this flush in one go
+            viewRuntime.renderer.flush()
+        }
+        return count
+    }
+
+    /**
+     * Moves the pending effects into the [effectBatch], sorted by their depth.
+     */
+    private fun collectPendingEffects() {
+        effectBatch.clear()
+        effectDepths.clear()
+        val iterator = pendingEffects.iterator()
+        while (iterator.hasNext()) {
+            val index = iterator.nextInt()
+            effectBatch.add((index.toLong() shl 32) or (versions.getInt(index).toLong() and 0xFFFFFFFFL))
+            effectDepths.add(depthOf(index))
+        }
+        pendingEffects.clear()
+        nodeDepths.clear()
+        if (effectBatch.size > 1) {
+            val batch = effectBatch.elements()
+            val depths = effectDepths.elements()
+            // Merge sort is stable, so effects of the same depth keep their queue order
+            FastArrays.mergeSort(0, effectBatch.size, { a, b -> depths[a].compareTo(depths[b]) }) { a, b ->
+                val batchTmp = batch[a]
+                batch[a] = batch[b]
+                batch[b] = batchTmp
+                val depthTmp = depths[a]
+                depths[a] = depths[b]
+                depths[b] = depthTmp
+            }
+        }
+    }
+
+    private fun depthOf(index: Int): Int {
+        val cached = nodeDepths.get(index)
+        if (cached >= 0) return cached
+        nodeDepths.put(index, 0) // Guards against cycles
+        var depth = 0
+        val sources = nodeSources[index]
+        if (sources != null) {
+            for (i in 0 until sources.size) {
+                depth = maxOf(depth, depthOf(sources.getInt(i)) + 1)
+            }
+        }
+        nodeDepths.put(index, depth)
+        return depth
+    }
+
+    /**
+     * Schedules a single task that runs all effects that are pending by the next tick.
+     * Does nothing when such a task is already scheduled, or the effects are currently running.
+     */
+    private fun scheduleFlush() {
+        if (flushScheduled || isRunningEffects || disposed) return
+        flushScheduled = true
+        flushTask = viewRuntime.wolfyUtils.core.platform.scheduler.syncTask(viewRuntime.wolfyUtils) {
+            flushScheduled = false
+            flushTask = null
+            effectsFlushedLastTick = runEffects()
+        }
+    }
+
+    /**
+     * Cancels the scheduled flush and drops all pending effects.
+     * Called once the runtime is released, after which the graph must no longer be used.
+     */
+    fun dispose() {
+        disposed = true
+        flushTask?.cancel()
+        flushTask = null
+        flushScheduled = false
+        pendingEffects.clear()
     }
 
     fun renderState() {
@@ -106,23 +325,24 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
 
         logger.info("-------- [Reactive Graph] --------")
         logger.info("Pending: $pendingEffects")
-        logger.info("Nodes (${nodes.size}): ")
-        for (node in nodes) {
-            logger.info("  ${node.key}: ${node.value.type.javaClass.name} = ${node.value.value}")
-            val subs = nodeSubscribers[node.key]
-            if (subs.isNotEmpty()) {
+        logger.info("Nodes (${nodes.size - freeSlots.size}): ")
+        for (index in 0 until nodes.size) {
+            val node = nodes[index] ?: continue
+            logger.info("  ${node.id}: ${node.type.javaClass.name} = ${node.value}")
+            val subs = nodeSubscribers[index]
+            if (subs != null && subs.isNotEmpty()) {
                 logger.info("    Subscribers: $subs")
             }
-            val sources = nodeSources[node.key]
-            if (sources.isNotEmpty()) {
+            val sources = nodeSources[index]
+            if (sources != null && sources.isNotEmpty()) {
                 logger.info("    Sources: $sources")
             }
-            val owners = nodeOwners[node.key]
-            if (owners.isNotEmpty()) {
+            val owners = nodeOwners[index]
+            if (owners != null && owners.isNotEmpty()) {
                 logger.info("    Owners: $owners")
             }
-            val properties = nodeProperties[node.key]
-            if (properties.isNotEmpty()) {
+            val properties = nodeProperties[index]
+            if (!properties.isNullOrEmpty()) {
                 logger.info("    Properties: ${properties.map { it.toNodeId() }}")
             }
         }
@@ -130,7 +350,7 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
     }
 
     internal fun owner(): Trigger? {
-        if (owner != null) {
+        if (owner != NO_NODE) {
             nodes[owner]?.let {
                 if (it.type is ReactivityNode.Type.Trigger) {
                     return TriggerImpl(it.id)
@@ -140,8 +360,8 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
         return null
     }
 
-    private fun markClean(nodeId: NodeId) {
-        val node = nodes[nodeId] ?: return
+    private fun markClean(index: Int) {
+        val node = nodes[index] ?: return
         node.mark(ReactivityNode.State.CLEAN)
     }
 
@@ -152,68 +372,74 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
      * If a node is already [ReactivityNode.State.DIRTY] then we mark it as visited ([ReactivityNode.State.DIRTY_MARKED]).
      *
      * This is very similar to the way the framework Leptos does it.
-     * Instead of pushing each and every node onto the stack, we push the iterators of child nodes.
+     * Instead of pushing iterators onto the stack, the child ids are pushed in reverse order onto a reused primitive stack,
+     * which visits the nodes in the same order without allocating anything per visited node.
      */
     fun markDirty(node: NodeId) {
-        val currentNode = nodes[node] ?: return
-        mark(currentNode, ReactivityNode.State.DIRTY)
-
-        val children = nodeSubscribers[node]
-        val stack: ArrayDeque<Iterator<NodeId>> = ArrayDeque(children.size)
-        stack.push(children.iterator())
-
-        while (stack.isNotEmpty()) {
-            val (iterResult, iter) = iterateChildren(stack.first())
-            when (iterResult) {
-                IterResult.CONTINUE -> continue
-                IterResult.NEW -> iter?.let { stack.push(it) }
-                IterResult.EMPTY -> stack.pop()
-            }
-        }
-    }
+        val index = slotOf(node)
+        if (index == NO_NODE) return
+        mark(index, nodes[index]!!, ReactivityNode.State.DIRTY)
 
-    private fun iterateChildren(childIterator: Iterator<NodeId>): Pair<IterResult, Iterator<NodeId>?> {
-        if (!childIterator.hasNext()) {
-            return Pair(IterResult.EMPTY, null) // When the iterator is done we remove from the stack
-        }
-        var child = childIterator.next()
+        val children = nodeSubscribers[index] ?: return
+        val stack = markStack
+        val stackBottom = stack.size
+        pushChildren(stack, children)
 
-        while (nodes[child] != null) {
-            val childNode = nodes[child]!!
+        while (stack.size > stackBottom) {
+            var child = stack.popInt()
 
-            if (childNode.state() == ReactivityNode.State.CHECK || childNode.state() == ReactivityNode.State.DIRTY_MARKED) {
-                return Pair(IterResult.CONTINUE, null)
-            }
+            while (true) {
+                val childNode = nodes[child] ?: break
 
-            mark(childNode, ReactivityNode.State.CHECK)
+                if (childNode.state() == ReactivityNode.State.CHECK || childNode.state() == ReactivityNode.State.DIRTY_MARKED) {
+                    break
+                }
+
+                mark(child, childNode, ReactivityNode.State.CHECK)
 
-            val childsChildren = nodeSubscribers[child]
-            if (childsChildren.isNotEmpty()) {
+                val childsChildren = nodeSubscribers[child]
+                if (childsChildren == null || childsChildren.isEmpty()) {
+                    break
+                }
                 if (childsChildren.size == 1) {
-                    // No need to iterate over a single element
-                    child = childsChildren.elementAt(0)
+                    // No need to push a single element
+                    child = childsChildren.firstInt()
                     continue
                 }
-                return Pair(IterResult.NEW, childsChildren.iterator())
+                pushChildren(stack, childsChildren)
+                break
             }
-            break
         }
-        return Pair(IterResult.CONTINUE, null)
     }
 
-    enum class IterResult {
-        CONTINUE,
-        NEW,
-        EMPTY
+    /**
+     * Pushes the children onto the stack, so that they are popped in their insertion order.
+     */
+    private fun pushChildren(stack: IntArrayList, children: IntLinkedOpenHashSet) {
+        val start = stack.size
+        val iterator = children.iterator()
+        while (iterator.hasNext()) {
+            stack.add(iterator.nextInt())
+        }
+        val elements = stack.elements()
+        var low = start
+        var high = stack.size - 1
+        while (low < high) {
+            val tmp = elements[low]
+            elements[low++] = elements[high]
+            elements[high--] = tmp
+        }
     }
 
-    private fun mark(node: ReactivityNode<*>, state: ReactivityNode.State) {
+    private fun mark(index: Int, node: ReactivityNode<*>, state: ReactivityNode.State) {
         if (state > node.state()) {
             node.mark(state)
         }
 
-        if (node.type is ReactivityNode.Type.Effect && node.id != observer) {
-            pendingEffects.add(node.id)
+        if (node.type is ReactivityNode.Type.Effect && index != observer) {
+            if (pendingEffects.add(index)) {
+                scheduleFlush()
+            }
         }
 
         if (node.state() == ReactivityNode.State.DIRTY) {
@@ -232,88 +458,141 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
      * Note that a [ReactivityNode.State.DIRTY] state can stop propagating down. For Example when a Memo doesn't change its value.
      */
     fun updateIfNecessary(nodeId: NodeId) {
-        if (currentNodeState(nodeId) == ReactivityNode.State.CHECK) {
+        val index = slotOf(nodeId)
+        if (index == NO_NODE) return
+        updateIfNecessary(index)
+    }
+
+    private fun updateIfNecessary(index: Int) {
+        val version = versions.getInt(index)
+        if (currentNodeState(index) == ReactivityNode.State.CHECK) {
             // When a node is marked CHECK then check its sources for changes
-            for (source in nodeSources[nodeId]) {
-                updateIfNecessary(source)
-                if (currentNodeState(nodeId) >= ReactivityNode.State.DIRTY) {
+            val sources = nodeSources[index]
+            var i = 0
+            while (sources != null && i < sources.size) {
+                updateIfNecessary(sources.getInt(i++))
+                if (currentNodeState(index) >= ReactivityNode.State.DIRTY) {
                     // Once one of the sources marks this node dirty it is not necessary to check the other sources
                     break
                 }
             }
+            // Updating a source may have removed this node
+            if (versions.getInt(index) != version) return
         }
 
-        if (currentNodeState(nodeId) >= ReactivityNode.State.DIRTY) {
-            cleanupNode(nodeId) // When dirty clean all properties and values
-            update(nodeId) // Then update the node
+        if (currentNodeState(index) >= ReactivityNode.State.DIRTY) {
+            cleanupNode(index) // When dirty clean all properties and values
+            update(index) // Then update the node
         }
-        markClean(nodeId)
+        markClean(index)
     }
 
     /**
      * Updates the specified node and marks its subscribers [ReactivityNode.State.DIRTY] when the nodes value changed.
      */
-    private fun update(nodeId: NodeId) {
-        val node = nodes[nodeId] ?: return
+    private fun update(index: Int) {
+        val node = nodes[index] ?: return
         val changed = node.update(viewRuntime)
         if (changed) { // (signals always true, memos only when their value changed)
             // Mark the subscribers (children) dirty
-            for (subscriber in nodeSubscribers[nodeId]) {
-                nodes[subscriber]?.mark(ReactivityNode.State.DIRTY)
+            nodeSubscribers[index]?.let { subscribers ->
+                val iterator = subscribers.iterator()
+                while (iterator.hasNext()) {
+                    nodes[iterator.nextInt()]?.mark(ReactivityNode.State.DIRTY)
+                }
             }
         }
-        markClean(nodeId)
+        markClean(index)
     }
 
     /**
      * Cleans all properties and runs all cleanups of the specified Node.
      */
-    private fun cleanupNode(id: NodeId) {
+    private fun cleanupNode(index: Int) {
         val prevObserver = observer
-        for (cleanup in cleanups.removeAll(id)) {
-            cleanup.run()
-        }
+        runCleanups(index)
         observer = prevObserver
 
-        for (property in nodeProperties.removeAll(id)) {
+        val properties = nodeProperties[index] ?: return
+        nodeProperties[index] = null
+        for (property in properties) {
             cleanupProperty(property)
         }
     }
 
+    private fun runCleanups(index: Int) {
+        val nodeCleanups = cleanups[index] ?: return
+        cleanups[index] = null
+        for (cleanup in nodeCleanups) {
+            cleanup.run()
+        }
+    }
+
     /**
      * Cleans the specified property and child properties recursively.
      */
     private fun cleanupProperty(property: ScopeProperty) {
         property.toNodeId()?.let { nodeId ->
-            for (cleanup in cleanups.removeAll(nodeId)) {
-                cleanup.run()
-            }
+            val index = slotOf(nodeId)
+            if (index == NO_NODE) return
+            runCleanups(index)
             // Clean child properties
-            nodeProperties.removeAll(nodeId).forEach { cleanupProperty(it) }
+            nodeProperties[index]?.let { properties ->
+                nodeProperties[index] = null
+                properties.forEach { cleanupProperty(it) }
+            }
             // Subscribers should no longer listen to this now removed node
-            nodeSubscribers.removeAll(nodeId).forEach { subscriber ->
-                nodeSources[subscriber].remove(nodeId)
+            nodeSubscribers[index]?.let { subscribers ->
+                val iterator = subscribers.iterator()
+                while (iterator.hasNext()) {
+                    nodeSources[iterator.nextInt()]?.rem(index)
+                }
+                subscribers.clear()
             }
             // Remove all tracked sources
-            nodeSources.removeAll(nodeId)
+            unlinkSources(index)
             // Remove the node
-            nodes.remove(nodeId)
+            releaseSlot(index)
         }
     }
 
     fun cleanupSourcesFor(id: NodeId) {
-        for (sourceNode in nodeSources[id]) {
-            nodeSubscribers[sourceNode].remove(id)
+        val index = slotOf(id)
+        if (index == NO_NODE) return
+        unlinkSources(index)
+    }
+
+    /**
+     * Removes the node from the subscribers of all its sources and clears the sources of the node.
+     */
+    private fun unlinkSources(index: Int) {
+        val sources = nodeSources[index] ?: return
+        for (i in 0 until sources.size) {
+            nodeSubscribers[sources.getInt(i)]?.remove(index)
         }
+        sources.clear()
     }
 
-    private fun currentNodeState(nodeId: NodeId): ReactivityNode.State {
-        val reactivityNode = nodes[nodeId] ?: return ReactivityNode.State.CLEAN
+    private fun currentNodeState(index: Int): ReactivityNode.State {
+        val reactivityNode = nodes[index] ?: return ReactivityNode.State.CLEAN
         return reactivityNode.state()
     }
 
+    /**
+     * Resolves the arena slot of the specified id, or [NO_NODE] if the node no longer exists.
+     */
+    private fun slotOf(id: NodeId): Int {
+        val index = id.index
+        if (index < 0 || index >= nodes.size || versions.getInt(index) != id.version || nodes[index] == null) {
+            return NO_NODE
+        }
+        return index
+    }
+
     fun untypedNode(id: NodeId): ReactivityNode<*>? {
-        return nodes[id]
+        val index = slotOf(id)
+        if (index == NO_NODE) return null
+        return nodes[index]
     }
 
     inline fun <reified V : ReactivityNode<*>> node(id: NodeId): V? {
@@ -344,11 +623,41 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
         initialValue: V?,
         state: ReactivityNode.State = ReactivityNode.State.CLEAN
     ): NodeId {
-        val id = NodeId((nodes.size + 1).toLong(), viewRuntime)
-        nodes[id] = ReactivityNode(id, initialValue, type, state)
+        val index: Int
+        if (freeSlots.isEmpty()) {
+            index = nodes.size
+            nodes.add(null)
+            versions.add(0)
+            nodeSubscribers.add(null)
+            nodeSources.add(null)
+            nodeProperties.add(null)
+            nodeOwners.add(null)
+            cleanups.add(null)
+        } else {
+            index = freeSlots.popInt()
+        }
+        val id = NodeId(NodeId.pack(index, versions.getInt(index)), viewRuntime)
+        nodes[index] = ReactivityNode(id, initialValue, type, state)
+        createdNodes?.add(id)
         return id
     }
 
+    /**
+     * Frees the slot of a removed node, so it can be reused by the next created node.
+     * The adjacency lists of the slot are kept (cleared) to avoid allocating them again.
+     */
+    private fun releaseSlot(index: Int) {
+        nodes[index] = null
+        versions.elements()[index]++
+        nodeSubscribers[index]?.clear()
+        nodeSources[index]?.clear()
+        nodeOwners[index]?.clear()
+        nodeProperties[index] = null
+        cleanups[index] = null
+        pendingEffects.remove(index)
+        freeSlots.add(index)
+    }
+
     override fun createTrigger(): Trigger {
         val id = createNode(ReactivityNode.Type.Trigger(), null)
         addNewScopeProperty(TriggerProperty(id))
@@ -376,9 +685,9 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
         )
         addNewScopeProperty(EffectProperty(id))
 
-        viewRuntime.wolfyUtils.core.platform.scheduler.syncTask(viewRuntime.wolfyUtils) { // TODO: Is there a better way to schedule them?
-            updateIfNecessary(id)
-        }
+        // New effects are run together with all other pending effects in the next flush
+        pendingEffects.add(id.index)
+        scheduleFlush()
 
         return EffectImpl(id)
     }
@@ -393,8 +702,9 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
     }
 
     override fun createCleanup(cleanup: Cleanup) {
-        if (owner != null) {
-            cleanups.put(owner, cleanup)
+        if (owner != NO_NODE) {
+            val ownerCleanups = cleanups[owner] ?: mutableListOf<Cleanup>().also { cleanups[owner] = it }
+            ownerCleanups.add(cleanup)
         }
     }
 
@@ -414,12 +724,23 @@ class ReactiveGraph(private val viewRuntime: ViewRuntimeImpl) : ReactiveSource {
     }
 
     fun subscribe(node: NodeId) {
-        if (observer != null) {
-            nodeSubscribers[node].add(observer)
-            nodeSources[observer].add(node)
+        if (observer != NO_NODE) {
+            val index = slotOf(node)
+            if (index == NO_NODE) return
+            // The sources of a node are usually only a few, so they are used to check for existing edges
+            val sources = nodeSources[observer] ?: IntArrayList(2).also { nodeSources[observer] = it }
+            if (!sources.contains(index)) {
+                sources.add(index)
+                val subscribers = nodeSubscribers[index] ?: IntLinkedOpenHashSet().also { nodeSubscribers[index] = it }
+                subscribers.add(observer)
+            }
         } else {
-            throw IllegalStateException("")
+            throw IllegalStateException("Cannot subscribe to node $node outside of an observer!")
         }
     }
 
+    companion object {
+        private const val NO_NODE = -1
+    }
+
 }
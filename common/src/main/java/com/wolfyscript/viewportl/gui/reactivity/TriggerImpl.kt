@@ -25,7 +25,7 @@ class TriggerImpl(val id: NodeId) : Trigger {
     }
 
     override fun update() {
+        // The affected effects run in the next flush of the graph
         id.runtime.reactiveSource.markDirty(id)
-        id.runtime.reactiveSource.runEffects()
     }
 }
\ No newline at end of file
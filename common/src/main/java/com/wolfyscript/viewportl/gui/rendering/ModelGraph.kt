@@ -25,6 +25,7 @@ import com.wolfyscript.viewportl.gui.ViewRuntimeImpl
 import com.wolfyscript.viewportl.gui.components.AbstractComponentImpl
 import com.wolfyscript.viewportl.gui.model.UpdateInformation
 import java.util.Collections
+import java.util.IdentityHashMap
 
 class ModelGraph(private val runtime: ViewRuntimeImpl) {
 
@@ -32,16 +33,30 @@ class ModelGraph(private val runtime: ViewRuntimeImpl) {
     private val nodes: MutableMap<Long, Node> = mutableMapOf()
     private val children: SetMultimap<Long, Long> = Multimaps.newSetMultimap(mutableMapOf()) { mutableSetOf() }
     private val parents: MutableMap<Long, Long> = mutableMapOf()
+    // Shared components are inserted into the graphs of multiple runtimes, so their node is only known by each graph
+    private val componentNodes: MutableMap<Component, Long> = IdentityHashMap()
 
     fun addNode(component: Component) : Long {
         val id = ++nodeCount
         nodes[id] = Node(id, component)
-        if (component is AbstractComponentImpl<*>) {
+        componentNodes[component] = id
+        if (component is AbstractComponentImpl<*> && !component.isShared) {
             component.nodeId = id
         }
         return id
     }
 
+    /**
+     * Gets the id of the node of the component in this graph.
+     * Unlike [Component.nodeId], this also works for components that are shared with the runtimes of a [com.wolfyscript.viewportl.gui.WindowTemplate].
+     *
+     * @param component The component to get the node of.
+     * @return The id of the node; or null if the component is not in this graph.
+     */
+    fun nodeIdOf(component: Component) : Long? {
+        return componentNodes[component]
+    }
+
     fun insertComponentAt(component: Component, insertAt: Long) {
         if (insertAt != 0L && !nodes.containsKey(insertAt)) return
         val id = addNode(component)
@@ -67,6 +82,13 @@ class ModelGraph(private val runtime: ViewRuntimeImpl) {
         return nodes[id]
     }
 
+    /**
+     * Gets all the nodes, that are currently in the graph.
+     */
+    fun nodes() : Collection<Node> {
+        return Collections.unmodifiableCollection(nodes.values)
+    }
+
     fun children(id: Long) : Set<Long> {
         return Collections.unmodifiableSet(children[id])
     }
@@ -84,7 +106,7 @@ class ModelGraph(private val runtime: ViewRuntimeImpl) {
 
         })
 
-        nodes.remove(nodeId)
+        nodes.remove(nodeId)?.let { componentNodes.remove(it.component, nodeId) }
         val parent = parents.remove(nodeId)
         if (parent != null) {
             children[parent].remove(nodeId)
@@ -96,7 +96,8 @@ class RouterImpl internal constructor(
             }
 
             context.reactiveSource.createCleanup {
-                component?.remove(context.runtime as ViewRuntimeImpl, component.nodeId(), 0)
+                val runtime = context.runtime as ViewRuntimeImpl
+                component?.remove(runtime, runtime.modelGraph.nodeIdOf(component) ?: -1, 0)
                 currentRootComponent = null
             }
         }
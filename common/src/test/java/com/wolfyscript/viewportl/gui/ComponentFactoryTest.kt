@@ -0,0 +1,95 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui
+
+import com.fasterxml.jackson.annotation.JsonProperty
+import com.google.inject.ConfigurationException
+import com.google.inject.Inject
+import com.google.inject.name.Named
+import com.wolfyscript.utilities.WolfyUtils
+import com.wolfyscript.viewportl.gui.components.Component
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.`when`
+
+class ComponentFactoryTest {
+
+    private lateinit var wolfyUtils: WolfyUtils
+    private lateinit var context: BuildContext
+
+    @BeforeEach
+    fun setUp() {
+        wolfyUtils = mock(WolfyUtils::class.java)
+        context = mock(BuildContext::class.java)
+        `when`(context.wolfyUtils).thenReturn(wolfyUtils)
+    }
+
+    @Test
+    fun knownParametersUseTheConstructorHandle() {
+        val factory = ComponentFactory.of(KnownParameters::class.java)
+        assertEquals("ConstructorFactory", factory.javaClass.simpleName)
+        assertSame(factory, ComponentFactory.of(KnownParameters::class.java))
+
+        val parent = mock(Component::class.java)
+        val component = factory.create(context, 42, parent) as KnownParameters
+        assertEquals("", component.id)
+        assertSame(wolfyUtils, component.wolfyUtils)
+        assertEquals(42, component.numericId)
+        assertSame(context, component.context)
+        assertSame(parent, component.parent)
+
+        assertNull((factory.create(context, 43, null) as KnownParameters).parent)
+    }
+
+    @Test
+    fun bindingAnnotationsFallBackToGuice() {
+        val factory = ComponentFactory.of(NamedParameter::class.java)
+        assertEquals("GuiceFactory", factory.javaClass.simpleName)
+        // The named value is not bound, instead of silently injecting an empty string
+        assertThrows(ConfigurationException::class.java) { factory.create(context, 1, null) }
+    }
+
+    @Test
+    fun otherStringsFallBackToGuice() {
+        val factory = ComponentFactory.of(OtherString::class.java)
+        assertEquals("GuiceFactory", factory.javaClass.simpleName)
+        assertEquals("", (factory.create(context, 1, null) as OtherString).title)
+    }
+
+    class KnownParameters @Inject constructor(
+        @JsonProperty("id") val id: String,
+        val wolfyUtils: WolfyUtils,
+        val numericId: Long,
+        val context: BuildContext,
+        val parent: Component?
+    )
+
+    class NamedParameter @Inject constructor(
+        @JsonProperty("id") val id: String,
+        @Named("title") val title: String
+    )
+
+    class OtherString @Inject constructor(val title: String)
+
+}
@@ -0,0 +1,93 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui.reactivity
+
+import com.wolfyscript.utilities.WolfyUtils
+import com.wolfyscript.utilities.platform.scheduler.Scheduler
+import com.wolfyscript.utilities.platform.scheduler.Task
+import com.wolfyscript.viewportl.gui.ViewRuntimeImpl
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito.RETURNS_DEEP_STUBS
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.`when`
+
+class ReactiveGraphTest {
+
+    private lateinit var graph: ReactiveGraph
+    // The flushes that were scheduled, in the order they were scheduled
+    private val flushes: MutableList<Runnable> = mutableListOf()
+
+    @BeforeEach
+    fun setUp() {
+        val scheduler = mock(Scheduler::class.java)
+        `when`(scheduler.syncTask(any<WolfyUtils>(), any<Runnable>())).thenAnswer { invocation ->
+            flushes.add(invocation.getArgument(1))
+            mock(Task::class.java)
+        }
+        val viewRuntime = mock(ViewRuntimeImpl::class.java, RETURNS_DEEP_STUBS)
+        `when`(viewRuntime.wolfyUtils.core.platform.scheduler).thenReturn(scheduler)
+        graph = ReactiveGraph(viewRuntime)
+        `when`(viewRuntime.reactiveSource).thenReturn(graph)
+    }
+
+    @Test
+    fun failingEffectDoesNotDropTheOtherEffects() {
+        var runs = 0
+        graph.createEffect { throw IllegalStateException("Effect failed") }
+        graph.createEffect { runs++ }
+        assertEquals(1, flushes.size)
+
+        assertThrows(IllegalStateException::class.java) { flushes[0].run() }
+        assertEquals(0, runs)
+
+        // The other effect is still pending, so it is run by the next flush
+        assertEquals(2, flushes.size)
+        flushes[1].run()
+        assertEquals(1, runs)
+        assertEquals(1, graph.effectsFlushedLastTick)
+        assertEquals(0, graph.runEffects())
+    }
+
+    @Test
+    fun effectsRunAgainAfterAFailedFlush() {
+        val signal = graph.createSignal(Int::class.javaObjectType) { 0 }
+        var failing = true
+        var observed = -1
+        graph.createEffect {
+            val value = signal.get()!!
+            if (failing) throw IllegalStateException("Effect failed")
+            observed = value
+        }
+        graph.createEffect { observed = signal.get()!! }
+
+        assertThrows(IllegalStateException::class.java) { graph.runEffects() }
+        assertEquals(1, graph.runEffects())
+        assertEquals(0, observed)
+
+        failing = false
+        signal.set(5)
+        assertEquals(2, graph.runEffects())
+        assertEquals(5, observed)
+    }
+
+}
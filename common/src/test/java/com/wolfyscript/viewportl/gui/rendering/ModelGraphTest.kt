@@ -0,0 +1,54 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.viewportl.gui.rendering
+
+import com.wolfyscript.viewportl.gui.ViewRuntimeImpl
+import com.wolfyscript.viewportl.gui.components.Component
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import org.mockito.Mockito.RETURNS_DEEP_STUBS
+import org.mockito.Mockito.mock
+
+class ModelGraphTest {
+
+    @Test
+    fun sharedComponentHasANodePerGraph() {
+        val first = ModelGraph(mock(ViewRuntimeImpl::class.java, RETURNS_DEEP_STUBS))
+        val second = ModelGraph(mock(ViewRuntimeImpl::class.java, RETURNS_DEEP_STUBS))
+        val shared = mock(Component::class.java)
+
+        first.insertComponentAt(shared, 0)
+        second.insertComponentAt(mock(Component::class.java), 0)
+        second.insertComponentAt(shared, 0)
+
+        val firstId = first.nodeIdOf(shared)!!
+        val secondId = second.nodeIdOf(shared)!!
+        assertNotEquals(firstId, secondId)
+        assertEquals(shared, first.getNode(firstId)?.component)
+        assertEquals(shared, second.getNode(secondId)?.component)
+
+        // Removing the node of one runtime keeps the node of the other
+        second.removeNode(secondId)
+        assertNull(second.nodeIdOf(shared))
+        assertEquals(firstId, first.nodeIdOf(shared))
+    }
+
+}
@@ -99,6 +99,9 @@ tasks.named<ShadowJar>("shadowJar") {
         include(project(":spigot:plugin-compatibility"))
     }
 
+    // Each module contains its own classpath index, so they need to be merged when shaded together
+    append("META-INF/wolfyutils/classpath.index")
+
     // Always required to be shaded and relocated!
     relocate("org.bstats", "com.wolfyscript.utilities.bukkit.metrics")
     relocate("de.tr7zw.changeme.nbtapi", "com.wolfyscript.lib.de.tr7zw.nbtapi")
@@ -1,6 +1,7 @@
 plugins {
     id("wolfyutils.spigot.conventions")
     id("wolfyutils.kotlinmodule")
+    id("wolfyutils.jmh.conventions")
     id("com.github.johnrengelman.shadow") version("8.1.1")
 }
 
@@ -18,6 +19,9 @@ dependencies {
     compileOnly(libs.net.kyori.adventure.platform.bukkit)
 //    compileOnly(libs.adventure.minimessage)
     implementation(kotlin("stdlib-jdk8"))
+
+    testImplementation(libs.com.h2database.h2)
+    "jmhImplementation"(libs.org.mockito.mockito.core)
 }
 
 
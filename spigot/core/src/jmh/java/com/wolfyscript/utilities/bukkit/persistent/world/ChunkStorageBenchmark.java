@@ -0,0 +1,123 @@
+package com.wolfyscript.utilities.bukkit.persistent.world;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
+import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
+import com.wolfyscript.utilities.bukkit.WolfyUtilsBukkit;
+import com.wolfyscript.utilities.config.jackson.MapperUtil;
+import com.wolfyscript.utilities.math.Vec2i;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how long it takes to load and save all the blocks of a chunk in the {@link PackedBlocksFormat}.<br>
+ * The server is mocked, and the payloads are not registered as {@link CustomBlockData}, so they are kept unresolved.
+ * That way only the format and the bookkeeping of the {@link ChunkStorage} is measured, and not the (de)serialization by Jackson.<br>
+ * As each save writes the whole chunk, {@link #saveChunk()} is also the cost of every {@link ChunkStorage#updateBlock(Vector)} when the write-behind mode is disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkStorageBenchmark {
+
+    private static final Vec2i COORDS = new Vec2i(3, -7);
+
+    @Param({"16", "256", "4096"})
+    public int blockCount;
+
+    private WorldStorage worldStorage;
+    private PersistentDataContainer chunkContainer;
+    private ChunkStorage savedChunk;
+    private byte[] packedBlocks;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        WolfyCoreCommon core = mock(WolfyCoreCommon.class);
+        WolfyUtilsBukkit wolfyUtils = mock(WolfyUtilsBukkit.class);
+        MapperUtil mapperUtil = mock(MapperUtil.class);
+        ObjectMapper mapper = mock(ObjectMapper.class);
+        ObjectReader reader = mock(ObjectReader.class);
+        when(core.getWolfyUtils()).thenReturn(wolfyUtils);
+        when(wolfyUtils.getJacksonMapperUtil()).thenReturn(mapperUtil);
+        when(mapperUtil.getGlobalMapper()).thenReturn(mapper);
+        when(mapper.readerFor(CustomBlockData.class)).thenReturn(reader);
+        when(reader.with(any(InjectableValues.class))).thenReturn(reader);
+
+        PersistentDataAdapterContext adapterContext = mock(PersistentDataAdapterContext.class);
+        when(adapterContext.newPersistentDataContainer()).thenAnswer(invocation -> mock(PersistentDataContainer.class));
+        chunkContainer = mock(PersistentDataContainer.class);
+        when(chunkContainer.getAdapterContext()).thenReturn(adapterContext);
+        Chunk chunk = mock(Chunk.class);
+        when(chunk.getPersistentDataContainer()).thenReturn(chunkContainer);
+        World world = mock(World.class);
+        when(world.getChunkAt(COORDS.getX(), COORDS.getY())).thenReturn(chunk);
+
+        worldStorage = mock(WorldStorage.class);
+        when(worldStorage.getCore()).thenReturn(core);
+        when(worldStorage.getWorld()).thenReturn(Optional.of(world));
+
+        savedChunk = ChunkStorage.create(worldStorage, COORDS);
+        var dataReader = new BlockDataReader(savedChunk);
+        var key = BukkitNamespacedKey.of("wolfyutils:custom_item_block_data");
+        List<BlockStorage> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            var pos = PackedBlocksFormat.unpackPos(COORDS, i);
+            var blockStorage = new BlockStorage(savedChunk, pos, adapterContext.newPersistentDataContainer());
+            byte[] payload = ("{\"id\":\"wolfyutils:custom_item_block_data\",\"item\":\"wolfyutils:item_" + i + "\"}").getBytes(StandardCharsets.UTF_8);
+            blockStorage.readPayload(dataReader, key, payload);
+            blocks.add(blockStorage);
+        }
+        packedBlocks = PackedBlocksFormat.write(blocks);
+        when(chunkContainer.get(ChunkStorage.PACKED_BLOCKS_KEY, PersistentDataType.BYTE_ARRAY)).thenReturn(packedBlocks);
+        savedChunk.loadBlocksIntoCache();
+    }
+
+    @Benchmark
+    public ChunkStorage loadChunk() {
+        var chunkStorage = ChunkStorage.create(worldStorage, COORDS);
+        chunkStorage.loadBlocksIntoCache();
+        return chunkStorage;
+    }
+
+    @Benchmark
+    public void saveChunk() {
+        savedChunk.saveBlocks();
+    }
+
+    @Benchmark
+    public byte[] writeFormat() throws IOException {
+        return PackedBlocksFormat.write(savedChunk.getStoredBlocks().values());
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.registry;
+
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.wolfyscript.utilities.NamespacedKey;
+import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
+import com.wolfyscript.utilities.bukkit.WolfyUtilsBukkit;
+import com.wolfyscript.utilities.bukkit.world.items.CustomItem;
+import java.util.concurrent.TimeUnit;
+import org.bukkit.plugin.Plugin;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the lookup of a custom item by the value of its tag with the previous implementation, that parsed the value on every call.<br>
+ * Only the key parsing and the registry lookup are measured, which is the part of {@link RegistryCustomItem#getByItemStack(org.bukkit.inventory.ItemStack)}
+ * that runs without a server. Reading the tag from the NBT of the stack, instead of from a copy of its ItemMeta,
+ * requires the stacks of a running server, and is not covered by this benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryCustomItemBenchmark {
+
+    private static final int ITEM_COUNT = 512;
+
+    /**
+     * The tag value that is looked up: the key of a registered item, or of an item that is not registered (e.g. from an uninstalled pack).
+     */
+    @Param({"registered", "unknown"})
+    public String tag;
+
+    private RegistryCustomItem registry;
+    private String value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        // The constructor of the core registers the instance, that is used to create the key of the custom item tag
+        WolfyCore core = mock(WolfyCore.class, withSettings().useConstructor().defaultAnswer(RETURNS_DEEP_STUBS));
+        WolfyUtilsBukkit wolfyUtils = mock(WolfyUtilsBukkit.class, RETURNS_DEEP_STUBS);
+        Plugin plugin = mock(Plugin.class);
+        when(plugin.getName()).thenReturn("WolfyUtilities");
+        when(wolfyUtils.getPlugin()).thenReturn(plugin);
+        when(core.getWolfyUtils()).thenReturn(wolfyUtils);
+
+        registry = new RegistryCustomItem(mock(BukkitRegistries.class, RETURNS_DEEP_STUBS));
+        for (int i = 0; i < ITEM_COUNT; i++) {
+            registry.register(BukkitNamespacedKey.of("benchmark:item_" + i), mock(CustomItem.class, RETURNS_DEEP_STUBS));
+        }
+        // Values are read from the stack, so they are never the same instance
+        value = new String(tag.equals("registered") ? "benchmark:item_" + (ITEM_COUNT / 2) : "benchmark:missing_item");
+        if ((registry.get(registry.parseKey(value)) != null) != tag.equals("registered")) {
+            throw new IllegalStateException("The registry does not contain the expected items");
+        }
+    }
+
+    @Benchmark
+    public CustomItem lookup() {
+        NamespacedKey key = registry.parseKey(value);
+        return key == null ? null : registry.get(key);
+    }
+
+    @Benchmark
+    public CustomItem lookupPrevious() {
+        NamespacedKey key = BukkitNamespacedKey.of(value);
+        return key == null ? null : registry.get(key);
+    }
+
+}
@@ -0,0 +1,133 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.world.particles.shapes;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import org.bukkit.Location;
+import org.bukkit.util.Vector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures a single draw of a dense {@link ShapeSphere}, the way the animators move the origin to each point before they spawn the particle.<br>
+ * The previous implementation computed the sphere on each draw, allocating a new {@link Vector} (and boxed angles) for each point,
+ * while the shape now draws its precomputed {@link ShapePoints}.
+ * Run it with <code>-prof gc</code> to compare the allocations per draw.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShapeSphereBenchmark {
+
+    private static final double RADIUS = 2;
+
+    @Param({"16", "64"})
+    public int resolution;
+
+    private ShapeSphere sphere;
+    private Location origin;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sphere = new ShapeSphere(RADIUS, resolution, Shape.Direction.Y_AXIS);
+        origin = new Location(null, 12.5, 64, -3.5);
+        if (sphere.getPoints().size() != countPreviousPoints()) {
+            throw new IllegalStateException("The precomputed sphere has a different amount of points");
+        }
+    }
+
+    /**
+     * The path of the animators, that add the primitive offsets to the origin.
+     */
+    @Benchmark
+    public void drawPoints(Blackhole blackhole) {
+        sphere.getPoints().forEach((x, y, z) -> {
+            origin.add(x, y, z);
+            spawn(blackhole);
+            origin.subtract(x, y, z);
+        });
+    }
+
+    /**
+     * The path of nested shapes, that receive a reused vector for each point.
+     */
+    @Benchmark
+    public void drawVectors(Blackhole blackhole) {
+        sphere.drawVectors(0, vec -> {
+            origin.add(vec);
+            spawn(blackhole);
+            origin.subtract(vec);
+        });
+    }
+
+    /**
+     * The previous implementation, that computed the sphere on each draw.
+     */
+    @Benchmark
+    public void drawPrevious(Blackhole blackhole) {
+        BiFunction<Double, Double, Vector> createVector = ShapeSphereBenchmark::createVector;
+        for (double i = 0; i <= 2 * Math.PI; i += Math.PI / resolution) {
+            for (double j = 0; j <= Math.PI * 2; j += Math.PI / resolution) {
+                Vector vec = createVector.apply(j, i);
+                origin.add(vec);
+                spawn(blackhole);
+                origin.subtract(vec);
+            }
+        }
+    }
+
+    private void spawn(Blackhole blackhole) {
+        blackhole.consume(origin.getX());
+        blackhole.consume(origin.getY());
+        blackhole.consume(origin.getZ());
+    }
+
+    private int countPreviousPoints() {
+        int count = 0;
+        for (double i = 0; i <= 2 * Math.PI; i += Math.PI / resolution) {
+            for (double j = 0; j <= Math.PI * 2; j += Math.PI / resolution) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Vector createVector(double i, double j) {
+        double x = RADIUS * Math.cos(i) * Math.sin(j);
+        double y = RADIUS * Math.cos(j);
+        double z = RADIUS * Math.sin(i) * Math.sin(j);
+        return new Vector(x, y, z);
+    }
+
+}
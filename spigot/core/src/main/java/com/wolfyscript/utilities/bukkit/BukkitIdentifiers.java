@@ -20,7 +20,7 @@ public class BukkitIdentifiers implements Identifiers {
 
     @Override
     public NamespacedKey getNamespaced(String namespace, String key) {
-        return new BukkitNamespacedKey(namespace, key);
+        return new BukkitNamespacedKey(namespace, key).intern();
     }
 
     @Override
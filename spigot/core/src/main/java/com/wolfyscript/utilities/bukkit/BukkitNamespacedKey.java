@@ -25,12 +25,13 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.WolfyUtils;
 import java.io.IOException;
 import java.util.Locale;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -45,6 +46,9 @@ import org.jetbrains.annotations.Nullable;
  * <br>
  * They can however be used inside a plugin itself with non-plugin namespaces, when resources are only accessible internally.<br>
  * In those cases the {@link #BukkitNamespacedKey(String, String)} constructor can be used.
+ * <br>
+ * The keys returned by {@link #of(String)}, {@link #wolfyutilties(String)} and {@link #fromBukkit(org.bukkit.NamespacedKey)} are interned,
+ * so equal keys are usually the same instance. The pool only references the keys weakly, so unused keys are still garbage collected.
  *
  */
 @JsonDeserialize(using = BukkitNamespacedKey.Deserializer.class, keyUsing = BukkitNamespacedKey.KeyDeserializer.class)
@@ -53,12 +57,13 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
     public static final String WOLFYUTILITIES = "wolfyutilities";
 
     @JsonIgnore
-    private static final Pattern VALID_NAMESPACE = Pattern.compile("[a-z0-9._-]+");
-    @JsonIgnore
-    private static final Pattern VALID_KEY = Pattern.compile("[a-z0-9/._-]+");
+    private static final Cache<String, BukkitNamespacedKey> POOL = CacheBuilder.newBuilder().weakValues().build();
     private org.bukkit.NamespacedKey wrapped = null;
     private final String namespace;
     private final Key key;
+    // The key is immutable, so the string form and hash are only computed once
+    private final String string;
+    private final int hash;
 
     /**
      * Creates a NamespacedKey with a custom namespace and key.<br>
@@ -69,10 +74,11 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
      * @param key       The key that fits the pattern [a-z0-9/._-]
      */
     public BukkitNamespacedKey(String namespace, String key) {
-        Preconditions.checkArgument(namespace != null && VALID_NAMESPACE.matcher(namespace).matches(), "Invalid namespace. Must be [a-z0-9._-]: %s", namespace);
+        Preconditions.checkArgument(namespace != null && isValidNamespace(namespace), "Invalid namespace. Must be [a-z0-9._-]: %s", namespace);
         this.key = new Key(key.toLowerCase(Locale.ROOT));
         this.namespace = namespace;
-        var string = this.toString();
+        this.string = namespace + ":" + this.key;
+        this.hash = 31 * (31 + namespace.hashCode()) + this.key.hashCode();
         Preconditions.checkArgument(string.length() < 256, "NamespacedKey must be less than 256 characters", string);
     }
 
@@ -86,12 +92,35 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
         Preconditions.checkArgument(api != null, "Plugin cannot be null");
         Preconditions.checkArgument(key != null, "Key cannot be null");
         this.namespace = api.getName().toLowerCase(Locale.ROOT).replace(" ", "_");
-        Preconditions.checkArgument(VALID_NAMESPACE.matcher(this.namespace).matches(), "Invalid namespace. Must be [a-z0-9._-]: %s", this.namespace);
+        Preconditions.checkArgument(isValidNamespace(this.namespace), "Invalid namespace. Must be [a-z0-9._-]: %s", this.namespace);
         this.key = new Key(key.toLowerCase(Locale.ROOT));
-        String string = this.toString();
+        this.string = namespace + ":" + this.key;
+        this.hash = 31 * (31 + namespace.hashCode()) + this.key.hashCode();
         Preconditions.checkArgument(string.length() < 256, "NamespacedKey must be less than 256 characters (%s)", string);
     }
 
+    private static boolean isValidNamespace(String namespace) {
+        if (namespace.isEmpty()) return false;
+        for (int i = 0; i < namespace.length(); i++) {
+            char c = namespace.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '.' || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isValidKey(String key) {
+        if (key.isEmpty()) return false;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '/' || c == '.' || c == '_' || c == '-')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Gets the namespace of this object.
      *
@@ -130,63 +159,84 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
     @Nullable
     public static BukkitNamespacedKey of(@Nullable String namespaceKey) {
         if (namespaceKey == null || namespaceKey.isEmpty()) return null;
-        String[] parts = namespaceKey.split(":", 2);
-        if (parts.length == 0) return null;
-        if (parts.length > 1) {
-            return new BukkitNamespacedKey(parts[0].toLowerCase(Locale.ROOT), parts[1].toLowerCase(Locale.ROOT));
+        // Most keys are already in their canonical form, so look them up without parsing them
+        BukkitNamespacedKey pooled = POOL.getIfPresent(namespaceKey);
+        if (pooled != null) return pooled;
+        int separator = namespaceKey.indexOf(':');
+        if (separator >= 0) {
+            return intern(new BukkitNamespacedKey(namespaceKey.substring(0, separator).toLowerCase(Locale.ROOT), namespaceKey.substring(separator + 1).toLowerCase(Locale.ROOT)));
         } else {
-            return wolfyutilties(parts[0]);
+            return wolfyutilties(namespaceKey);
         }
     }
 
     /**
-     * Creates the bukkit representation of this object.
+     * Creates the bukkit representation of this object.<br>
+     * The representation is created once and then reused.
      *
      * @return The Bukkit NamespacedKey.
      */
     public org.bukkit.NamespacedKey bukkit() {
-        if (wrapped != null) return wrapped;
-        return new org.bukkit.NamespacedKey(this.namespace, this.getKey());
+        if (wrapped == null) {
+            wrapped = new org.bukkit.NamespacedKey(this.namespace, this.getKey());
+        }
+        return wrapped;
     }
 
     /**
-     * Creates a new NamespacedKey from the specified Bukkit NamespacedKey.<br>
+     * Gets the NamespacedKey from the specified Bukkit NamespacedKey.<br>
      *
      * @param namespacedKey The bukkit NamespacedKey.
-     * @return A new NamespacedKey with the same namespace and key as the Bukkit representation.
+     * @return The interned NamespacedKey with the same namespace and key as the Bukkit representation.
      */
     public static BukkitNamespacedKey fromBukkit(org.bukkit.NamespacedKey namespacedKey) {
+        BukkitNamespacedKey pooled = POOL.getIfPresent(namespacedKey.toString());
+        if (pooled != null) return pooled;
         var convertedKey = new BukkitNamespacedKey(namespacedKey.getNamespace(), namespacedKey.getKey());
         convertedKey.wrapped = namespacedKey;
-        return convertedKey;
+        return intern(convertedKey);
     }
 
     public static BukkitNamespacedKey wolfyutilties(String key) {
-        return new BukkitNamespacedKey(BukkitNamespacedKey.WOLFYUTILITIES, key);
+        return intern(new BukkitNamespacedKey(BukkitNamespacedKey.WOLFYUTILITIES, key));
+    }
+
+    /**
+     * Gets the canonical instance of this key from the pool.<br>
+     * If the pool doesn't contain an equal key yet, then this key is added and returned.
+     *
+     * @return The interned key, that is equal to this key.
+     */
+    public BukkitNamespacedKey intern() {
+        return intern(this);
+    }
+
+    private static BukkitNamespacedKey intern(BukkitNamespacedKey namespacedKey) {
+        BukkitNamespacedKey existing = POOL.asMap().putIfAbsent(namespacedKey.string, namespacedKey);
+        return existing != null ? existing : namespacedKey;
     }
 
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof BukkitNamespacedKey that)) return false;
-        return Objects.equals(namespace, that.namespace) &&
-                Objects.equals(key, that.key);
+        return hash == that.hash && string.equals(that.string);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(namespace, key);
+        return hash;
     }
 
     @JsonValue
     @Override
     public String toString() {
-        return toString(":");
+        return string;
     }
 
     public String toString(String split) {
-        if (split == null || split.isEmpty()) {
-            split = ":";
+        if (split == null || split.isEmpty() || split.equals(":")) {
+            return string;
         }
         return getNamespace() + split + getKey();
     }
@@ -214,23 +264,27 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
 
         private final String folder;
         private final String object;
+        private final String string;
+        private final int hash;
 
         private Key(String keyString) {
-            Preconditions.checkArgument(VALID_KEY.matcher(keyString).matches(), "Invalid key. Must be [a-z0-9/._-]: %s", keyString);
-            if (keyString.contains("/")) {
-                String[] args = keyString.split("/(?!.*/)");
-                if (args.length > 1) {
-                    this.folder = args[0];
-                    this.object = args[1];
-                    return;
-                } else if (args.length == 1) {
-                    this.folder = "";
-                    this.object = args[0];
-                    return;
+            Preconditions.checkArgument(isValidKey(keyString), "Invalid key. Must be [a-z0-9/._-]: %s", keyString);
+            // Split at the last "/", the same way as splitting using the regex "/(?!.*/)" (which drops trailing empty parts)
+            int separator = keyString.lastIndexOf('/');
+            String folderPart = separator >= 0 ? keyString.substring(0, separator) : "";
+            String objectPart = separator >= 0 ? keyString.substring(separator + 1) : keyString;
+            if (separator >= 0 && objectPart.isEmpty()) {
+                if (folderPart.isEmpty()) {
+                    objectPart = keyString;
+                } else {
+                    objectPart = folderPart;
+                    folderPart = "";
                 }
             }
-            this.object = keyString;
-            this.folder = "";
+            this.folder = folderPart;
+            this.object = objectPart;
+            this.string = toString("/");
+            this.hash = 31 * (31 + folder.hashCode()) + object.hashCode();
         }
 
         /**
@@ -273,7 +327,7 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
          */
         @Override
         public String toString() {
-            return toString("/");
+            return string;
         }
 
         /**
@@ -314,12 +368,12 @@ public class BukkitNamespacedKey implements NamespacedKey, Comparable<BukkitName
             if (this == o) return true;
             if (o == null || getClass() != o.getClass()) return false;
             Key that = (Key) o;
-            return Objects.equals(folder, that.folder) && Objects.equals(object, that.object);
+            return hash == that.hash && Objects.equals(folder, that.folder) && Objects.equals(object, that.object);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(folder, object);
+            return hash;
         }
     }
 
@@ -38,15 +38,19 @@ import com.wolfyscript.utilities.bukkit.world.items.CustomItemBlockData
 import com.wolfyscript.utilities.bukkit.world.items.CustomItemData
 import com.wolfyscript.utilities.bukkit.world.items.actions.*
 import com.wolfyscript.utilities.bukkit.world.items.meta.*
+import com.wolfyscript.utilities.bukkit.world.particles.ParticleEngine
 import com.wolfyscript.utilities.bukkit.world.particles.animators.*
 import com.wolfyscript.utilities.bukkit.world.particles.shapes.*
 import com.wolfyscript.utilities.bukkit.world.particles.timer.Timer
 import com.wolfyscript.utilities.bukkit.world.particles.timer.TimerLinear
 import com.wolfyscript.utilities.bukkit.world.particles.timer.TimerPi
 import com.wolfyscript.utilities.bukkit.world.particles.timer.TimerRandom
+import com.wolfyscript.utilities.classpath.ClasspathIndex
 import com.wolfyscript.utilities.config.jackson.*
 import com.wolfyscript.utilities.eval.operator.*
 import com.wolfyscript.utilities.eval.value_provider.*
+import com.wolfyscript.utilities.platform.scheduler.Task
+import com.wolfyscript.viewportl.gui.GuiAPIManagerImpl
 import com.wolfyscript.viewportl.gui.components.*
 import com.wolfyscript.utilities.nbt.*
 import com.wolfyscript.utilities.versioning.ServerVersion
@@ -92,6 +96,7 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
     }
 
     private var config: WUConfig? = null
+    private var guiEvictionTask: Task? = null
 
     /**
      * The [CompatibilityManagerBukkit], that manages the plugins compatibility features.
@@ -103,6 +108,12 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
     @JvmField
     val persistentStorage: PersistentStorage = PersistentStorage(this)
 
+    /**
+     * The [ParticleEngine], that ticks all the active particle animations and effects.
+     */
+    @JvmField
+    val particleEngine: ParticleEngine = ParticleEngine(this)
+
     /**
      * Gets the [BukkitRegistries] object, that contains all info about available registries.
      *
@@ -112,9 +123,13 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
 
     val logger: Logger = plugin.logger
 
+    @Deprecated("Scanning the classpath is slow. Use the classpathIndex instead.", ReplaceWith("classpathIndex"))
     override val reflections: Reflections
         get() = plugin.reflections
 
+    override val classpathIndex: ClasspathIndex
+        get() = plugin.classpathIndex
+
     /**
      * Gets or create the [WolfyUtilsBukkit] instance for the specified plugin.<br></br>
      * In case init is enabled it will directly initialize the event listeners and possibly other things.<br></br>
@@ -362,7 +377,11 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
         if (WolfyUtils.isDevEnv) {
             wolfyUtils.logger.info("> Dev-Environment <")
         }
-        this.config = WUConfig(wolfyUtils.configAPI, plugin)
+        val config = WUConfig(wolfyUtils.configAPI, plugin)
+        this.config = config
+        persistentStorage.setChunkWriteBehind(config.isChunkWriteBehind, config.chunkFlushInterval)
+        persistentStorage.setPlayerWriteBehind(config.isPlayerWriteBehind, config.playerFlushInterval)
+        startGuiRuntimeEviction(config.guiRuntimeIdleTimeout * 1000, config.guiMaxIdleRuntimes)
         compatibilityManager.init()
 
         //Load Language
@@ -378,10 +397,29 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
     }
 
     open fun disable() {
+        persistentStorage.setChunkWriteBehind(false, 0)
+        persistentStorage.setPlayerWriteBehind(false, 0)
+        guiEvictionTask?.cancel()
+        guiEvictionTask = null
         wolfyUtils.configAPI.saveConfigs()
         wolfyUtils.logger.info("Save stored Custom Items")
     }
 
+    /**
+     * Periodically releases the GUI runtimes of all the APIs, that are no longer viewed.
+     *
+     * @param idleTimeout The time in milliseconds after which an idle runtime is released.
+     * @param maxIdleRuntimes The max amount of idle runtimes each API keeps for reuse.
+     */
+    private fun startGuiRuntimeEviction(idleTimeout: Long, maxIdleRuntimes: Int) {
+        guiEvictionTask?.cancel()
+        guiEvictionTask = platform.scheduler.syncTimerTask(wolfyUtils, {
+            for (api in wolfyUtilsInstanceList) {
+                (api.guiManager as? GuiAPIManagerImpl)?.evictIdleRuntimes(idleTimeout, maxIdleRuntimes)
+            }
+        }, GUI_EVICTION_INTERVAL, GUI_EVICTION_INTERVAL)
+    }
+
     protected fun registerCommands() {
         registerDynamicCommands(
             ChatActionCommand(this),
@@ -429,7 +467,7 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
             ), plugin
         )
         Bukkit.getPluginManager().registerEvents(PlayerListener(), plugin)
-        Bukkit.getPluginManager().registerEvents(GUIInventoryListener(), plugin)
+        Bukkit.getPluginManager().registerEvents(GUIInventoryListener(this), plugin)
         Bukkit.getPluginManager().registerEvents(PersistentStorageListener(this), plugin)
         Bukkit.getPluginManager().registerEvents(CustomItemDataListener(this), plugin)
     }
@@ -450,6 +488,7 @@ abstract class WolfyCoreCommon(@JvmField val plugin: WolfyCoreCommonBootstrap) :
     }
 
     companion object {
+        private const val GUI_EVICTION_INTERVAL = 200
         private val classes: MutableMap<String, Boolean> = HashMap()
 
         protected var INSTANCE : WolfyCoreCommon? = null
@@ -1,7 +1,12 @@
 package com.wolfyscript.utilities.bukkit;
 
 import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.classpath.ClasspathIndex;
+import com.wolfyscript.utilities.classpath.ReflectionsClasspathIndex;
+import com.wolfyscript.utilities.classpath.StaticClasspathIndex;
 import com.wolfyscript.utilities.versioning.ServerVersion;
+import java.io.IOException;
+import java.util.logging.Level;
 import org.bstats.bukkit.Metrics;
 import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
@@ -23,16 +28,37 @@ public abstract class WolfyCoreCommonBootstrap extends JavaPlugin {
 
     //Static reference to the instance of this class.
     private static WolfyCoreCommonBootstrap instance;
+    /**
+     * When set to true, the classpath is scanned on startup instead of using the index generated at build time.
+     */
+    public static final String SCAN_CLASSPATH_PROPERTY = "wolfyutils.scanClasspath";
+
     private Metrics metrics;
-    private final Reflections reflections;
+    private final ClasspathIndex classpathIndex;
+    private Reflections reflections;
 
     public WolfyCoreCommonBootstrap() {
         super();
         ServerVersion.setWUVersion(getDescription().getVersion());
-        this.reflections = initReflections();
+        this.classpathIndex = initClasspathIndex();
         instance = this;
     }
 
+    private ClasspathIndex initClasspathIndex() {
+        if (!Boolean.getBoolean(SCAN_CLASSPATH_PROPERTY)) {
+            try {
+                StaticClasspathIndex index = StaticClasspathIndex.load(getClassLoader());
+                if (index != null) {
+                    return index;
+                }
+                getLogger().warning("No classpath index found! Falling back to scanning the classpath.");
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "Failed to read the classpath index! Falling back to scanning the classpath.", e);
+            }
+        }
+        return new ReflectionsClasspathIndex(this::getReflections);
+    }
+
     private Reflections initReflections() {
         return new Reflections(new ConfigurationBuilder()
                 .forPackage("")
@@ -74,8 +100,22 @@ public abstract class WolfyCoreCommonBootstrap extends JavaPlugin {
 
     public abstract WolfyCoreCommon getCore();
 
-    public Reflections getReflections() {
+    /**
+     * Gets the {@link Reflections} of the classpath. The classpath is scanned the first time this is called, which may take a long time.
+     *
+     * @return The Reflections of the classpath.
+     * @deprecated Scanning the classpath is slow. Use the {@link #getClasspathIndex()} instead.
+     */
+    @Deprecated
+    public synchronized Reflections getReflections() {
+        if (reflections == null) {
+            reflections = initReflections();
+        }
         return reflections;
     }
 
+    public ClasspathIndex getClasspathIndex() {
+        return classpathIndex;
+    }
+
 }
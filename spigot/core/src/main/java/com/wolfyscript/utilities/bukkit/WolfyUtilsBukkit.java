@@ -152,7 +152,7 @@ public class WolfyUtilsBukkit extends WolfyUtils {
         }
         resourceName = resourceName.replace('\\', '/');
 
-        Set<String> paths = getCore().getReflections().getResources(filePattern);
+        Set<String> paths = getCore().getClasspathIndex().getResources(filePattern);
         for (String path : paths) {
             if (!path.startsWith(resourceName)) continue;
             URL url = plugin.getClass().getClassLoader().getResource(path);
@@ -77,7 +77,7 @@ final class PluginsBukkit implements Plugins, Listener {
     void init() {
         core.getLogger().info("Loading Plugin integrations: ");
         Bukkit.getPluginManager().registerEvents(this, core.getWolfyUtils().getPlugin());
-        for (Class<?> integrationType : core.getReflections().getTypesAnnotatedWith(WUPluginIntegration.class)) {
+        for (Class<?> integrationType : core.getClasspathIndex().getTypesAnnotatedWith(WUPluginIntegration.class)) {
             WUPluginIntegration annotation = integrationType.getAnnotation(WUPluginIntegration.class);
             if (annotation != null && PluginIntegrationAbstract.class.isAssignableFrom(integrationType)) {
                 String pluginName = annotation.pluginName();
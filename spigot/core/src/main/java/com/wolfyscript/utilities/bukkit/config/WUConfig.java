@@ -26,4 +26,28 @@ public class WUConfig extends YamlConfiguration {
         super(configAPI, plugin.getDataFolder().getPath(), "config", "", "config", false);
     }
 
+    public boolean isChunkWriteBehind() {
+        return getBoolean("persistent_storage.chunk_write_behind", true);
+    }
+
+    public long getChunkFlushInterval() {
+        return getLong("persistent_storage.chunk_flush_interval", 600);
+    }
+
+    public boolean isPlayerWriteBehind() {
+        return getBoolean("persistent_storage.player_write_behind", true);
+    }
+
+    public long getPlayerFlushInterval() {
+        return getLong("persistent_storage.player_flush_interval", 1200);
+    }
+
+    public long getGuiRuntimeIdleTimeout() {
+        return getLong("gui.runtime_idle_timeout", 300);
+    }
+
+    public int getGuiMaxIdleRuntimes() {
+        return getInt("gui.max_idle_runtimes", 32);
+    }
+
 }
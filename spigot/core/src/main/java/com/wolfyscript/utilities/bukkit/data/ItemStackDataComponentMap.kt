@@ -1,14 +1,21 @@
 package com.wolfyscript.utilities.bukkit.data
 
+import com.wolfyscript.utilities.WolfyCore
 import com.wolfyscript.utilities.bukkit.adapters.ItemStackImpl
 import com.wolfyscript.utilities.data.DataComponentMap
 import com.wolfyscript.utilities.data.DataKey
+import com.wolfyscript.utilities.functions.ReceiverConsumer
 import com.wolfyscript.utilities.platform.adapters.ItemStack
+import org.bukkit.inventory.meta.ItemMeta
 
 class ItemStackDataComponentMap internal constructor(private val itemStack: ItemStackImpl) : DataComponentMap<ItemStack> {
 
+    private val provider: SpigotDataKeyProvider?
+        get() = WolfyCore.instance.platform.items.dataKeyProvider as? SpigotDataKeyProvider
+
     override fun keySet(): Set<DataKey<*, ItemStack>> {
-        TODO("Not yet implemented")
+        val meta = itemStack.bukkitRef?.itemMeta ?: return emptySet()
+        return provider?.getKeysPresentIn(meta) ?: emptySet()
     }
 
     override fun remove(key: DataKey<*, ItemStack>): Boolean {
@@ -17,7 +24,7 @@ class ItemStackDataComponentMap internal constructor(private val itemStack: Item
     }
 
     override fun size(): Int {
-        return 0
+        return keySet().size
     }
 
     override fun <T: Any> get(key: DataKey<T, ItemStack>): T? {
@@ -32,4 +39,81 @@ class ItemStackDataComponentMap internal constructor(private val itemStack: Item
         key.writeTo(data, itemStack)
     }
 
+    /**
+     * Applies the edits to a single snapshot of the [ItemMeta], that is only set to the stack once all edits are done,
+     * and only if any data was written.
+     */
+    override fun edit(edits: ReceiverConsumer<DataComponentMap<ItemStack>>) {
+        val provider = provider ?: return super.edit(edits)
+        val edit = MetaEdit(provider)
+        with(edits) { edit.consume() }
+        edit.commit()
+    }
+
+    /**
+     * Reads and writes the keys, that are registered in the [SpigotDataKeyProvider], directly from/to the meta snapshot.
+     * Other keys are read and written directly from/to the stack, so any pending writes are committed before.
+     */
+    private inner class MetaEdit(private val provider: SpigotDataKeyProvider) : DataComponentMap<ItemStack> {
+
+        private var meta: ItemMeta? = null
+        private var dirty = false
+
+        private fun meta(): ItemMeta? {
+            if (meta == null) {
+                meta = itemStack.bukkitRef?.itemMeta
+            }
+            return meta
+        }
+
+        fun commit() {
+            if (dirty) {
+                meta?.let { itemStack.bukkitRef?.setItemMeta(it) }
+                dirty = false
+            }
+        }
+
+        override fun <T : Any> get(key: DataKey<T, ItemStack>): T? {
+            val converter = provider.getMetaConverter(key)
+            if (converter == null) {
+                commit()
+                return key.readFrom(itemStack)
+            }
+            return meta()?.let { with(converter.fetcher) { it.apply() } }
+        }
+
+        override fun <T : Any> set(key: DataKey<T, ItemStack>, data: T) {
+            val converter = provider.getMetaConverter(key)
+            if (converter == null) {
+                commit()
+                key.writeTo(data, itemStack)
+                meta = null // The stack may have changed, so a new snapshot is required
+                return
+            }
+            val meta = meta() ?: return
+            with(converter.applier) { meta.consume(data) }
+            dirty = true
+        }
+
+        override fun remove(key: DataKey<*, ItemStack>): Boolean {
+            commit()
+            meta = null
+            return this@ItemStackDataComponentMap.remove(key)
+        }
+
+        override fun has(key: DataKey<*, ItemStack>): Boolean = get(key) != null
+
+        override fun keySet(): Set<DataKey<*, ItemStack>> {
+            val meta = meta() ?: return emptySet()
+            return provider.getKeysPresentIn(meta)
+        }
+
+        override fun size(): Int = keySet().size
+
+        override fun edit(edits: ReceiverConsumer<DataComponentMap<ItemStack>>) {
+            with(edits) { consume() }
+        }
+
+    }
+
 }
@@ -29,6 +29,7 @@ import kotlin.reflect.KClass
 class SpigotDataKeyProvider(private val wolfyCore: WolfyCore) : DataKeyProvider {
 
     private val map: MutableMap<NamespacedKey, DataKey<*, ItemStack>> = mutableMapOf()
+    private val metaConverters: MutableMap<NamespacedKey, ItemMetaDataKeyConverter<*>> = mutableMapOf()
 
     init {
         register("damage", {
@@ -228,6 +229,7 @@ class SpigotDataKeyProvider(private val wolfyCore: WolfyCore) : DataKeyProvider
         fetcher: ReceiverFunction<ItemMeta, T?>,
         applier: ReceiverBiConsumer<ItemMeta, T>
     ) {
+        metaConverters[key] = ItemMetaDataKeyConverter(fetcher, applier)
         map[key] = DataKey(T::class, key,
             fetcher = {
                 if (this is ItemStackImpl) {
@@ -253,6 +255,36 @@ class SpigotDataKeyProvider(private val wolfyCore: WolfyCore) : DataKeyProvider
             })
     }
 
+    /**
+     * Gets the converter that reads and writes the data of the key directly from/to an [ItemMeta].
+     * This allows to apply multiple keys to the same [ItemMeta], instead of cloning and applying it for each key.
+     *
+     * @return The converter of the key; or null if the key was not registered by this provider.
+     */
+    internal fun <T : Any> getMetaConverter(key: DataKey<T, ItemStack>): ItemMetaDataKeyConverter<T>? {
+        if (map[key.key()] !== key) return null
+        @Suppress("UNCHECKED_CAST") // The key is the registered instance, so the converter has the same value type
+        return metaConverters[key.key()] as ItemMetaDataKeyConverter<T>?
+    }
+
+    /**
+     * Gets all the registered keys that contain data in the specified [ItemMeta].
+     */
+    internal fun getKeysPresentIn(meta: ItemMeta): Set<DataKey<*, ItemStack>> {
+        val keys = LinkedHashSet<DataKey<*, ItemStack>>()
+        for ((namespacedKey, converter) in metaConverters) {
+            val present = try {
+                with(converter.fetcher) { meta.apply() } != null
+            } catch (e: NotImplementedError) {
+                false // Some keys are not yet supported on all versions
+            }
+            if (present) {
+                keys.add(map[namespacedKey]!!)
+            }
+        }
+        return keys
+    }
+
     override fun <T : Any> getDataKey(
         type: KClass<T>,
         key: NamespacedKey
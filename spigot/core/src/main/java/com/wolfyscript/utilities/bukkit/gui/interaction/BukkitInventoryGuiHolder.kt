@@ -20,9 +20,11 @@ package com.wolfyscript.utilities.bukkit.gui.interaction
 
 import com.wolfyscript.utilities.bukkit.WolfyUtilsBukkit
 import com.wolfyscript.utilities.bukkit.adapters.ItemStackImpl
+import com.wolfyscript.viewportl.gui.GuiAPIManagerImpl
 import com.wolfyscript.viewportl.gui.GuiHolder
 import com.wolfyscript.viewportl.gui.ViewRuntimeImpl
 import com.wolfyscript.viewportl.gui.Window
+import org.bukkit.Bukkit
 import org.bukkit.event.inventory.InventoryClickEvent
 import org.bukkit.event.inventory.InventoryCloseEvent
 import org.bukkit.event.inventory.InventoryDragEvent
@@ -47,10 +49,6 @@ internal class BukkitInventoryGuiHolder(private val runtime: ViewRuntimeImpl, pr
             val details = ClickInteractionDetailsImpl(event)
             runtime.interactionHandler.onClick(details)
             event.isCancelled = true
-
-            runtime.wolfyUtils.core.platform.scheduler.syncTask(runtime.wolfyUtils) {
-                runtime.reactiveSource.runEffects()
-            }
         }
     }
 
@@ -76,10 +74,6 @@ internal class BukkitInventoryGuiHolder(private val runtime: ViewRuntimeImpl, pr
                     }
                 }
             }
-
-            runtime.wolfyUtils.core.platform.scheduler.syncTask(runtime.wolfyUtils) {
-                runtime.reactiveSource.runEffects()
-            }
         }
     }
 
@@ -88,6 +82,19 @@ internal class BukkitInventoryGuiHolder(private val runtime: ViewRuntimeImpl, pr
         if (currentWindow() == null) return
         if (event.inventory.holder == this) {
             guiHolder.viewManager.currentMenu?.apply { close() }
+            // Opening another window of the runtime closes this inventory too, so check if it is still viewed on the next tick
+            runtime.wolfyUtils.core.platform.scheduler.syncTask(runtime.wolfyUtils) {
+                if (!isViewed()) {
+                    (runtime.wolfyUtils.guiManager as? GuiAPIManagerImpl)?.markIdle(runtime.id)
+                }
+            }
+        }
+    }
+
+    private fun isViewed(): Boolean {
+        return runtime.viewers.any { uuid ->
+            val holder = Bukkit.getPlayer(uuid)?.openInventory?.topInventory?.holder
+            holder is BukkitInventoryGuiHolder && holder.runtime == runtime
         }
     }
 
@@ -1,3 +1,5 @@
 package com.wolfyscript.utilities.bukkit.gui.interaction
 
-internal class CachedNodeInteractProperties(val position: Int, val slots: MutableList<Int>)
\ No newline at end of file
+import it.unimi.dsi.fastutil.ints.IntArrayList
+
+internal class CachedNodeInteractProperties(val position: Int, val slots: IntArrayList)
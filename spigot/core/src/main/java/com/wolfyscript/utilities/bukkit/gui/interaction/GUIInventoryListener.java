@@ -18,15 +18,25 @@
 
 package com.wolfyscript.utilities.bukkit.gui.interaction;
 
+import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
+import com.wolfyscript.utilities.bukkit.WolfyUtilsBukkit;
+import com.wolfyscript.viewportl.gui.GuiAPIManagerImpl;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
 import org.bukkit.event.inventory.InventoryDragEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 public class GUIInventoryListener implements Listener {
 
+    private final WolfyCoreCommon core;
+
+    public GUIInventoryListener(WolfyCoreCommon core) {
+        this.core = core;
+    }
+
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onInvClick(InventoryClickEvent event) {
         if (event.getInventory().getHolder() instanceof BukkitInventoryGuiHolder bukkitInventoryGuiHolder) {
@@ -51,4 +61,14 @@ public class GUIInventoryListener implements Listener {
         }
     }
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        // The runtimes of the player can no longer be viewed, so release them in all the APIs
+        for (WolfyUtilsBukkit api : core.getWolfyUtilsInstanceList()) {
+            if (api.getGuiManager() instanceof GuiAPIManagerImpl guiManager) {
+                guiManager.releaseRuntimesOf(event.getPlayer().getUniqueId());
+            }
+        }
+    }
+
 }
@@ -13,15 +13,21 @@ import com.wolfyscript.viewportl.gui.interaction.DragInteractionDetails
 import com.wolfyscript.viewportl.gui.interaction.InteractionHandler
 import com.wolfyscript.viewportl.gui.model.UpdateInformation
 import com.wolfyscript.viewportl.gui.rendering.Node
+import it.unimi.dsi.fastutil.ints.IntArrayList
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap
 import org.bukkit.Material
 import org.bukkit.event.inventory.InventoryAction
 import org.bukkit.inventory.Inventory
 import org.bukkit.inventory.InventoryView
 import org.bukkit.inventory.ItemStack
+import java.util.BitSet
 
 class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : InteractionHandler {
 
     companion object {
+        private const val NO_NODE = -1L
+        private const val DEFAULT_SLOT_COUNT = 54
+
         private val componentInteractionHandlers: MutableMap<Class<out Component>, ComponentInteractionHandler<*>> =
             mutableMapOf()
 
@@ -46,12 +52,16 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
 
     }
 
-    private val slotNodes: MutableMap<Int, Long> = mutableMapOf()
-    private val cachedProperties: MutableMap<Long, CachedNodeInteractProperties> = mutableMapOf()
+    // The node of each slot (or NO_NODE), indexed by the slot
+    private var slotNodes: LongArray = LongArray(DEFAULT_SLOT_COUNT) { NO_NODE }
+    // The slots that have a node with an interaction handler. Other slots always invalidate their transactions.
+    private val interactiveSlots: BitSet = BitSet(DEFAULT_SLOT_COUNT)
+    private val cachedProperties: Long2ObjectOpenHashMap<CachedNodeInteractProperties> = Long2ObjectOpenHashMap()
 
     override fun init(window: Window) {
         val context = InvGUIInteractionContext(this)
-        cachedProperties[0] = CachedNodeInteractProperties(0, mutableListOf(0))
+        ensureSlotCapacity(window.size ?: DEFAULT_SLOT_COUNT)
+        cachedProperties[0] = CachedNodeInteractProperties(0, IntArrayList.of(0))
         context.setSlotOffset(0)
 
         initChildren(0, context)
@@ -68,8 +78,8 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
             val nextOffset = calculatePosition(it, context)
             val offset = context.currentOffset()
             // Mark slot to interact with this node
-            slotNodes[offset] = child
-            cachedProperties[child] = CachedNodeInteractProperties(offset, mutableListOf(offset))
+            markSlot(offset, it)
+            cachedProperties[child] = CachedNodeInteractProperties(offset, IntArrayList.of(offset))
             // Store the position of this node in the parent, so we can easily clean the slot nodes
             cachedProperties[parent]?.slots?.add(offset)
             context.setSlotOffset(nextOffset)
@@ -86,28 +96,53 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
             return context.currentOffset() + 1
         }
         val offset = context.currentOffset()
-        cachedProperties[node.id] = CachedNodeInteractProperties(offset, mutableListOf(offset))
+        cachedProperties[node.id] = CachedNodeInteractProperties(offset, IntArrayList.of(offset))
         return nextOffset
     }
 
+    private fun ensureSlotCapacity(slotCount: Int) {
+        if (slotCount > slotNodes.size) {
+            val oldSize = slotNodes.size
+            slotNodes = slotNodes.copyOf(slotCount)
+            slotNodes.fill(NO_NODE, oldSize, slotCount)
+        }
+    }
+
+    private fun markSlot(slot: Int, node: Node) {
+        if (slot < 0) return
+        ensureSlotCapacity(slot + 1)
+        slotNodes[slot] = node.id
+        interactiveSlots.set(slot, getComponentInteractionHandler(node.component.javaClass) != null)
+    }
+
+    private fun unmarkSlot(slot: Int) {
+        if (slot < 0 || slot >= slotNodes.size) return
+        slotNodes[slot] = NO_NODE
+        interactiveSlots.clear(slot)
+    }
+
+    private fun nodeAt(slot: Int): Node? {
+        if (slot < 0 || slot >= slotNodes.size) return null
+        val nodeId = slotNodes[slot]
+        return if (nodeId == NO_NODE) null else runtime.modelGraph.getNode(nodeId)
+    }
+
     override fun onClick(details: ClickInteractionDetails) {
         details as ClickInteractionDetailsImpl
 
         val event = details.clickEvent
         val clickedTopInv = event.clickedInventory == event.view.topInventory
 
-        val originalCursor = event.cursor
-        val originalSlotStack = event.currentItem
-
-        var cursor: ItemStack? = originalCursor.clone()
-        var slotResult: ItemStack? = originalSlotStack?.clone()
-
         testMainClickTransaction(details)
 
         if (!details.valid) {
             return
         }
 
+        // Only copy the stacks once the transaction is known to be valid
+        var cursor: ItemStack? = event.cursor.clone()
+        var slotResult: ItemStack? = event.currentItem?.clone()
+
         val action = event.action
         when (action) {
             // place/collect stack
@@ -310,7 +345,7 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
             return
         }
         // Top inventory clicked
-        val node = slotNodes[details.slot]?.let { runtime.modelGraph.getNode(it) }
+        val node = nodeAt(details.slot)
         if (node == null) {
             details.invalidate()
             return
@@ -345,7 +380,10 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
             return true
         }
         val slot = inventoryView.convertSlot(rawSlot)
-        val node = slotNodes[slot]?.let { runtime.modelGraph.getNode(it) }
+        if (!interactiveSlots.get(slot)) {
+            return false // Either no node, or no handler that could validate the transaction
+        }
+        val node = nodeAt(slot)
         if (node != null) {
             val transaction = ClickTransactionImpl(
                 details.clickType,
@@ -469,7 +507,7 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
         for (rawSlot in details.rawSlots) {
             if (rawSlot < topInvSize) {
                 // Slot is in top inventory
-                val node = slotNodes[rawSlot]?.let { runtime.modelGraph.getNode(it) }
+                val node = nodeAt(rawSlot)
 
                 if (node == null) {
                     details.invalidate() // Cancel the entire event if only one fails!
@@ -527,8 +565,10 @@ class InventoryGUIInteractionHandler(private val runtime: ViewRuntimeImpl) : Int
 
                 // Remove node from cache
                 val removedProperties = cachedProperties.remove(removedNode)
-                removedProperties?.slots?.forEach {
-                    slotNodes.remove(it) // Unmark slot, so it no longer interacts with the node
+                removedProperties?.slots?.let { slots ->
+                    for (i in 0 until slots.size) {
+                        unmarkSlot(slots.getInt(i)) // Unmark slot, so it no longer interacts with the node
+                    }
                 }
 
                 // Does it have a parent? if so unlink it
@@ -14,6 +14,7 @@ import com.wolfyscript.viewportl.gui.model.UpdateInformation
 import com.wolfyscript.viewportl.gui.rendering.Renderer
 import com.wolfyscript.viewportl.gui.rendering.Node
 import com.wolfyscript.utilities.platform.adapters.ItemStack
+import com.wolfyscript.utilities.platform.scheduler.Task
 import com.wolfyscript.utilities.versioning.MinecraftVersion
 import com.wolfyscript.utilities.versioning.ServerVersion
 import com.wolfyscript.utilities.world.items.ItemStackConfig
@@ -29,6 +30,19 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
     private var inventory: Inventory? = Bukkit.createInventory(null, 27)
     private val cachedProperties: MutableMap<Long, CachedNodeRenderProperties> = mutableMapOf()
 
+    private val buttonRenderer = InventoryButtonComponentRenderer()
+    private val groupRenderer = InventoryGroupComponentRenderer()
+
+    // The stacks last written to each slot, and the changes that are not yet written to the inventory
+    private var renderedStacks: Array<org.bukkit.inventory.ItemStack?> = arrayOfNulls(inventory?.size ?: 0)
+    private var pendingStacks: Array<org.bukkit.inventory.ItemStack?> = arrayOfNulls(inventory?.size ?: 0)
+    private val dirtySlots: BitSet = BitSet()
+    // Dirty slots that must be written, even when they are back to the rendered stack (e.g. to remove a stack placed by a player)
+    private val forcedSlots: BitSet = BitSet()
+    private var flushScheduled = false
+    private var flushTask: Task? = null
+    private var disposed = false
+
     override fun changeWindow(window: Window) {
         val guiHolder: GuiHolder = GuiHolderImpl(window, runtime, null)
         val holder = BukkitInventoryGuiHolder(runtime, guiHolder)
@@ -55,6 +69,15 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
             }
         }
         holder.setActiveInventory(inventory)
+        resetSlots()
+    }
+
+    private fun resetSlots() {
+        val size = inventory?.size ?: 0
+        renderedStacks = arrayOfNulls(size)
+        pendingStacks = arrayOfNulls(size)
+        dirtySlots.clear()
+        forcedSlots.clear()
     }
 
     override fun render() {
@@ -65,9 +88,14 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
         context.setSlotOffset(0)
 
         renderChildren(0, context)
+        flush()
 
         runtime.viewers.forEach {
-            Bukkit.getPlayer(it)?.openInventory(inventory!!)
+            Bukkit.getPlayer(it)?.let { player ->
+                if (player.openInventory.topInventory != inventory) {
+                    player.openInventory(inventory!!)
+                }
+            }
         }
     }
 
@@ -84,9 +112,9 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
 
             // Direct rendering to specific component renderer TODO: Make extensible
             when (val component = it.component) {
-                is Button -> InventoryButtonComponentRenderer().render(context, component)
-                is ComponentGroup -> InventoryGroupComponentRenderer().render(context, component)
-                is Outlet -> component.component?.apply { InventoryGroupComponentRenderer().render(context, this) }
+                is Button -> buttonRenderer.render(context, component)
+                is ComponentGroup -> groupRenderer.render(context, component)
+                is Outlet -> component.component?.apply { groupRenderer.render(context, this) }
                 is StackInputSlot -> {}
             }
             cachedProperties[child] = CachedNodeRenderProperties(offset, mutableSetOf(offset))
@@ -155,7 +183,7 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
                 // Remove node from cache
                 val removedProperties = cachedProperties.remove(removedNode)
                 removedProperties?.slots?.forEach {
-                    inventory?.clear(it) // clear slots affected by the removed node
+                    clearSlot(it) // clear slots affected by the removed node
                 }
 
                 // Does it have a parent? if so unlink it
@@ -212,7 +240,7 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
 
     fun setStack(i: Int, itemStackConfig: ItemStackConfig?) {
         if (itemStackConfig == null) {
-            inventory!!.setItem(i, null)
+            setNativeStack(i, null)
             return
         }
         require(itemStackConfig is BukkitItemStackConfig) {
@@ -222,7 +250,7 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
             )
         }
 
-        inventory!!.setItem(i, itemStackConfig.constructItemStack()?.bukkitRef)
+        setNativeStack(i, itemStackConfig.constructItemStack()?.bukkitRef)
     }
 
     fun renderStack(position: Int, itemStack: ItemStack?) {
@@ -258,13 +286,86 @@ class InventoryGUIRenderer(val runtime: ViewRuntimeImpl) : Renderer<InvGUIRender
         )
     }
 
+    /**
+     * Queues the stack for the specified slot.
+     * The slot is only written in the next [flush] when the stack differs from the one that was last rendered to it.
+     */
     private fun setNativeStack(i: Int, itemStack: org.bukkit.inventory.ItemStack?) {
         //checkIfSlotInBounds(i);
-        if (itemStack == null) {
-            inventory!!.setItem(i, null)
+        if (i < 0 || i >= renderedStacks.size) {
+            inventory!!.setItem(i, itemStack)
+            return
+        }
+        if (dirtySlots.get(i)) {
+            if (itemStack == renderedStacks[i] && !forcedSlots.get(i)) {
+                // Back to the rendered content, so drop the change that is still pending
+                dirtySlots.clear(i)
+                pendingStacks[i] = null
+            } else {
+                pendingStacks[i] = itemStack
+            }
+            return
+        }
+        if (itemStack == renderedStacks[i]) return
+        pendingStacks[i] = itemStack
+        markSlotDirty(i)
+    }
+
+    /**
+     * Queues the specified slot to be cleared, even if nothing was rendered to it.
+     * The slot may contain a stack that was placed by a player.
+     */
+    private fun clearSlot(i: Int) {
+        if (i < 0 || i >= renderedStacks.size) {
+            inventory?.clear(i)
             return
         }
-        inventory!!.setItem(i, itemStack)
+        pendingStacks[i] = null
+        forcedSlots.set(i)
+        markSlotDirty(i)
+    }
+
+    private fun markSlotDirty(i: Int) {
+        dirtySlots.set(i)
+        // The reactive graph flushes the renderer after it ran its effects
+        if (!flushScheduled && !disposed && !runtime.reactiveSource.isRunningEffects) {
+            // Fallback in case the change did not happen while the reactive graph ran its effects
+            flushScheduled = true
+            flushTask = runtime.wolfyUtils.core.platform.scheduler.syncTask(runtime.wolfyUtils) { flush() }
+        }
+    }
+
+    /**
+     * Writes all slot changes that were queued since the last flush to the inventory.
+     * Only the changed slots are written, so the server only sends those slots to the viewers.
+     */
+    override fun flush() {
+        flushScheduled = false
+        flushTask?.cancel()
+        flushTask = null
+        val inventory = inventory ?: return
+        if (dirtySlots.isEmpty) return
+
+        var slot = dirtySlots.nextSetBit(0)
+        while (slot >= 0) {
+            val stack = pendingStacks[slot]
+            inventory.setItem(slot, stack)
+            // Keep a copy, so changes to the original stack are detected next time
+            renderedStacks[slot] = stack?.clone()
+            pendingStacks[slot] = null
+            slot = dirtySlots.nextSetBit(slot + 1)
+        }
+        dirtySlots.clear()
+        forcedSlots.clear()
+    }
+
+    override fun dispose() {
+        disposed = true
+        flushTask?.cancel()
+        flushTask = null
+        flushScheduled = false
+        dirtySlots.clear()
+        forcedSlots.clear()
     }
 
 }
\ No newline at end of file
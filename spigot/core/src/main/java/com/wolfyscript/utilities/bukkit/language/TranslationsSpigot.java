@@ -13,7 +13,6 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import com.wolfyscript.utilities.language.Translations;
@@ -66,11 +65,10 @@ public class TranslationsSpigot extends Translations {
 
     @Deprecated
     public List<String> replaceKeys(List<String> msg) {
-        Pattern pattern = Pattern.compile("[$]([a-zA-Z0-9._]*?)[$]");
         List<String> result = new ArrayList<>();
         msg.forEach(s -> {
             List<String> keys = new ArrayList<>();
-            Matcher matcher = pattern.matcher(s);
+            Matcher matcher = KEY_PATTERN.matcher(s);
             while (matcher.find()) {
                 keys.add(matcher.group(0));
             }
@@ -43,6 +43,7 @@ import org.bukkit.event.block.BlockPistonRetractEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.block.LeavesDecayEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.server.ServerLoadEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
@@ -63,6 +64,11 @@ public class PersistentStorageListener implements Listener {
         this.persistentStorage = core.persistentStorage;
     }
 
+    @EventHandler
+    private void onPlayerJoin(PlayerJoinEvent event) {
+        persistentStorage.getOrCreatePlayerStorage(event.getPlayer()).loadAsync(); // Deserialize the data off the main thread, before it is requested.
+    }
+
     @EventHandler
     private void onPlayerQuit(PlayerQuitEvent event) {
         PlayerStorage playerStorage = persistentStorage.getOrCreatePlayerStorage(event.getPlayer());
@@ -80,6 +86,7 @@ public class PersistentStorageListener implements Listener {
         Chunk chunk = event.getChunk();
         WorldStorage worldStorage = persistentStorage.getOrCreateWorldStorage(event.getWorld());
         ChunkStorage chunkStorage = worldStorage.getOrCreateChunkStorage(chunk.getX(), chunk.getZ());
+        chunkStorage.awaitLoading(); // Make sure blocks that are still loading are loaded and unloaded in order.
         chunkStorage.getStoredBlocks().forEach((vector, store) -> {
             store.onUnload();
         });
@@ -89,6 +96,7 @@ public class PersistentStorageListener implements Listener {
     @EventHandler
     private void onSave(WorldSaveEvent event) {
         World world = event.getWorld();
+        persistentStorage.getOrCreateWorldStorage(world).saveDirtyChunks();
     }
 
     /**
@@ -106,8 +114,7 @@ public class PersistentStorageListener implements Listener {
 
     private void initOrUpdateChunk(Chunk chunk) {
         ChunkStorage chunkStorage = persistentStorage.getOrCreateWorldStorage(chunk.getWorld()).getOrCreateChunkStorage(chunk.getX(), chunk.getZ());
-        chunkStorage.loadBlocksIntoCache();
-        chunkStorage.getStoredBlocks().forEach((vector, blockStorage) -> blockStorage.onLoad());
+        chunkStorage.loadBlocksIntoCacheAsync(); // Calls BlockStorage#onLoad for the loaded blocks once done
     }
 
     /* ******************** *
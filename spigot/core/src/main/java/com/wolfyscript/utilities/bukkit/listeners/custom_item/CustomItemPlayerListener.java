@@ -21,6 +21,7 @@ package com.wolfyscript.utilities.bukkit.listeners.custom_item;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.bukkit.registry.RegistryCustomItem;
+import com.wolfyscript.utilities.bukkit.world.items.ActionSettings;
 import com.wolfyscript.utilities.bukkit.world.items.CustomItem;
 import com.wolfyscript.utilities.bukkit.world.items.actions.DataPlayerEvent;
 import com.wolfyscript.utilities.bukkit.world.items.actions.EventPlayerConsumeItem;
@@ -55,7 +56,9 @@ public class CustomItemPlayerListener implements Listener {
     }
 
     private <T extends PlayerEvent> void callEvent(CustomItem item, NamespacedKey eventKey, T bukkitEvent) {
-        item.getActionSettings().callEvent(eventKey, new DataPlayerEvent<>(bukkitEvent, bukkitEvent.getPlayer(), item));
+        ActionSettings actionSettings = item.getActionSettings();
+        if (!actionSettings.hasEvents(eventKey, DataPlayerEvent.class)) return; // Don't create the data, when there is nothing to call
+        actionSettings.callEvent(eventKey, new DataPlayerEvent<>(bukkitEvent, bukkitEvent.getPlayer(), item));
     }
 
     @EventHandler
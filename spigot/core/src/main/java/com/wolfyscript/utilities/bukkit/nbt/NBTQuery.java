@@ -63,6 +63,7 @@ public class NBTQuery extends QueryNodeCompound {
         // Sets the children that are specified in the root of the object without the "children" node!
         // That is supported behaviour!
         QueryNode.loadFrom(node, "", key).ifPresent(queryNode -> children.putIfAbsent(key, queryNode));
+        invalidatePlan();
     }
 
     public static Optional<NBTQuery> of(File file) {
@@ -70,6 +70,8 @@ public abstract class QueryNode<VAL> implements Keyed {
     protected final String key;
     @JsonIgnore
     protected NBTType nbtType = NBTType.NBTTagEnd;
+    @JsonIgnore
+    private volatile ChildPath childPath;
 
     protected QueryNode(@JacksonInject WolfyUtils wolfyUtils, @JacksonInject("key") String key, @JacksonInject("path") String parentPath) {
         this.wolfyUtils = wolfyUtils;
@@ -128,11 +130,38 @@ public abstract class QueryNode<VAL> implements Keyed {
     }
 
     public final void visit(String path, String key, EvalContext context, NBTCompound parent, NBTCompound resultContainer) {
-        readValue(path, key, parent).filter(val -> check(key, parent.getType(key), context, val)).ifPresent(val -> applyValue(path, key, context, val, resultContainer));
+        Optional<VAL> value = readValue(path, key, parent);
+        if (value.isPresent() && check(key, parent.getType(key), context, value.get())) {
+            applyValue(path, key, context, value.get(), resultContainer);
+        }
     }
 
     public void visit(String path, int index, EvalContext context, NBTList<VAL> parentList, NBTList<VAL> resultList) {
-        readValue(path, index, parentList).filter(val -> check(key, parentList.getType(), context, val)).ifPresent(val -> applyValue(path, index, context, val, resultList));
+        Optional<VAL> value = readValue(path, index, parentList);
+        if (value.isPresent() && check(key, parentList.getType(), context, value.get())) {
+            applyValue(path, index, context, value.get(), resultList);
+        }
+    }
+
+    /**
+     * Gets the path of the child with the specified key.<br>
+     * A node is usually visited with the same parent path and key on every run, so the last path is cached and reused,
+     * instead of concatenating it each time.
+     *
+     * @param path The path of the parent.
+     * @param key  The key of the child.
+     * @return The path of the child.
+     */
+    protected final String childPath(String path, String key) {
+        ChildPath cached = childPath;
+        if (cached == null || !cached.parent().equals(path) || !cached.key().equals(key)) {
+            cached = new ChildPath(path, key, path + "." + key);
+            childPath = cached;
+        }
+        return cached.path();
+    }
+
+    private record ChildPath(String parent, String key, String path) {
     }
 
     @JsonGetter("type")
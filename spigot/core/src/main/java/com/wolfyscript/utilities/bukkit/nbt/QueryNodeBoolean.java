@@ -52,7 +52,17 @@ public class QueryNodeBoolean extends QueryNode<Object> {
 
     @Override
     public boolean check(String key, NBTType nbtType, EvalContext context, Object value) {
-        return this.key.equals(key) && this.value.evaluate(context);
+        return this.key.equals(key) && this.value.compiled().test(context);
+    }
+
+    /**
+     * Includes the value at the specified key as is, the same as visiting a node that always evaluates to true.
+     */
+    void include(String path, String key, EvalContext context, NBTCompound parent, NBTCompound resultContainer) {
+        Optional<Object> value = readValue(path, key, parent);
+        if (value.isPresent()) {
+            applyValue(path, key, context, value.get(), resultContainer);
+        }
     }
 
     @Override
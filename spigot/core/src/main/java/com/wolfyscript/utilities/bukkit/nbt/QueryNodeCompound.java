@@ -34,7 +34,10 @@ import com.wolfyscript.utilities.eval.context.EvalContext;
 import com.wolfyscript.utilities.eval.operator.BoolOperatorConst;
 import de.tr7zw.changeme.nbtapi.NBTCompound;
 import de.tr7zw.changeme.nbtapi.NBTType;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -54,6 +57,8 @@ public class QueryNodeCompound extends QueryNode<NBTCompound> {
     //Child nodes to proceed to next. This is useful for further child compound tag settings.
     @JsonIgnore
     protected Map<String, QueryNode<?>> children;
+    @JsonIgnore
+    private volatile Plan plan;
 
     public QueryNodeCompound(@JacksonInject WolfyUtils wolfyUtils, @JacksonInject("key") String key, @JacksonInject("parent_path") String parentPath) {
         super(wolfyUtils, key, parentPath);
@@ -78,10 +83,12 @@ public class QueryNodeCompound extends QueryNode<NBTCompound> {
         //Sets the children that are specified in the root of the object without the "children" node!
         //That is supported behaviour!
         QueryNode.loadFrom(node, parentPath + "." + this.key, key).ifPresent(queryNode -> children.putIfAbsent(key, queryNode));
+        invalidatePlan();
     }
 
     public void setIncludeAll(boolean fullyInclude) {
         this.includeAll = fullyInclude;
+        invalidatePlan();
     }
 
     public boolean isIncludeAll() {
@@ -101,6 +108,7 @@ public class QueryNodeCompound extends QueryNode<NBTCompound> {
     @JsonSetter
     public void setIncludes(Map<String, Boolean> includes) {
         this.includes = includes;
+        invalidatePlan();
     }
 
     @JsonGetter
@@ -121,6 +129,7 @@ public class QueryNodeCompound extends QueryNode<NBTCompound> {
     @JsonSetter("children")
     public void setChildren(Map<String, JsonNode> children) {
         this.children = children.entrySet().stream().map(entry -> QueryNode.loadFrom(entry.getValue(), parentPath + "." + this.key, entry.getKey()).map(queryNode -> Map.entry(entry.getKey(), queryNode)).orElse(null)).filter(Objects::nonNull).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        invalidatePlan();
     }
 
     @JsonGetter
@@ -140,33 +149,103 @@ public class QueryNodeCompound extends QueryNode<NBTCompound> {
 
     @Override
     public void applyValue(String path, String key, EvalContext context, NBTCompound value, NBTCompound resultContainer) {
-        String newPath = path + "." + key;
+        String newPath = childPath(path, key);
         NBTCompound container = preservePath ? resultContainer.addCompound(key) : resultContainer;
         applyChildrenToCompound(newPath, context, value, container);
     }
 
     /**
-     *
+     * Applies the selected children of the compound to the result container.<br>
+     * Which children are selected, and the nodes that visit them, are resolved once into the {@link Plan} of this node.
      *
      * @param containerPath The path of the current container.
      * @param value The value of the NBTCompound at the current path.
      * @param resultContainer The current container to apply the children to.
      */
     protected void applyChildrenToCompound(String containerPath, EvalContext context, NBTCompound value, NBTCompound resultContainer) {
-        Set<String> keys;
-        if (!includes.isEmpty()) {
-            keys = value.getKeys().stream().filter(s -> includes.getOrDefault(s, includeAll)).collect(Collectors.toSet());
-        } else {
-            keys = value.getKeys().stream().filter(s -> getChildren().containsKey(s) || includeAll).collect(Collectors.toSet());
+        getPlan().apply(containerPath, context, value, resultContainer);
+    }
+
+    /**
+     * Discards the compiled plan, so it is compiled again with the current settings on the next run.<br>
+     * This must be called when the children or includes are modified directly.
+     */
+    public void invalidatePlan() {
+        plan = null;
+    }
+
+    private Plan getPlan() {
+        Plan current = plan;
+        if (current == null) {
+            current = new Plan();
+            plan = current;
         }
-        //Process child nodes with the specified settings.
-        for (String childKey : keys) {
-            QueryNode<?> subQueryNode = getChildren().get(childKey);
-            if (subQueryNode != null) {
-                subQueryNode.visit(containerPath, childKey, context, value, resultContainer);
+        return current;
+    }
+
+    /**
+     * The immutable execution plan of the compound, compiled from the includes and children.<br>
+     * When only specific keys are selected, they are looked up directly, instead of filtering all keys of the compound.
+     * Keys without a child node are included as is.
+     */
+    private final class Plan {
+
+        private final boolean visitAllKeys;
+        // The keys to look up, when not visiting all keys, and their nodes (null if included as is).
+        private final String[] selectedKeys;
+        private final QueryNode<?>[] selectedNodes;
+        // The keys to skip, when visiting all keys.
+        private final Set<String> excludedKeys;
+        private final Map<String, QueryNode<?>> childNodes;
+        private final QueryNodeBoolean includeNode;
+
+        private Plan() {
+            this.childNodes = new HashMap<>(children);
+            this.includeNode = new QueryNodeBoolean(wolfyUtils, new BoolOperatorConst(wolfyUtils, true), "", "");
+            List<String> selected = new ArrayList<>();
+            Set<String> excluded = new HashSet<>();
+            if (!includes.isEmpty()) {
+                includes.forEach((childKey, include) -> {
+                    if (include) {
+                        selected.add(childKey);
+                    } else {
+                        excluded.add(childKey);
+                    }
+                });
             } else {
-                QueryNodeBoolean node = new QueryNodeBoolean(wolfyUtils, new BoolOperatorConst(wolfyUtils, true), childKey, containerPath);
+                selected.addAll(childNodes.keySet());
+            }
+            this.visitAllKeys = includeAll;
+            this.excludedKeys = Set.copyOf(excluded);
+            this.selectedKeys = selected.toArray(new String[0]);
+            this.selectedNodes = new QueryNode<?>[selectedKeys.length];
+            for (int i = 0; i < selectedKeys.length; i++) {
+                selectedNodes[i] = childNodes.get(selectedKeys[i]);
+            }
+        }
+
+        private void apply(String containerPath, EvalContext context, NBTCompound value, NBTCompound resultContainer) {
+            if (visitAllKeys) {
+                for (String childKey : value.getKeys()) {
+                    if (!excludedKeys.contains(childKey)) {
+                        visit(childNodes.get(childKey), containerPath, childKey, context, value, resultContainer);
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < selectedKeys.length; i++) {
+                String childKey = selectedKeys[i];
+                if (value.hasTag(childKey)) {
+                    visit(selectedNodes[i], containerPath, childKey, context, value, resultContainer);
+                }
+            }
+        }
+
+        private void visit(QueryNode<?> node, String containerPath, String childKey, EvalContext context, NBTCompound value, NBTCompound resultContainer) {
+            if (node != null) {
                 node.visit(containerPath, childKey, context, value, resultContainer);
+            } else {
+                includeNode.include(containerPath, childKey, context, value, resultContainer);
             }
         }
     }
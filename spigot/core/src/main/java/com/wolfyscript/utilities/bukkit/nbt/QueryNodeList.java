@@ -41,6 +41,8 @@ public abstract class QueryNodeList<VAL> extends QueryNode<NBTList<VAL>> {
     @JsonIgnore
     private final Class<VAL> elementType;
     private final List<Element<VAL>> elements;
+    @JsonIgnore
+    private volatile ListPath listPath;
 
     @JsonCreator
     public QueryNodeList(@JacksonInject WolfyUtils wolfyUtils, @JsonProperty("elements") List<Element<VAL>> elements, @JacksonInject("key") String key, @JacksonInject("parent_path") String path, NBTType elementType, Class<VAL> elementClass) {
@@ -73,30 +75,54 @@ public abstract class QueryNodeList<VAL> extends QueryNode<NBTList<VAL>> {
 
     @Override
     protected void applyValue(String path, String key, EvalContext context, NBTList<VAL> value, NBTCompound resultContainer) {
-        String newPath = path + "." + key;
         NBTList<VAL> list = readList(key, resultContainer);
         if (list != null && !value.isEmpty()) {
-            context.setVariable(newPath + "_size", list.size());
+            ListPath listPath = listPath(path, key);
+            String newPath = listPath.path();
+            int size = value.size();
+            context.setVariable(listPath.sizeSlot(), list.size());
             for (Element<VAL> element : elements) {
-                element.index().ifPresentOrElse(index -> {
+                QueryNode<VAL> valQueryNode = element.value;
+                if (element.index != null) {
+                    int index = element.index;
                     if (index < 0) {
-                        index = value.size() + (index % value.size()); //Convert the negative index to a positive reverted index, that starts from the end.
+                        index = size + (index % size); //Convert the negative index to a positive reverted index, that starts from the end.
                     }
-                    index = index % value.size(); //Prevent out of bounds
-                    if (value.size() > index) {
-                        int fIndex = index;
-                        element.value().ifPresentOrElse(queryNode -> queryNode.visit(newPath, fIndex, context, value, list), () -> list.add(value.get(fIndex)));
+                    index = index % size; //Prevent out of bounds
+                    if (size > index) {
+                        if (valQueryNode != null) {
+                            valQueryNode.visit(newPath, index, context, value, list);
+                        } else {
+                            list.add(value.get(index));
+                        }
                     }
-                }, () -> element.value().ifPresent(valQueryNode -> {
-                    for (int i = 0; i < value.size(); i++) {
-                        context.setVariable(newPath + "_index", i);
+                } else if (valQueryNode != null) {
+                    for (int i = 0; i < size; i++) {
+                        context.setVariable(listPath.indexSlot(), i);
                         valQueryNode.visit(newPath, i, context, value, list);
                     }
-                }));
+                }
             }
         }
     }
 
+    /**
+     * Gets the path of this list and the slots of its size and index variables.<br>
+     * The list is usually visited with the same parent path on every run, so the last one is cached and reused.
+     */
+    private ListPath listPath(String path, String key) {
+        ListPath cached = listPath;
+        if (cached == null || !cached.parent().equals(path) || !cached.key().equals(key)) {
+            String newPath = path + "." + key;
+            cached = new ListPath(path, key, newPath, EvalContext.slotOf(newPath + "_size"), EvalContext.slotOf(newPath + "_index"));
+            listPath = cached;
+        }
+        return cached;
+    }
+
+    private record ListPath(String parent, String key, String path, int sizeSlot, int indexSlot) {
+    }
+
     protected NBTList<VAL> readList(String key, NBTCompound container) {
         if (elementType == Integer.class) {
             return (NBTList<VAL>) container.getIntegerList(key);
@@ -25,7 +25,10 @@ package com.wolfyscript.utilities.bukkit.nbt;
 
 import com.fasterxml.jackson.annotation.JacksonInject;
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.compiled.CompiledValue;
+import com.wolfyscript.utilities.eval.compiled.CompiledValues;
 import com.wolfyscript.utilities.eval.context.EvalContext;
 import com.wolfyscript.utilities.eval.value_provider.ValueProvider;
 import com.wolfyscript.utilities.config.jackson.KeyedBaseType;
@@ -36,6 +39,8 @@ import java.util.Objects;
 public abstract class QueryNodePrimitive<VAL> extends QueryNode<VAL> {
 
     protected final ValueProvider<VAL> value;
+    @JsonIgnore
+    private CompiledValue<VAL> compiledValue;
 
     @JsonCreator
     protected QueryNodePrimitive(@JacksonInject WolfyUtils wolfyUtils, ValueProvider<VAL> value, @JacksonInject("key") String key, @JacksonInject("path") String parentPath) {
@@ -51,6 +56,9 @@ public abstract class QueryNodePrimitive<VAL> extends QueryNode<VAL> {
 
     @Override
     public boolean check(String key, NBTType nbtType, EvalContext context, VAL value) {
-        return Objects.equals(this.value.getValue(context), value);
+        if (compiledValue == null) {
+            compiledValue = CompiledValues.of(this.value);
+        }
+        return Objects.equals(compiledValue.get(context), value);
     }
 }
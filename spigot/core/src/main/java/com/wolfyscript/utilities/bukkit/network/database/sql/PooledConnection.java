@@ -0,0 +1,149 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.network.database.sql;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A connection borrowed from the {@link SQLConnectionPool}.<br>
+ * It caches the prepared statements by their SQL, so statements that are executed repeatedly are only prepared once per connection.<br>
+ * Closing it returns the connection to the pool. Once it is closed, it must no longer be used, while closing it again does nothing.
+ */
+public final class PooledConnection implements AutoCloseable {
+
+    // Connections that were idle for longer than this are validated before they are borrowed again
+    private static final long VALIDATION_INTERVAL = 30_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final SQLConnectionPool pool;
+    private final Connection connection;
+    private final Map<String, PreparedStatement> statements;
+    // Set while a caller holds the connection, so it is only returned to the pool once
+    private final AtomicBoolean borrowed = new AtomicBoolean();
+    private long lastUsed = System.currentTimeMillis();
+
+    PooledConnection(SQLConnectionPool pool, Connection connection, int statementCacheSize) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > statementCacheSize) {
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the underlying JDBC connection.
+     *
+     * @return The JDBC connection.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Gets the cached statement of the SQL, or prepares a new one.<br>
+     * Cached statements are cleared of their previous parameters and batches.
+     * <b>The statement must not be closed!</b> It is closed once it is removed from the cache.
+     *
+     * @param sql The SQL of the statement.
+     * @return The prepared statement.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        PreparedStatement statement = statements.get(sql);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql);
+            statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+            statement.clearBatch();
+        }
+        return statement;
+    }
+
+    boolean isUsable() {
+        try {
+            if (connection.isClosed()) return false;
+            return System.currentTimeMillis() - lastUsed < VALIDATION_INTERVAL || connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    void markBorrowed() {
+        borrowed.set(true);
+    }
+
+    /**
+     * Rolls back the open transaction and enables auto-commit again, so the next borrower does not inherit the state of the previous one.
+     *
+     * @return True if the connection was reset; false if it failed, so the connection must be discarded.
+     */
+    boolean reset() {
+        try {
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the connection to the pool. Does nothing if it was already returned.
+     */
+    @Override
+    public void close() {
+        if (!borrowed.compareAndSet(true, false)) return;
+        lastUsed = System.currentTimeMillis();
+        pool.release(this);
+    }
+
+    void closeQuietly() {
+        statements.values().forEach(PooledConnection::closeQuietly);
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is discarded anyway
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is discarded anyway
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.network.database.sql;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A bounded pool of JDBC connections.<br>
+ * Connections are created lazily once they are needed, up to the max size of the pool.
+ * When all connections are in use, callers wait for a connection to be released.<br>
+ * Borrowed connections are returned to the pool by closing the {@link PooledConnection}.
+ */
+public class SQLConnectionPool implements AutoCloseable {
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final int statementCacheSize;
+    private final BlockingQueue<PooledConnection> idle;
+    private final AtomicInteger size = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new pool, that creates its connections using the specified factory.
+     *
+     * @param factory            The factory that opens new connections.
+     * @param maxSize            The max amount of open connections.
+     * @param statementCacheSize The max amount of prepared statements that are cached per connection.
+     */
+    public SQLConnectionPool(ConnectionFactory factory, int maxSize, int statementCacheSize) {
+        if (maxSize < 1) throw new IllegalArgumentException("The pool must at least contain one connection!");
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.statementCacheSize = statementCacheSize;
+        this.idle = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * Borrows a connection from the pool. If no connection is available it opens a new one,
+     * or waits for another connection to be released when the pool is full.
+     *
+     * @param timeoutMillis The max time to wait for a connection to be released.
+     * @return The borrowed connection, that must be closed to return it to the pool.
+     * @throws SQLException If a new connection cannot be opened, or no connection was released in time.
+     */
+    public PooledConnection borrow(long timeoutMillis) throws SQLException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            if (closed) throw new SQLException("The connection pool is closed!");
+            PooledConnection connection = idle.poll();
+            if (connection == null) {
+                connection = tryCreate();
+                if (connection != null) {
+                    connection.markBorrowed();
+                    return connection;
+                }
+                try {
+                    connection = idle.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a connection!", e);
+                }
+                if (connection == null) throw new SQLTimeoutException("Timed out waiting for a connection!");
+            }
+            if (connection.isUsable()) {
+                connection.markBorrowed();
+                return connection;
+            }
+            discard(connection); // Broken connections are replaced by new ones
+        }
+    }
+
+    private PooledConnection tryCreate() throws SQLException {
+        int count;
+        while ((count = size.get()) < maxSize) {
+            if (size.compareAndSet(count, count + 1)) {
+                try {
+                    return new PooledConnection(this, factory.create(), statementCacheSize);
+                } catch (SQLException e) {
+                    size.decrementAndGet();
+                    throw e;
+                }
+            }
+        }
+        return null;
+    }
+
+    void release(PooledConnection connection) {
+        if (closed || !connection.reset() || !idle.offer(connection)) {
+            discard(connection);
+        }
+    }
+
+    private void discard(PooledConnection connection) {
+        connection.closeQuietly();
+        size.decrementAndGet();
+    }
+
+    /**
+     * Gets the amount of open connections, both idle and in use.
+     *
+     * @return The amount of open connections.
+     */
+    public int getSize() {
+        return size.get();
+    }
+
+    /**
+     * Gets the amount of open connections, that are currently not in use.
+     *
+     * @return The amount of idle connections.
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Closes all idle connections. Connections that are in use are closed once they are released.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledConnection connection;
+        while ((connection = idle.poll()) != null) {
+            discard(connection);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+
+        Connection create() throws SQLException;
+
+    }
+
+}
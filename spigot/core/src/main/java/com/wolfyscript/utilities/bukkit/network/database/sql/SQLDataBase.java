@@ -24,41 +24,177 @@ import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Provides access to a SQL database.<br>
+ * <br>
+ * The connections are kept in a bounded {@link SQLConnectionPool}, that caches the prepared statements per connection.
+ * Statements are executed asynchronously on a bounded executor, using {@link #query(String, StatementBinder, ResultMapper)},
+ * {@link #update(String, StatementBinder)} and {@link #batchUpdate(String, Collection, BatchBinder)}.
+ * Once the queue of the executor is full, new calls fail with a {@link RejectedExecutionException}, instead of piling up threads.
+ */
 public class SQLDataBase {
 
-    private static final String DATABASE_DRIVER = "com.mysql.jdbc.Driver";
+    private static final String[] MYSQL_DRIVERS = {"com.mysql.cj.jdbc.Driver", "com.mysql.jdbc.Driver"};
+
+    public static final int DEFAULT_POOL_SIZE = 8;
+    public static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
+    public static final int MAX_QUEUED_TASKS = 1024;
+    public static final long CONNECTION_TIMEOUT = 10_000;
 
     private final WolfyUtils api;
 
     private Connection connection;
 
     private final String dataBaseURL;
-    private final String username;
-    private final String password;
-    private final String maxPool;
-    private Properties properties;
+    private final Properties properties;
+    private final SQLConnectionPool pool;
+    private final ThreadPoolExecutor executor;
 
     public SQLDataBase(WolfyUtils api, String host, String database, String username, String password, int port) {
+        this(api, "jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=false&useUnicode=true&characterEncoding=utf8", mysqlProperties(username, password), DEFAULT_POOL_SIZE);
+        loadMySQLDriver();
+    }
+
+    /**
+     * Creates a database for any JDBC url, with its driver already available to the {@link DriverManager}.
+     *
+     * @param api         The api that owns the database.
+     * @param dataBaseURL The JDBC url of the database.
+     * @param properties  The properties of the connections.
+     * @param poolSize    The max amount of connections, and threads that execute statements.
+     */
+    public SQLDataBase(WolfyUtils api, String dataBaseURL, Properties properties, int poolSize) {
         this.api = api;
-        this.username = username;
-        this.password = password;
-        this.maxPool = "250";
-        this.dataBaseURL = "jdbc:mysql://" + host + ":" + port + "/" + database + "?useSSL=false&useUnicode=true&characterEncoding=utf8";
+        this.dataBaseURL = dataBaseURL;
+        this.properties = properties;
+        this.pool = new SQLConnectionPool(() -> DriverManager.getConnection(this.dataBaseURL, this.properties), poolSize, DEFAULT_STATEMENT_CACHE_SIZE);
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(MAX_QUEUED_TASKS), new SQLThreadFactory(api.getName()));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    private static Properties mysqlProperties(String username, String password) {
+        var properties = new Properties();
+        properties.setProperty("user", username);
+        properties.setProperty("password", password);
+        properties.setProperty("MaxPooledStatements", "250");
+        return properties;
+    }
+
+    private static void loadMySQLDriver() {
+        for (String driver : MYSQL_DRIVERS) {
+            try {
+                Class.forName(driver);
+                return;
+            } catch (ClassNotFoundException ignored) {
+                // Try the legacy driver
+            }
+        }
     }
 
     /**
-     * Creates the properties for the connection.
+     * Executes the function asynchronously with a connection borrowed from the pool.<br>
+     * The connection is returned to the pool afterwards, so neither it nor its statements must be used outside of the function.
+     *
+     * @param function The function to execute.
+     * @param <T>      The type of the result.
+     * @return A future, that completes with the result of the function, or exceptionally if the function failed.
      */
-    private Properties getProperties() {
-        if (properties == null) {
-            properties = new Properties();
-            properties.setProperty("user", username);
-            properties.setProperty("password", password);
-            properties.setProperty("MaxPooledStatements", maxPool);
+    public <T> CompletableFuture<T> withConnection(ConnectionFunction<T> function) {
+        var future = new CompletableFuture<T>();
+        try {
+            executor.execute(() -> {
+                T result;
+                try (PooledConnection pooledConnection = pool.borrow(CONNECTION_TIMEOUT)) {
+                    result = function.apply(pooledConnection);
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+                // Completed once the connection is released, so it is available to the dependent stages
+                future.complete(result);
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
         }
-        return properties;
+        return future;
+    }
+
+    /**
+     * Executes the query asynchronously and maps its result.
+     *
+     * @param sql    The SQL of the query.
+     * @param binder Binds the parameters of the statement.
+     * @param mapper Maps the result set. The result set is closed afterwards.
+     * @param <T>    The type of the result.
+     * @return A future, that completes with the mapped result.
+     */
+    public <T> CompletableFuture<T> query(String sql, StatementBinder binder, ResultMapper<T> mapper) {
+        return withConnection(pooledConnection -> {
+            PreparedStatement statement = pooledConnection.prepare(sql);
+            binder.bind(statement);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return mapper.map(resultSet);
+            }
+        });
+    }
+
+    /**
+     * Executes the update asynchronously.
+     *
+     * @param sql    The SQL of the update.
+     * @param binder Binds the parameters of the statement.
+     * @return A future, that completes with the amount of updated rows.
+     */
+    public CompletableFuture<Integer> update(String sql, StatementBinder binder) {
+        return withConnection(pooledConnection -> {
+            PreparedStatement statement = pooledConnection.prepare(sql);
+            binder.bind(statement);
+            return statement.executeUpdate();
+        });
+    }
+
+    /**
+     * Executes the update asynchronously for each of the values, as a single batch inside a transaction.<br>
+     * If any of the updates fail, the whole transaction is rolled back.
+     *
+     * @param sql    The SQL of the update.
+     * @param values The values to update.
+     * @param binder Binds the parameters of the statement for each value.
+     * @param <V>    The type of the values.
+     * @return A future, that completes with the amount of updated rows per value.
+     */
+    public <V> CompletableFuture<int[]> batchUpdate(String sql, Collection<V> values, BatchBinder<V> binder) {
+        return withConnection(pooledConnection -> {
+            Connection jdbcConnection = pooledConnection.getConnection();
+            boolean autoCommit = jdbcConnection.getAutoCommit();
+            jdbcConnection.setAutoCommit(false);
+            try {
+                PreparedStatement statement = pooledConnection.prepare(sql);
+                for (V value : values) {
+                    binder.bind(statement, value);
+                    statement.addBatch();
+                }
+                int[] result = statement.executeBatch();
+                jdbcConnection.commit();
+                return result;
+            } catch (SQLException e) {
+                jdbcConnection.rollback();
+                throw e;
+            } finally {
+                jdbcConnection.setAutoCommit(autoCommit);
+            }
+        });
     }
 
     /**
@@ -66,22 +202,38 @@ public class SQLDataBase {
      * Attention! When using this on the main thread, it will cause it to hold till the connection is ready or times out!
      *
      * @return The established connection to the database
+     * @deprecated This connection is not pooled. Use {@link #query(String, StatementBinder, ResultMapper)} or {@link #update(String, StatementBinder)} instead.
      */
+    @Deprecated
     public Connection open() {
         if (connection == null) {
             try {
                 synchronized (this) {
-                    Class.forName(DATABASE_DRIVER);
-                    connection = DriverManager.getConnection(dataBaseURL, getProperties());
+                    if (connection == null) {
+                        connection = DriverManager.getConnection(dataBaseURL, properties);
+                    }
                 }
-            } catch (ClassNotFoundException | SQLException e) {
+            } catch (SQLException e) {
                 e.printStackTrace();
             }
         }
         return connection;
     }
 
+    /**
+     * Closes all the connections and stops the executor. Statements that are already queued are still executed.
+     */
     public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(CONNECTION_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        pool.close();
         if (connection != null) {
             try {
                 connection.close();
@@ -92,6 +244,10 @@ public class SQLDataBase {
         }
     }
 
+    /**
+     * @deprecated Use {@link #update(String, StatementBinder)} instead.
+     */
+    @Deprecated
     public void executeUpdate(PreparedStatement preparedStatement) {
         try {
             open(); //Makes sure that the connection is available. If not, it tries to connect.
@@ -102,10 +258,20 @@ public class SQLDataBase {
         }
     }
 
+    /**
+     * Executes the update on the executor of the database.
+     *
+     * @deprecated Use {@link #update(String, StatementBinder)} instead.
+     */
+    @Deprecated
     public void executeAsyncUpdate(PreparedStatement preparedStatement) {
-        new Thread(() -> executeUpdate(preparedStatement)).start();
+        executor.execute(() -> executeUpdate(preparedStatement));
     }
 
+    /**
+     * @deprecated Use {@link #query(String, StatementBinder, ResultMapper)} instead.
+     */
+    @Deprecated
     public ResultSet executeQuery(PreparedStatement preparedStatement) {
         try {
             open(); //Makes sure that the connection is available. If not, it tries to connect.
@@ -116,7 +282,67 @@ public class SQLDataBase {
         }
     }
 
+    public SQLConnectionPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Gets the amount of statements, that are waiting to be executed.
+     *
+     * @return The amount of queued statements.
+     */
+    public int getQueuedTaskCount() {
+        return executor.getQueue().size();
+    }
+
     public WolfyUtils getApi() {
         return api;
     }
+
+    @FunctionalInterface
+    public interface ConnectionFunction<T> {
+
+        T apply(PooledConnection connection) throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    public interface StatementBinder {
+
+        StatementBinder NONE = statement -> {};
+
+        void bind(PreparedStatement statement) throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    public interface BatchBinder<V> {
+
+        void bind(PreparedStatement statement, V value) throws SQLException;
+
+    }
+
+    @FunctionalInterface
+    public interface ResultMapper<T> {
+
+        T map(ResultSet resultSet) throws SQLException;
+
+    }
+
+    private static final class SQLThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+        private final String prefix;
+
+        private SQLThreadFactory(String name) {
+            this.prefix = name + "-SQL-";
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.bukkit.persistent.player.PlayerStorage;
 import com.wolfyscript.utilities.bukkit.persistent.world.WorldStorage;
+import com.wolfyscript.utilities.platform.scheduler.Task;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -23,11 +24,101 @@ public class PersistentStorage {
     private final Map<UUID, WorldStorage> WORLD_STORAGE = new HashMap<>();
     private final Map<UUID, PlayerStorage> PLAYER_STORAGE = new HashMap<>();
     private final WolfyCoreCommon core;
+    private boolean chunkWriteBehind = false;
+    private Task chunkFlushTask;
+    private boolean playerWriteBehind = false;
+    private Task playerFlushTask;
 
     public PersistentStorage(WolfyCoreCommon core) {
         this.core = core;
     }
 
+    /**
+     * Configures the write-behind mode of the chunk storages.<br>
+     * When enabled, changes to blocks only mark the {@link com.wolfyscript.utilities.bukkit.persistent.world.ChunkStorage} as dirty,
+     * and the chunk is written once on world save, on chunk unload, or at the specified flush interval.
+     *
+     * @param enabled       True to enable the write-behind mode; false to write every change immediately.
+     * @param flushInterval The interval in ticks at which dirty chunks are flushed. Values &lt;= 0 disable the periodic flush.
+     */
+    public void setChunkWriteBehind(boolean enabled, long flushInterval) {
+        if (chunkFlushTask != null) {
+            chunkFlushTask.cancel();
+            chunkFlushTask = null;
+        }
+        if (this.chunkWriteBehind && !enabled) {
+            saveDirtyChunks();
+        }
+        this.chunkWriteBehind = enabled;
+        if (enabled && flushInterval > 0) {
+            chunkFlushTask = core.getPlatform().getScheduler().syncTimerTask(core.getWolfyUtils(), this::saveDirtyChunks, flushInterval, flushInterval);
+        }
+    }
+
+    /**
+     * Checks if the chunk storages only mark changes as dirty instead of writing them immediately.
+     *
+     * @return True if the write-behind mode is enabled; otherwise false.
+     */
+    public boolean isChunkWriteBehind() {
+        return chunkWriteBehind;
+    }
+
+    /**
+     * Writes the dirty chunks of all cached worlds to their PersistentDataContainer.
+     */
+    public void saveDirtyChunks() {
+        WORLD_STORAGE.values().forEach(WorldStorage::saveDirtyChunks);
+    }
+
+    /**
+     * Configures the write-behind mode of the player storages.<br>
+     * When enabled, changes to the {@link PlayerStorage} only mark the data as dirty,
+     * and the data is written once the player quits, or at the specified flush interval.
+     * The data is serialized asynchronously by the periodic flush, so only the write into the PersistentDataContainer happens on the main thread.
+     *
+     * @param enabled       True to enable the write-behind mode; false to write every change immediately.
+     * @param flushInterval The interval in ticks at which dirty player data is flushed. Values &lt;= 0 disable the periodic flush.
+     */
+    public void setPlayerWriteBehind(boolean enabled, long flushInterval) {
+        if (playerFlushTask != null) {
+            playerFlushTask.cancel();
+            playerFlushTask = null;
+        }
+        if (this.playerWriteBehind && !enabled) {
+            savePlayerData();
+        }
+        this.playerWriteBehind = enabled;
+        if (enabled && flushInterval > 0) {
+            playerFlushTask = core.getPlatform().getScheduler().syncTimerTask(core.getWolfyUtils(), this::flushDirtyPlayerData, flushInterval, flushInterval);
+        }
+    }
+
+    /**
+     * Checks if the player storages only mark changes as dirty instead of writing them immediately.
+     *
+     * @return True if the write-behind mode is enabled; otherwise false.
+     */
+    public boolean isPlayerWriteBehind() {
+        return playerWriteBehind;
+    }
+
+    /**
+     * Flushes the dirty data of all cached players asynchronously.
+     *
+     * @see PlayerStorage#flushAsync()
+     */
+    public void flushDirtyPlayerData() {
+        PLAYER_STORAGE.values().forEach(PlayerStorage::flushAsync);
+    }
+
+    /**
+     * Writes the cached data of all players to their PersistentDataContainer immediately.
+     */
+    public void savePlayerData() {
+        PLAYER_STORAGE.values().forEach(PlayerStorage::updateAll);
+    }
+
     /**
      * Gets the already existing storage instance of that world or creates a new one.
      *
@@ -60,6 +60,8 @@ public class PlayerParticleEffectData extends CustomPlayerData {
 
     @Override
     public CustomPlayerData copy() {
-        return null;
+        var copy = new PlayerParticleEffectData();
+        copy.effectsPerSlot.putAll(effectsPerSlot);
+        return copy;
     }
 }
@@ -2,15 +2,24 @@ package com.wolfyscript.utilities.bukkit.persistent.player;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
 import com.wolfyscript.utilities.spigot.WolfyCoreSpigot;
 import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.bukkit.registry.BukkitRegistries;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
@@ -23,7 +32,10 @@ import org.bukkit.persistence.PersistentDataType;
  * If the player is offline, then the stored data is inaccessible.<br>
  * <br>
  * {@link CustomPlayerData} stored using {@link #setData(CustomPlayerData)} or {@link #computeIfAbsent(Class, Function)}
- * is directly cached and stored into the {@link PersistentDataContainer} of the player.<br>
+ * is directly cached and marked as dirty.
+ * Dirty data is written to the {@link PersistentDataContainer} of the player by the next flush, which happens periodically, when the player quits,
+ * or immediately if the write-behind mode of the {@link com.wolfyscript.utilities.bukkit.persistent.PersistentStorage} is disabled.<br>
+ * Data that is modified in place must be marked using {@link #markDirty(Class)}, so it is written by the next flush.<br>
  * When data is requested via {@link #getData(Class)} it first tries to look for the cached data, and if unavailable
  * it tries to load it from the {@link PersistentDataContainer}. Only if both fail to find the data it returns an empty value.
  */
@@ -34,6 +46,13 @@ public class PlayerStorage {
     private final WolfyCoreCommon core;
     private final UUID playerUUID;
     private final Map<NamespacedKey, CustomPlayerData> CACHED_DATA = new HashMap<>();
+    // Data that was set or removed since the last flush. Keys that are dirty, but not cached, are removed by the flush.
+    private final Set<NamespacedKey> dirtyData = new LinkedHashSet<>();
+    // The latest flush of each key. Results of older async flushes, that complete after a newer flush, are discarded.
+    private final Object2LongOpenHashMap<NamespacedKey> flushVersions = new Object2LongOpenHashMap<>();
+    private long flushVersion = 0;
+    private ObjectReader reader;
+    private ObjectWriter writer;
 
     public PlayerStorage(WolfyCoreCommon core, UUID playerUUID) {
         this.core = core;
@@ -58,10 +77,28 @@ public class PlayerStorage {
         return getPlayer().map(PersistentDataHolder::getPersistentDataContainer);
     }
 
+    private ObjectReader reader() {
+        if (reader == null) {
+            reader = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper()
+                    .readerFor(CustomPlayerData.class)
+                    .with(new InjectableValues.Std()
+                            .addValue(WolfyCoreSpigot.class, core)
+                            .addValue(UUID.class, playerUUID)
+                    );
+        }
+        return reader;
+    }
+
+    private ObjectWriter writer() {
+        if (writer == null) {
+            writer = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper().writer();
+        }
+        return writer;
+    }
+
     /**
      * Adds/Updates the specified custom data to/in this storage.<br>
-     * The data is then cached and added to the persistent storage!<br>
-     * Therefor this method should only be used a limited amount of times!
+     * The data is then cached and marked as dirty, so it is added to the persistent storage by the next flush.
      *
      * @param data The data value to add/update
      * @return The previous cached value, if any; otherwise null
@@ -71,17 +108,10 @@ public class PlayerStorage {
         if (prev != null) {
             prev.onUnload();
         }
-        getPersistentDataContainer().ifPresent(container -> {
-            var dataContainer = container.getOrDefault(DATA_KEY, PersistentDataType.TAG_CONTAINER, container.getAdapterContext().newPersistentDataContainer());
-            var objectMapper = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper();
-            try {
-                data.onLoad();
-                dataContainer.set(((BukkitNamespacedKey)data.key()).bukkit(), PersistentDataType.STRING, objectMapper.writeValueAsString(data));
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
-            container.set(DATA_KEY, PersistentDataType.TAG_CONTAINER, dataContainer);
-        });
+        if (getPlayer().isPresent()) {
+            data.onLoad();
+        }
+        markDirty(data.key());
         return prev;
     }
 
@@ -114,38 +144,80 @@ public class PlayerStorage {
         NamespacedKey dataID = core.getRegistries().getCustomPlayerData().getKey(dataType);
         if (dataID == null) return Optional.empty(); // Might be null if the type wasn't registered. Check it just in case.
         T dataResult = dataType.cast(CACHED_DATA.get(dataID));
-        if (dataID instanceof BukkitNamespacedKey bukkitDataID && dataResult == null) {
+        // Dirty data that isn't cached was removed, so it must not be loaded from the container until it is flushed.
+        if (dataID instanceof BukkitNamespacedKey bukkitDataID && dataResult == null && !dirtyData.contains(dataID)) {
             // If there isn't any cached data yet
-            Optional<T> data = getPersistentDataContainer().map(container -> {
-                var dataContainer = container.getOrDefault(DATA_KEY, PersistentDataType.TAG_CONTAINER, container.getAdapterContext().newPersistentDataContainer());
-                var objectMapper = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper();
+            dataResult = getPersistentDataContainer().map(container -> {
+                var dataContainer = container.get(DATA_KEY, PersistentDataType.TAG_CONTAINER);
+                if (dataContainer == null) return null;
                 org.bukkit.NamespacedKey key = bukkitDataID.bukkit();
-                if (dataContainer.has(key, PersistentDataType.STRING)) {
-                    String jsonData = dataContainer.get(key, PersistentDataType.STRING);
-                    if (jsonData != null && !jsonData.equals("null") && !jsonData.isBlank()) {
-                        try {
-                            return objectMapper.reader(new InjectableValues.Std()
-                                            .addValue(WolfyCoreSpigot.class, core)
-                                            .addValue(UUID.class, playerUUID)
-                                    )
-                                    .forType(CustomPlayerData.class)
-                                    .readValue(jsonData);
-                        } catch (JsonProcessingException e) {
-                            core.getLogger().warning("Unable to load custom data from '" + jsonData + "'! Removing it now to prevent further issues!");
-                            // Directly modify the container instead of calling removeData() as the unload method will never be called anyway.
-                            dataContainer.remove(key);
-                            container.set(DATA_KEY, PersistentDataType.TAG_CONTAINER, dataContainer);
-                        }
+                String jsonData = dataContainer.get(key, PersistentDataType.STRING);
+                if (jsonData != null && !jsonData.equals("null") && !jsonData.isBlank()) {
+                    try {
+                        return dataType.cast(reader().readValue(jsonData));
+                    } catch (JsonProcessingException e) {
+                        core.getLogger().warning("Unable to load custom data from '" + jsonData + "'! Removing it now to prevent further issues!");
+                        // Directly modify the container instead of calling removeData() as the unload method will never be called anyway.
+                        dataContainer.remove(key);
+                        container.set(DATA_KEY, PersistentDataType.TAG_CONTAINER, dataContainer);
                     }
                 }
                 return null;
-            });
-            dataResult = data.orElse(null);
-            CACHED_DATA.put(dataID, dataResult);
+            }).orElse(null);
+            if (dataResult != null) {
+                CACHED_DATA.put(dataID, dataResult);
+            }
         }
         return Optional.ofNullable(dataResult);
     }
 
+    /**
+     * Loads all the data of the player, that is not yet cached, into the cache.<br>
+     * The JSON is copied from the persistent data container on the calling (main) thread, and deserialized by an async task.
+     * Once done, the data is added to the cache on the main thread, unless it was set or removed in the meantime.
+     *
+     * @return A future that completes on the main thread, once the data is cached.
+     */
+    public CompletableFuture<Void> loadAsync() {
+        Map<org.bukkit.NamespacedKey, String> jsonData = new HashMap<>();
+        getPersistentDataContainer().ifPresent(container -> {
+            var dataContainer = container.get(DATA_KEY, PersistentDataType.TAG_CONTAINER);
+            if (dataContainer == null) return;
+            for (org.bukkit.NamespacedKey key : dataContainer.getKeys()) {
+                NamespacedKey dataID = BukkitNamespacedKey.fromBukkit(key);
+                if (CACHED_DATA.containsKey(dataID) || dirtyData.contains(dataID)) continue;
+                String json = dataContainer.get(key, PersistentDataType.STRING);
+                if (json != null && !json.equals("null") && !json.isBlank()) {
+                    jsonData.put(key, json);
+                }
+            }
+        });
+        if (jsonData.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        var scheduler = core.getPlatform().getScheduler();
+        var api = core.getWolfyUtils();
+        ObjectReader dataReader = reader();
+        return CompletableFuture.supplyAsync(() -> {
+            List<CustomPlayerData> loaded = new ArrayList<>(jsonData.size());
+            for (Map.Entry<org.bukkit.NamespacedKey, String> entry : jsonData.entrySet()) {
+                try {
+                    loaded.add(dataReader.readValue(entry.getValue()));
+                } catch (JsonProcessingException e) {
+                    // Broken data is removed once it is requested by getData
+                    core.getLogger().warning("Unable to load custom data from '" + entry.getValue() + "'!");
+                }
+            }
+            return loaded;
+        }, runnable -> scheduler.asyncTask(api, runnable)).thenAcceptAsync(loaded -> {
+            for (CustomPlayerData data : loaded) {
+                if (data != null && !dirtyData.contains(data.key())) {
+                    CACHED_DATA.putIfAbsent(data.key(), data);
+                }
+            }
+        }, runnable -> scheduler.syncTask(api, runnable));
+    }
+
     /**
      * Removes the data saved under the specified id.
      *
@@ -159,13 +231,9 @@ public class PlayerStorage {
         if (prev != null) {
             prev.onUnload();
         }
-        getPersistentDataContainer().ifPresent(container -> {
-            var dataContainer = container.getOrDefault(DATA_KEY, PersistentDataType.TAG_CONTAINER, container.getAdapterContext().newPersistentDataContainer());
-            if (dataID instanceof BukkitNamespacedKey bukkitDataID) {
-                dataContainer.remove(bukkitDataID.bukkit());
-            }
-            container.set(DATA_KEY, PersistentDataType.TAG_CONTAINER, dataContainer);
-        });
+        if (dataID != null) {
+            markDirty(dataID);
+        }
         return prev;
     }
 
@@ -179,30 +247,152 @@ public class PlayerStorage {
         return removeData(core.getRegistries().getCustomPlayerData().get(dataID));
     }
 
+    /**
+     * Marks the cached data of the specified type as dirty, so it is written to the persistent data container by the next flush.<br>
+     * This is required when the data is modified in place.
+     *
+     * @param dataType The type of the data. Must be registered in {@link BukkitRegistries#getCustomPlayerData()}!
+     */
+    public void markDirty(Class<? extends CustomPlayerData> dataType) {
+        NamespacedKey dataID = core.getRegistries().getCustomPlayerData().getKey(dataType);
+        if (dataID != null && CACHED_DATA.containsKey(dataID)) {
+            markDirty(dataID);
+        }
+    }
+
+    private void markDirty(NamespacedKey dataID) {
+        dirtyData.add(dataID);
+        if (!core.persistentStorage.isPlayerWriteBehind()) {
+            update();
+        }
+    }
+
+    /**
+     * Checks if there is data, that was set or removed, but is not yet written to the persistent data container.
+     *
+     * @return True if there is dirty data; otherwise false.
+     */
+    public boolean isDirty() {
+        return !dirtyData.isEmpty();
+    }
+
     /**
      * Updates all the currently cached values in the persistent data container
      * and clears the cache afterwards.
      */
     public void updateAndClearCache() {
-        update();
+        updateAll();
         CACHED_DATA.clear();
     }
 
     /**
-     * Updates all the currently cached values in the persistent data container.
+     * Writes the dirty data to the persistent data container immediately.
      */
     public void update() {
-        if (CACHED_DATA.isEmpty()) return;
+        if (dirtyData.isEmpty()) return;
+        Set<NamespacedKey> keys = new HashSet<>(dirtyData);
+        dirtyData.clear();
+        writeNow(keys);
+    }
+
+    /**
+     * Writes all the currently cached values, and the dirty data, to the persistent data container immediately.<br>
+     * Unlike {@link #update()}, this includes cached data that was modified in place without being marked as dirty.
+     */
+    public void updateAll() {
+        if (CACHED_DATA.isEmpty() && dirtyData.isEmpty()) return;
+        Set<NamespacedKey> keys = new HashSet<>(CACHED_DATA.keySet());
+        keys.addAll(dirtyData);
+        dirtyData.clear();
+        writeNow(keys);
+    }
+
+    private void writeNow(Set<NamespacedKey> keys) {
+        Map<NamespacedKey, String> jsonData = new HashMap<>();
+        for (NamespacedKey key : keys) {
+            flushVersions.put(key, ++flushVersion); // Discards the results of pending async flushes
+            CustomPlayerData data = CACHED_DATA.get(key);
+            jsonData.put(key, data != null ? serialize(data) : null);
+        }
+        write(jsonData);
+    }
+
+    /**
+     * Flushes the dirty data to the persistent data container.<br>
+     * The data is copied on the calling (main) thread and serialized by an async task.
+     * Once done, the serialized data is written to the persistent data container on the main thread.
+     * Data that cannot be copied (that returns null from {@link CustomPlayerData#copy()}) is serialized on the calling thread.
+     *
+     * @return A future that completes on the main thread, once the data is written.
+     */
+    public CompletableFuture<Void> flushAsync() {
+        if (dirtyData.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        Map<NamespacedKey, Long> versions = new HashMap<>();
+        Map<NamespacedKey, CustomPlayerData> copies = new HashMap<>();
+        Map<NamespacedKey, String> jsonData = new HashMap<>();
+        for (NamespacedKey key : dirtyData) {
+            versions.put(key, ++flushVersion);
+            flushVersions.put(key, flushVersion);
+            CustomPlayerData data = CACHED_DATA.get(key);
+            if (data == null) {
+                jsonData.put(key, null);
+                continue;
+            }
+            CustomPlayerData copy = data.copy();
+            if (copy != null) {
+                copies.put(key, copy);
+            } else {
+                jsonData.put(key, serialize(data));
+            }
+        }
+        dirtyData.clear();
+        var scheduler = core.getPlatform().getScheduler();
+        var api = core.getWolfyUtils();
+        ObjectWriter dataWriter = writer();
+        return CompletableFuture.supplyAsync(() -> {
+            for (Map.Entry<NamespacedKey, CustomPlayerData> entry : copies.entrySet()) {
+                try {
+                    jsonData.put(entry.getKey(), serialize(dataWriter, entry.getValue()));
+                } catch (RuntimeException e) {
+                    core.getLogger().warning("Unable to save custom data '" + entry.getKey() + "' of player " + playerUUID + ": " + e.getMessage());
+                }
+            }
+            return jsonData;
+        }, runnable -> scheduler.asyncTask(api, runnable)).thenAcceptAsync(serialized -> {
+            // Only write the data that wasn't flushed again in the meantime
+            serialized.keySet().removeIf(key -> flushVersions.getLong(key) != versions.get(key));
+            write(serialized);
+        }, runnable -> scheduler.syncTask(api, runnable));
+    }
+
+    private String serialize(CustomPlayerData data) {
+        return serialize(writer(), data);
+    }
+
+    private String serialize(ObjectWriter dataWriter, CustomPlayerData data) {
+        try {
+            return dataWriter.writeValueAsString(data);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Writes the serialized data into the persistent data container. Null values remove the data.
+     */
+    private void write(Map<NamespacedKey, String> jsonData) {
+        if (jsonData.isEmpty()) return;
         getPersistentDataContainer().ifPresent(container -> {
             var dataContainer = container.getOrDefault(DATA_KEY, PersistentDataType.TAG_CONTAINER, container.getAdapterContext().newPersistentDataContainer());
-            var objectMapper = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper();
-            for (Map.Entry<NamespacedKey, CustomPlayerData> dataEntry : CACHED_DATA.entrySet()) {
-                try {
-                    if (dataEntry.getKey() instanceof BukkitNamespacedKey bukkitDataID) {
-                        dataContainer.set(bukkitDataID.bukkit(), PersistentDataType.STRING, objectMapper.writeValueAsString(dataEntry.getValue()));
+            for (Map.Entry<NamespacedKey, String> dataEntry : jsonData.entrySet()) {
+                if (dataEntry.getKey() instanceof BukkitNamespacedKey bukkitDataID) {
+                    if (dataEntry.getValue() != null) {
+                        dataContainer.set(bukkitDataID.bukkit(), PersistentDataType.STRING, dataEntry.getValue());
+                    } else {
+                        dataContainer.remove(bukkitDataID.bukkit());
                     }
-                } catch (JsonProcessingException e) {
-                    throw new RuntimeException(e);
                 }
             }
             container.set(DATA_KEY, PersistentDataType.TAG_CONTAINER, dataContainer);
@@ -0,0 +1,42 @@
+package com.wolfyscript.utilities.bukkit.persistent.world;
+
+import com.fasterxml.jackson.databind.InjectableValues;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
+import java.io.IOException;
+import org.bukkit.util.Vector;
+
+/**
+ * Deserializes the {@link CustomBlockData} of the blocks inside a chunk.<br>
+ * The reader and its injectable values are created once and reused for every block of the chunk,
+ * only the injected position is replaced for each block.<br>
+ * <b>An instance must not be shared between threads!</b>
+ */
+final class BlockDataReader {
+
+    private final InjectableValues.Std injectables;
+    private final ObjectReader reader;
+
+    BlockDataReader(ChunkStorage chunkStorage) {
+        WolfyCoreCommon core = chunkStorage.getCore();
+        this.injectables = new InjectableValues.Std()
+                .addValue(WolfyCore.class, core)
+                .addValue(ChunkStorage.class, chunkStorage);
+        this.reader = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper().readerFor(CustomBlockData.class).with(injectables);
+    }
+
+    /**
+     * Deserializes the payload of the block at the specified position.
+     *
+     * @param pos     The position of the block.
+     * @param payload The serialized data.
+     * @return The deserialized data.
+     * @throws IOException If the payload cannot be deserialized.
+     */
+    CustomBlockData read(Vector pos, byte[] payload) throws IOException {
+        injectables.addValue(Vector.class, pos);
+        return reader.readValue(payload);
+    }
+
+}
@@ -6,6 +6,8 @@ import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
 import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.WolfyCore;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -26,6 +28,10 @@ public class BlockStorage {
     private final PersistentDataContainer persistentContainer;
 
     private final Map<NamespacedKey, CustomBlockData> data = new HashMap<>();
+    /**
+     * Serialized data that could not be loaded (e.g. the data type isn't registered), so it is stored again when saved.
+     */
+    private final Map<NamespacedKey, byte[]> unresolvedPayloads = new HashMap<>();
 
     public BlockStorage(ChunkStorage chunkStorage, Vector pos, PersistentDataContainer persistentContainer) {
         this.chunkStorage = chunkStorage;
@@ -46,6 +52,15 @@ public class BlockStorage {
         return data.isEmpty();
     }
 
+    /**
+     * Checks if this storage contains anything that needs to be saved, including data that could not be loaded.
+     *
+     * @return true if there is data to save; false otherwise.
+     */
+    boolean hasPayloads() {
+        return !data.isEmpty() || !unresolvedPayloads.isEmpty();
+    }
+
     public void remove() {
         getChunkStorage().removeBlock(getPos());
     }
@@ -77,6 +92,34 @@ public class BlockStorage {
         return Optional.empty();
     }
 
+    /**
+     * Removes the data with the specified key, together with the serialized data of that key that could not be loaded.
+     *
+     * @param key The key of the data.
+     * @return The removed data; or empty Optional if no data was loaded for the key.
+     */
+    public Optional<CustomBlockData> removeData(NamespacedKey key) {
+        CustomBlockData removed = data.remove(key);
+        boolean removedPayload = unresolvedPayloads.remove(key) != null;
+        if (removed != null) {
+            removed.onUnload();
+        }
+        if (removed != null || removedPayload) {
+            chunkStorage.updateBlock(pos);
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    /**
+     * Checks if this storage contains data with the specified key.
+     *
+     * @param key The key of the data.
+     * @return true if the data is available; false otherwise.
+     */
+    public boolean hasData(NamespacedKey key) {
+        return data.containsKey(key);
+    }
+
     public Collection<CustomBlockData> getDataValues() {
         return data.values();
     }
@@ -121,8 +164,51 @@ public class BlockStorage {
             }
             if (blockData != null) {
                 data.put(wuKey, blockData);
+            } else if (customDataString != null) {
+                unresolvedPayloads.put(wuKey, customDataString.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * Serializes the data of this storage into the payloads of the {@link PackedBlocksFormat}.
+     *
+     * @return The serialized data mapped by the data keys.
+     */
+    Map<NamespacedKey, byte[]> writePayloads() {
+        var objectMapper = core.getWolfyUtils().getJacksonMapperUtil().getGlobalMapper();
+        Map<NamespacedKey, byte[]> payloads = new HashMap<>(unresolvedPayloads);
+        for (Map.Entry<NamespacedKey, CustomBlockData> entry : data.entrySet()) {
+            try {
+                payloads.put(entry.getKey(), objectMapper.writeValueAsBytes(entry.getValue()));
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
             }
         }
+        return payloads;
+    }
+
+    /**
+     * Deserializes a payload of the {@link PackedBlocksFormat} into the data of this storage.<br>
+     * Payloads that cannot be deserialized are kept as they are, so they are not lost on the next save.
+     *
+     * @param reader  The reader of the chunk, that deserializes the data.
+     * @param key     The key of the data.
+     * @param payload The serialized data.
+     */
+    void readPayload(BlockDataReader reader, NamespacedKey key, byte[] payload) {
+        CustomBlockData blockData = null;
+        try {
+            blockData = reader.read(pos, payload);
+        } catch (IOException e) {
+            core.getLogger().severe("Failed to load custom block data \"" + key + "\" at pos " + pos);
+            e.printStackTrace();
+        }
+        if (blockData != null) {
+            data.put(key, blockData);
+        } else {
+            unresolvedPayloads.put(key, payload);
+        }
     }
 
     public void copyToOtherBlockStorage(BlockStorage storage) {
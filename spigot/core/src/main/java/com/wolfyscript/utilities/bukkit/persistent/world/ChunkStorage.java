@@ -3,13 +3,30 @@ package com.wolfyscript.utilities.bukkit.persistent.world;
 import com.fasterxml.jackson.annotation.JsonIncludeProperties;
 import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.math.Vec2i;
-import java.util.HashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.NamespacedKey;
+import org.bukkit.persistence.PersistentDataAdapterContext;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.util.Vector;
@@ -17,16 +34,34 @@ import org.bukkit.util.Vector;
 @JsonIncludeProperties
 public class ChunkStorage {
 
+    /**
+     * The key of the legacy format, that stores each block in a separate container with the key "wolfyutils:x_y_z".<br>
+     * Chunks in that format are migrated to the {@link #PACKED_BLOCKS_KEY} when loaded.
+     */
     public static final NamespacedKey BLOCKS_KEY = new NamespacedKey("wolfyutils", "blocks");
+    /**
+     * The key of the byte array that contains all blocks in the {@link PackedBlocksFormat}.
+     */
+    public static final NamespacedKey PACKED_BLOCKS_KEY = new NamespacedKey("wolfyutils", "blocks_packed");
 
-    private static final String BLOCK_POS_KEY = "%s_%s_%s"; //x, y, z
-    private static final String BLOCK_POS_NAMESPACE = "wolfyutils"; //-> "wolfyutils:x_y_z"
-
-    private final Map<Vector, BlockStorage> BLOCKS = new HashMap<>();
+    /**
+     * The stored blocks mapped by their packed position (See {@link WorldStorage#blockKey(int, int, int)}).
+     */
+    private final Long2ObjectOpenHashMap<BlockStorage> BLOCKS = new Long2ObjectOpenHashMap<>();
+    private final Map<Vector, BlockStorage> storedBlocksView = new StoredBlocksView();
 
     private final Vec2i coords;
     private final WorldStorage worldStorage;
     private final WolfyCoreCommon core;
+    private boolean dirty = false;
+
+    private LoadState loadState = LoadState.NOT_LOADED;
+    private CompletableFuture<List<BlockStorage>> pendingDecode;
+    private CompletableFuture<Collection<BlockStorage>> pendingLoad;
+    /**
+     * The positions of the blocks that were removed while loading, so the loaded blocks do not add them back.
+     */
+    private final LongOpenHashSet removedWhileLoading = new LongOpenHashSet();
 
     private ChunkStorage(WorldStorage worldStorage, Vec2i coords) {
         this.coords = coords;
@@ -38,6 +73,15 @@ public class ChunkStorage {
         return core;
     }
 
+    /**
+     * Gets the coords of the chunk this storage belongs to.
+     *
+     * @return The chunk coords.
+     */
+    public Vec2i getCoords() {
+        return coords;
+    }
+
     /**
      * Gets the parent WorldStorage of this ChunkStorage.
      *
@@ -61,21 +105,187 @@ public class ChunkStorage {
     /**
      * Loads the blocks from the PersistentDataContainer into the cache.<br>
      * From this point on the cache and PersistentDataContainer is kept in sync whenever adding/removing blocks.<br>
+     * Blocks that are still stored in the legacy format ({@link #BLOCKS_KEY}) are migrated to the {@link PackedBlocksFormat}.<br>
      * <br>
      * <b>If for whatever reason the PersistentDataContainer was modified, this method should be called to update the cache!</b>
+     *
+     * @see #loadBlocksIntoCacheAsync()
      */
     public void loadBlocksIntoCache() {
-        getPersistentBlocksContainer().ifPresent(blocks -> {
-            blocks.getKeys().forEach(key -> {
+        awaitLoading();
+        getPersistentContainer().ifPresent(this::loadBlocks);
+        loadState = LoadState.LOADED;
+    }
+
+    /**
+     * Loads the blocks from the PersistentDataContainer into the cache, without deserializing them on the main thread.<br>
+     * The packed bytes are copied from the chunk on the calling (main) thread, and the {@link CustomBlockData} is deserialized by an async task.
+     * Once done, the loaded blocks are added to the cache and {@link BlockStorage#onLoad()} is called for all of them in a single batch on the main thread.<br>
+     * While the blocks are loading, the {@link #getLoadState()} is {@link LoadState#LOADING}, and accessing the blocks of this chunk waits for them to finish loading.<br>
+     * Chunks that still contain blocks in the legacy format are loaded and migrated synchronously.
+     *
+     * @return A future that completes on the main thread with the blocks that were added to the cache.
+     */
+    public CompletableFuture<Collection<BlockStorage>> loadBlocksIntoCacheAsync() {
+        if (pendingLoad != null) {
+            return pendingLoad;
+        }
+        Optional<PersistentDataContainer> persistentContainer = getPersistentContainer();
+        if (persistentContainer.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        PersistentDataContainer container = persistentContainer.get();
+        byte[] packedBlocks = container.get(PACKED_BLOCKS_KEY, PersistentDataType.BYTE_ARRAY);
+        if (packedBlocks == null || container.has(BLOCKS_KEY, PersistentDataType.TAG_CONTAINER)) {
+            List<BlockStorage> loaded = loadBlocks(container);
+            loadState = LoadState.LOADED;
+            loaded.forEach(BlockStorage::onLoad);
+            return CompletableFuture.completedFuture(loaded);
+        }
+        PersistentDataAdapterContext adapterContext = container.getAdapterContext();
+        var scheduler = core.getPlatform().getScheduler();
+        var api = core.getWolfyUtils();
+        CompletableFuture<List<BlockStorage>> decode = CompletableFuture.supplyAsync(() -> readPackedBlocks(adapterContext, packedBlocks), runnable -> scheduler.asyncTask(api, runnable));
+        loadState = LoadState.LOADING;
+        pendingDecode = decode;
+        pendingLoad = decode.handleAsync((blocks, throwable) -> {
+            if (throwable != null) {
+                logLoadFailure(throwable);
+            }
+            return finishLoading(decode, blocks != null ? blocks : List.of(), true);
+        }, runnable -> scheduler.syncTask(api, runnable));
+        return pendingLoad;
+    }
+
+    /**
+     * Gets the state of the blocks, that are loaded from the PersistentDataContainer.
+     *
+     * @return The current load state.
+     */
+    public LoadState getLoadState() {
+        return loadState;
+    }
+
+    /**
+     * Checks if the blocks of this chunk are still being deserialized.<br>
+     * Until done, the cache may not contain all the blocks of the chunk.
+     *
+     * @return True if the blocks are still loading; otherwise false.
+     */
+    public boolean isLoading() {
+        return loadState == LoadState.LOADING;
+    }
+
+    /**
+     * Blocks the calling (main) thread until the blocks that are loaded by {@link #loadBlocksIntoCacheAsync()} are deserialized, and adds them to the cache immediately.<br>
+     * Does nothing if the blocks are not loading.
+     */
+    public void awaitLoading() {
+        awaitLoading(true);
+    }
+
+    /**
+     * Waits for the blocks that are loading and adds them to the cache.
+     *
+     * @param saveIfDirty If the chunk should be saved when it was changed while loading. {@link #saveBlocks()} saves it itself afterwards.
+     */
+    private void awaitLoading(boolean saveIfDirty) {
+        CompletableFuture<List<BlockStorage>> decode = pendingDecode;
+        if (decode == null) return;
+        List<BlockStorage> blocks;
+        try {
+            blocks = decode.join();
+        } catch (CompletionException | CancellationException e) {
+            logLoadFailure(e);
+            blocks = List.of();
+        }
+        finishLoading(decode, blocks, saveIfDirty);
+    }
+
+    /**
+     * Waits for the blocks that are loading, so the cache contains all the blocks of the chunk before it is accessed.
+     */
+    private void ensureLoaded() {
+        if (loadState == LoadState.LOADING) {
+            awaitLoading();
+        }
+    }
+
+    private List<BlockStorage> loadBlocks(PersistentDataContainer container) {
+        List<BlockStorage> loaded = new ArrayList<>();
+        byte[] packedBlocks = container.get(PACKED_BLOCKS_KEY, PersistentDataType.BYTE_ARRAY);
+        if (packedBlocks != null) {
+            addLoadedBlocks(readPackedBlocks(container.getAdapterContext(), packedBlocks), loaded);
+        }
+        PersistentDataContainer legacyBlocks = container.get(BLOCKS_KEY, PersistentDataType.TAG_CONTAINER);
+        if (legacyBlocks != null) {
+            List<BlockStorage> legacyLoaded = new ArrayList<>();
+            legacyBlocks.getKeys().forEach(key -> {
                 String[] coordsStrings = key.getKey().split("_");
                 int[] coords = new int[3];
                 for (int i = 0; i < coordsStrings.length; i++) {
                     coords[i] = Integer.parseInt(coordsStrings[i]);
                 }
                 var coordsVec = new Vector(coords[0], coords[1], coords[2]);
-                setBlockStorageIfAbsent(blocks.get(key, new BlockStorage.PersistentType(this, coordsVec)));
+                BlockStorage blockStorage = legacyBlocks.get(key, new BlockStorage.PersistentType(this, coordsVec));
+                if (blockStorage != null) {
+                    legacyLoaded.add(blockStorage);
+                }
             });
-        });
+            addLoadedBlocks(legacyLoaded, loaded);
+            // Migrate to the packed format
+            container.remove(BLOCKS_KEY);
+            saveBlocks();
+        }
+        return loaded;
+    }
+
+    private List<BlockStorage> readPackedBlocks(PersistentDataAdapterContext adapterContext, byte[] packedBlocks) {
+        try {
+            return PackedBlocksFormat.read(this, adapterContext, packedBlocks);
+        } catch (IOException e) {
+            logLoadFailure(e);
+            return List.of();
+        }
+    }
+
+    private void logLoadFailure(Throwable throwable) {
+        core.getLogger().severe("Failed to load the blocks of chunk " + coords.getX() + ", " + coords.getY());
+        throwable.printStackTrace();
+    }
+
+    /**
+     * Adds the deserialized blocks to the cache, unless they were changed while the blocks were loading.
+     *
+     * @param decode      The deserialization, that loaded the blocks.
+     * @param blocks      The loaded blocks.
+     * @param saveIfDirty If the chunk should be saved when it was changed while loading.
+     * @return The blocks that were added to the cache.
+     */
+    private Collection<BlockStorage> finishLoading(CompletableFuture<List<BlockStorage>> decode, List<BlockStorage> blocks, boolean saveIfDirty) {
+        if (pendingDecode != decode) {
+            return List.of(); // Already added by awaitLoading()
+        }
+        pendingDecode = null;
+        pendingLoad = null;
+        List<BlockStorage> loaded = new ArrayList<>(blocks.size());
+        addLoadedBlocks(blocks, loaded);
+        removedWhileLoading.clear();
+        loadState = LoadState.LOADED;
+        if (saveIfDirty && dirty && !core.persistentStorage.isChunkWriteBehind()) {
+            saveBlocks();
+        }
+        loaded.forEach(BlockStorage::onLoad);
+        return loaded;
+    }
+
+    private void addLoadedBlocks(List<BlockStorage> blocks, List<BlockStorage> loaded) {
+        for (BlockStorage blockStorage : blocks) {
+            long key = WorldStorage.blockKey(blockStorage.getPos());
+            if (!removedWhileLoading.contains(key) && BLOCKS.putIfAbsent(key, blockStorage) == null) {
+                loaded.add(blockStorage);
+            }
+        }
     }
 
     /**
@@ -98,16 +308,6 @@ public class ChunkStorage {
         return worldStorage.getWorld().map(world -> world.getChunkAt(coords.getX(), coords.getY()).getPersistentDataContainer());
     }
 
-    private Optional<PersistentDataContainer> getPersistentBlocksContainer() {
-        return getPersistentContainer().map(container -> {
-            var context = container.getAdapterContext();
-            if (!container.has(BLOCKS_KEY, PersistentDataType.TAG_CONTAINER)) {
-                container.set(BLOCKS_KEY, PersistentDataType.TAG_CONTAINER, context.newPersistentDataContainer());
-            }
-            return container.get(BLOCKS_KEY, PersistentDataType.TAG_CONTAINER);
-        });
-    }
-
     /**
      * Removes the stored block at this location and stops every active particle effect.<br>
      * <i>This converts the location to a Vector and uses {@link #removeBlock(Vector)}</i>
@@ -128,7 +328,11 @@ public class ChunkStorage {
      * @see #removeBlock(Location)
      */
     public Optional<BlockStorage> removeBlock(Vector pos) {
-        var previousStore = BLOCKS.remove(pos);
+        long key = WorldStorage.blockKey(pos);
+        var previousStore = BLOCKS.remove(key);
+        if (loadState == LoadState.LOADING) {
+            removedWhileLoading.add(key);
+        }
         updateBlock(pos);
         if (previousStore != null) {
             previousStore.onUnload();
@@ -148,8 +352,13 @@ public class ChunkStorage {
      * @return The existing BlockStorage; otherwise a new BlockStorage Instance.
      */
     public BlockStorage getOrCreateAndSetBlockStorage(Location location) {
-        var pos = location.toVector();
-        BlockStorage blockStorage = BLOCKS.computeIfAbsent(pos, vector -> createBlockStorage(location));
+        ensureLoaded();
+        long key = WorldStorage.blockKey(location);
+        BlockStorage blockStorage = BLOCKS.get(key);
+        if (blockStorage == null) {
+            blockStorage = createBlockStorage(location);
+            BLOCKS.put(key, blockStorage);
+        }
         updateBlock(blockStorage.getPos());
         return blockStorage;
     }
@@ -161,8 +370,9 @@ public class ChunkStorage {
      * @return The BlockStorage of the block if it exists; otherwise a new BlockStorage instance for the block.
      */
     public BlockStorage getOrCreateBlockStorage(Location location) {
-        var pos = location.toVector();
-        return BLOCKS.getOrDefault(pos, createBlockStorage(location));
+        ensureLoaded();
+        BlockStorage blockStorage = BLOCKS.get(WorldStorage.blockKey(location));
+        return blockStorage != null ? blockStorage : createBlockStorage(location);
     }
 
     /**
@@ -173,7 +383,10 @@ public class ChunkStorage {
      * @return The new instance of the BlockStorage.
      */
     public BlockStorage createBlockStorage(Location location) {
-        var pos = location.toVector();
+        return createBlockStorage(location.toVector());
+    }
+
+    BlockStorage createBlockStorage(Vector pos) {
         var persistentBlockContainer = getPersistentContainer().map(container -> container.getAdapterContext().newPersistentDataContainer()).orElseThrow(() -> new RuntimeException("Failed to create PersistentDataContainer!"));
         return new BlockStorage(this, pos, persistentBlockContainer);
     }
@@ -184,7 +397,8 @@ public class ChunkStorage {
      * @param blockStorage The BlockStorage to apply.
      */
     public void setBlockStorageIfAbsent(BlockStorage blockStorage) {
-        BLOCKS.putIfAbsent(blockStorage.getPos(), blockStorage);
+        ensureLoaded();
+        BLOCKS.putIfAbsent(WorldStorage.blockKey(blockStorage.getPos()), blockStorage);
         updateBlock(blockStorage.getPos());
     }
 
@@ -195,7 +409,8 @@ public class ChunkStorage {
      * @return True if there exists a BlockStorage at the location; otherwise false.
      */
     public boolean isBlockStored(Location location) {
-        return BLOCKS.containsKey(location.toVector());
+        ensureLoaded();
+        return BLOCKS.containsKey(WorldStorage.blockKey(location));
     }
 
     /**
@@ -205,47 +420,205 @@ public class ChunkStorage {
      * @return The stored block if stored; otherwise empty Optional.
      */
     public Optional<BlockStorage> getBlock(Location location) {
-        return Optional.ofNullable(BLOCKS.get(location.toVector()));
+        ensureLoaded();
+        return Optional.ofNullable(BLOCKS.get(WorldStorage.blockKey(location)));
     }
 
     /**
-     * Gets the stored blocks in the chunk.
+     * Gets the stored blocks in the chunk.<br>
+     * The returned map is a live read-only view, so it reflects later changes to the chunk.
+     * The chunk must not be modified while iterating over the view!
      *
      * @return The stored blocks in the chunk.
      */
     public Map<Vector, BlockStorage> getStoredBlocks() {
-        return BLOCKS.entrySet().stream().filter(entry -> entry.getValue() != null).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        ensureLoaded();
+        return storedBlocksView;
+    }
+
+    /**
+     * Gets a live read-only view of the stored blocks in the chunk.
+     *
+     * @return The stored blocks in the chunk.
+     */
+    public Collection<BlockStorage> getBlocks() {
+        ensureLoaded();
+        return Collections.unmodifiableCollection(BLOCKS.values());
     }
 
     /**
-     * Updates the specified block position in the PersistentStorageContainer.
+     * Calls the action for each stored block in the chunk, whose position is inside the specified bounds (inclusive).
+     *
+     * @param minX   The min x coordinate.
+     * @param minY   The min y coordinate.
+     * @param minZ   The min z coordinate.
+     * @param maxX   The max x coordinate.
+     * @param maxY   The max y coordinate.
+     * @param maxZ   The max z coordinate.
+     * @param action The action to call for each matching block.
+     */
+    void forEachBlockIn(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Consumer<BlockStorage> action) {
+        ensureLoaded();
+        ObjectIterator<Long2ObjectMap.Entry<BlockStorage>> iterator = BLOCKS.long2ObjectEntrySet().fastIterator();
+        while (iterator.hasNext()) {
+            Long2ObjectMap.Entry<BlockStorage> entry = iterator.next();
+            long key = entry.getLongKey();
+            int x = WorldStorage.blockKeyX(key);
+            int y = WorldStorage.blockKeyY(key);
+            int z = WorldStorage.blockKeyZ(key);
+            if (x < minX || x > maxX || y < minY || y > maxY || z < minZ || z > maxZ) continue;
+            action.accept(entry.getValue());
+        }
+    }
+
+    /**
+     * Updates the specified block position in the PersistentStorageContainer.<br>
+     * The {@link PackedBlocksFormat} stores all blocks of the chunk together, so the whole chunk is saved immediately.<br>
+     * When the write-behind mode of the {@link com.wolfyscript.utilities.bukkit.persistent.PersistentStorage} is enabled,
+     * this only marks the chunk as dirty, and the blocks are saved the next time the dirty chunks are flushed.
+     * While the blocks are still loading, the chunk is saved once they are loaded.
      *
      * @param blockPos The block position to update.
      */
     public void updateBlock(Vector blockPos) {
-        getPersistentBlocksContainer().ifPresent(blocks -> {
-            var value = BLOCKS.get(blockPos);
-            var key = createKeyForBlock(blockPos);
-            if (value != null && !value.isEmpty()) { //Do not store empty storage in NBT, but keep them in cache.
-                blocks.set(key, new BlockStorage.PersistentType(this, blockPos), value);
-            } else {
-                blocks.remove(key);
+        markDirty();
+        if (core.persistentStorage.isChunkWriteBehind() || loadState == LoadState.LOADING) return;
+        saveBlocks();
+    }
+
+    /**
+     * Marks this chunk as dirty, so the blocks are written to the PersistentDataContainer on the next flush.
+     */
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    /**
+     * Checks if this chunk contains changes that are not yet written to the PersistentDataContainer.
+     *
+     * @return True if the chunk has unsaved changes; otherwise false.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Saves the blocks using {@link #saveBlocks()}, but only if the chunk is dirty.
+     *
+     * @return True if the blocks were saved; otherwise false.
+     */
+    public boolean saveIfDirty() {
+        if (!dirty) return false;
+        saveBlocks();
+        return true;
+    }
+
+    /**
+     * Writes all stored blocks of this chunk to the PersistentDataContainer of the chunk, using the {@link PackedBlocksFormat}.<br>
+     * If the blocks are still loading, this waits for them first, so the chunk never stores only part of its blocks.
+     */
+    public void saveBlocks() {
+        awaitLoading(false);
+        dirty = false;
+        getPersistentContainer().ifPresent(container -> {
+            //Do not store empty storage in NBT, but keep them in cache.
+            List<BlockStorage> blocks = BLOCKS.values().stream().filter(BlockStorage::hasPayloads).toList();
+            if (blocks.isEmpty()) {
+                container.remove(PACKED_BLOCKS_KEY);
+                return;
+            }
+            try {
+                container.set(PACKED_BLOCKS_KEY, PersistentDataType.BYTE_ARRAY, PackedBlocksFormat.write(blocks));
+            } catch (IOException e) {
+                core.getLogger().severe("Failed to save the blocks of chunk " + coords.getX() + ", " + coords.getY());
+                e.printStackTrace();
             }
-            getPersistentContainer().ifPresent(container -> container.set(BLOCKS_KEY, PersistentDataType.TAG_CONTAINER, blocks));
         });
     }
 
     /**
-     * Creates a new key for the specified block position.<br>
-     * Format of key: "wolfyutils:&lt;+/-x&gt;_&lt;+/-y&gt;_&lt;+/-z&gt;"<br>
-     * The key can have a maximum of 255 characters.<br>
-     * "wolfyutils" + ":" + "_"*2 = 13 -> leaves space for 242 characters for x, y, and z including +/-.
-     *
-     * @param blockPos
-     * @return
+     * The state of the blocks, that are loaded from the PersistentDataContainer of the chunk.
+     */
+    public enum LoadState {
+        /**
+         * The blocks were not loaded from the chunk yet.
+         */
+        NOT_LOADED,
+        /**
+         * The blocks are currently deserialized asynchronously, so the cache may not contain all of them.
+         */
+        LOADING,
+        /**
+         * The blocks are loaded into the cache.
+         */
+        LOADED
+    }
+
+    /**
+     * Read-only view of the stored blocks, that maps the packed keys back to the position of the blocks.
      */
-    private NamespacedKey createKeyForBlock(Vector blockPos) {
-        return new NamespacedKey(BLOCK_POS_NAMESPACE, BLOCK_POS_KEY.formatted(blockPos.getBlockX(), blockPos.getBlockY(), blockPos.getBlockZ()));
+    private class StoredBlocksView extends AbstractMap<Vector, BlockStorage> {
+
+        private final Set<Entry<Vector, BlockStorage>> entries = new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<Vector, BlockStorage>> iterator() {
+                Iterator<BlockStorage> values = BLOCKS.values().iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return values.hasNext();
+                    }
+
+                    @Override
+                    public Entry<Vector, BlockStorage> next() {
+                        BlockStorage blockStorage = values.next();
+                        return new SimpleImmutableEntry<>(blockStorage.getPos(), blockStorage);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return BLOCKS.size();
+            }
+        };
+
+        @Override
+        public Set<Entry<Vector, BlockStorage>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public int size() {
+            return BLOCKS.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return BLOCKS.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Vector pos && BLOCKS.containsKey(WorldStorage.blockKey(pos));
+        }
+
+        @Override
+        public BlockStorage get(Object key) {
+            return key instanceof Vector pos ? BLOCKS.get(WorldStorage.blockKey(pos)) : null;
+        }
+
+        @Override
+        public Collection<BlockStorage> values() {
+            return getBlocks();
+        }
+
+        @Override
+        public void forEach(BiConsumer<? super Vector, ? super BlockStorage> action) {
+            for (BlockStorage blockStorage : BLOCKS.values()) {
+                action.accept(blockStorage.getPos(), blockStorage);
+            }
+        }
     }
 
 }
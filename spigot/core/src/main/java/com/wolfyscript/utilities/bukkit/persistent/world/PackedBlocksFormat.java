@@ -0,0 +1,162 @@
+package com.wolfyscript.utilities.bukkit.persistent.world;
+
+import com.wolfyscript.utilities.NamespacedKey;
+import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
+import com.wolfyscript.utilities.math.Vec2i;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.bukkit.persistence.PersistentDataAdapterContext;
+import org.bukkit.util.Vector;
+
+/**
+ * The compact binary layout that the {@link ChunkStorage} uses to store all of its blocks in a single byte array.<br>
+ * All counts and lengths are stored as var-ints.
+ * <pre>
+ * byte    format version ({@link #VERSION})
+ * varint  amount of data keys, followed by each key as a UTF string ("namespace:key")
+ * varint  amount of blocks, followed by each block:
+ *   int     position inside the chunk ((y &lt;&lt; 8) | (z &lt;&lt; 4) | x)
+ *   varint  amount of data entries, followed by each entry:
+ *     varint  index of the data key
+ *     varint  length of the payload, followed by the payload (the serialized {@link CustomBlockData})
+ * </pre>
+ * The data keys are stored once per chunk, so each entry only references them by their index.
+ */
+public final class PackedBlocksFormat {
+
+    public static final int VERSION = 1;
+
+    private PackedBlocksFormat() {
+    }
+
+    /**
+     * Writes the specified blocks into the packed format.
+     *
+     * @param blocks The blocks to write. All of them must be inside the same chunk.
+     * @return The packed bytes.
+     * @throws IOException If the blocks cannot be written.
+     */
+    public static byte[] write(Collection<BlockStorage> blocks) throws IOException {
+        Map<NamespacedKey, Integer> keyIndices = new LinkedHashMap<>();
+        List<Map<NamespacedKey, byte[]>> blockPayloads = new ArrayList<>(blocks.size());
+        for (BlockStorage block : blocks) {
+            Map<NamespacedKey, byte[]> payloads = block.writePayloads();
+            for (NamespacedKey key : payloads.keySet()) {
+                keyIndices.putIfAbsent(key, keyIndices.size());
+            }
+            blockPayloads.add(payloads);
+        }
+
+        var bytes = new ByteArrayOutputStream();
+        var out = new DataOutputStream(bytes);
+        out.writeByte(VERSION);
+        writeVarInt(out, keyIndices.size());
+        for (NamespacedKey key : keyIndices.keySet()) {
+            out.writeUTF(key.toString());
+        }
+        writeVarInt(out, blocks.size());
+        int i = 0;
+        for (BlockStorage block : blocks) {
+            Map<NamespacedKey, byte[]> payloads = blockPayloads.get(i++);
+            out.writeInt(packPos(block.getPos()));
+            writeVarInt(out, payloads.size());
+            for (Map.Entry<NamespacedKey, byte[]> entry : payloads.entrySet()) {
+                writeVarInt(out, keyIndices.get(entry.getKey()));
+                writeVarInt(out, entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Reads the blocks of the specified chunk from the packed format.<br>
+     * This does not access the chunk itself, so it may be called off the main thread,
+     * as long as the returned blocks are only added to the chunk on the main thread.
+     *
+     * @param chunkStorage The chunk the blocks belong to.
+     * @param context      The adapter context used to create the containers of the blocks.
+     * @param bytes        The packed bytes.
+     * @return The blocks with their data loaded.
+     * @throws IOException If the bytes are not in the packed format, or the format version is not supported.
+     */
+    public static List<BlockStorage> read(ChunkStorage chunkStorage, PersistentDataAdapterContext context, byte[] bytes) throws IOException {
+        var in = new DataInputStream(new ByteArrayInputStream(bytes));
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported packed block storage version " + version);
+        }
+        NamespacedKey[] keys = new NamespacedKey[readVarInt(in)];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = BukkitNamespacedKey.of(in.readUTF());
+        }
+        int blockCount = readVarInt(in);
+        List<BlockStorage> blocks = new ArrayList<>(blockCount);
+        var reader = new BlockDataReader(chunkStorage);
+        for (int i = 0; i < blockCount; i++) {
+            var blockStorage = new BlockStorage(chunkStorage, unpackPos(chunkStorage.getCoords(), in.readInt()), context.newPersistentDataContainer());
+            int dataCount = readVarInt(in);
+            for (int j = 0; j < dataCount; j++) {
+                NamespacedKey key = keys[readVarInt(in)];
+                byte[] payload = new byte[readVarInt(in)];
+                in.readFully(payload);
+                blockStorage.readPayload(reader, key, payload);
+            }
+            blocks.add(blockStorage);
+        }
+        return blocks;
+    }
+
+    /**
+     * Packs the position of a block into its index inside the chunk.
+     *
+     * @param pos The position of the block.
+     * @return The packed position.
+     */
+    public static int packPos(Vector pos) {
+        return (pos.getBlockY() << 8) | ((pos.getBlockZ() & 15) << 4) | (pos.getBlockX() & 15);
+    }
+
+    /**
+     * Unpacks the index of a block inside the chunk to the position of the block.
+     *
+     * @param chunkCoords The coords of the chunk.
+     * @param packed      The packed position.
+     * @return The position of the block.
+     */
+    public static Vector unpackPos(Vec2i chunkCoords, int packed) {
+        return new Vector((chunkCoords.getX() << 4) | (packed & 15), packed >> 8, (chunkCoords.getY() << 4) | ((packed >> 4) & 15));
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("VarInt is too big");
+    }
+
+}
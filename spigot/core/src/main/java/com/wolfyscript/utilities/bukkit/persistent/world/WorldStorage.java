@@ -1,21 +1,38 @@
 package com.wolfyscript.utilities.bukkit.persistent.world;
 
+import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.math.Vec2i;
-import java.util.HashMap;
-import java.util.Map;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
 import org.bukkit.persistence.PersistentDataContainer;
 import org.bukkit.persistence.PersistentDataHolder;
+import org.bukkit.util.BoundingBox;
 import org.bukkit.util.Vector;
+import org.jetbrains.annotations.Nullable;
 
+/**
+ * Caches the {@link ChunkStorage}s of a world and provides spatial queries for the stored blocks.<br>
+ * Chunks and blocks are indexed by packed long keys (See {@link #chunkKey(int, int)} and {@link #blockKey(int, int, int)}),
+ * so queries only visit the cached chunks that intersect the queried region.
+ */
 public class WorldStorage {
 
-    private final Map<Vec2i, ChunkStorage> CHUNK_DATA = new HashMap<>();
+    private static final int BLOCK_XZ_BITS = 26;
+    private static final int BLOCK_Y_BITS = 12;
+    private static final long BLOCK_XZ_MASK = (1L << BLOCK_XZ_BITS) - 1;
+    private static final long BLOCK_Y_MASK = (1L << BLOCK_Y_BITS) - 1;
+    private static final int BLOCK_X_SHIFT = BLOCK_XZ_BITS + BLOCK_Y_BITS;
+    private static final int BLOCK_Z_SHIFT = BLOCK_Y_BITS;
+
+    private final Long2ObjectOpenHashMap<ChunkStorage> CHUNK_DATA = new Long2ObjectOpenHashMap<>();
 
     private final WolfyCoreCommon core;
     private final UUID worldUUID;
@@ -33,8 +50,58 @@ public class WorldStorage {
         return Optional.ofNullable(Bukkit.getWorld(worldUUID));
     }
 
+    /**
+     * Packs the chunk coords into a single long.
+     *
+     * @param chunkX The x coord of the chunk.
+     * @param chunkZ The z coord of the chunk.
+     * @return The packed chunk coords.
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkZ << 32) | (chunkX & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Packs the block position into a single long.<br>
+     * The x and z coords use 26 bits each, and the y coord uses 12 bits, the same as the vanilla block positions.
+     *
+     * @param x The x coord of the block.
+     * @param y The y coord of the block.
+     * @param z The z coord of the block.
+     * @return The packed block position.
+     */
+    public static long blockKey(int x, int y, int z) {
+        return ((x & BLOCK_XZ_MASK) << BLOCK_X_SHIFT) | ((z & BLOCK_XZ_MASK) << BLOCK_Z_SHIFT) | (y & BLOCK_Y_MASK);
+    }
+
+    public static long blockKey(Vector pos) {
+        return blockKey(pos.getBlockX(), pos.getBlockY(), pos.getBlockZ());
+    }
+
+    public static long blockKey(Location location) {
+        return blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    public static int blockKeyX(long key) {
+        return (int) (key >> BLOCK_X_SHIFT);
+    }
+
+    public static int blockKeyY(long key) {
+        return (int) (key << (64 - BLOCK_Y_BITS) >> (64 - BLOCK_Y_BITS));
+    }
+
+    public static int blockKeyZ(long key) {
+        return (int) (key << (64 - BLOCK_X_SHIFT) >> (64 - BLOCK_XZ_BITS));
+    }
+
     public ChunkStorage getOrCreateChunkStorage(Vec2i chunkCoords) {
-        return CHUNK_DATA.computeIfAbsent(chunkCoords, vec2i -> ChunkStorage.create(this, vec2i));
+        long key = chunkKey(chunkCoords.getX(), chunkCoords.getY());
+        ChunkStorage chunkStorage = CHUNK_DATA.get(key);
+        if (chunkStorage == null) {
+            chunkStorage = ChunkStorage.create(this, chunkCoords);
+            CHUNK_DATA.put(key, chunkStorage);
+        }
+        return chunkStorage;
     }
 
     public ChunkStorage getOrCreateChunkStorage(int chunkX, int chunkZ) {
@@ -83,8 +150,31 @@ public class WorldStorage {
         getOrCreateChunkStorage(blockStorage.getPos()).setBlockStorageIfAbsent(blockStorage);
     }
 
+    /**
+     * Unloads the specified ChunkStorage from the cache.<br>
+     * Changes that are not yet written to the chunk are saved before the storage is removed.
+     *
+     * @param chunkStorage The ChunkStorage to unload.
+     */
     public void unloadChunk(ChunkStorage chunkStorage) {
-        chunkStorage.getChunk().ifPresent(chunk -> CHUNK_DATA.remove(new Vec2i(chunk.getX(), chunk.getZ())));
+        chunkStorage.awaitLoading();
+        chunkStorage.saveIfDirty();
+        CHUNK_DATA.remove(chunkKey(chunkStorage.getCoords().getX(), chunkStorage.getCoords().getY()));
+    }
+
+    /**
+     * Writes the blocks of all dirty chunks to their PersistentDataContainer.
+     *
+     * @return The amount of chunks that were saved.
+     */
+    public int saveDirtyChunks() {
+        int saved = 0;
+        for (ChunkStorage chunkStorage : CHUNK_DATA.values()) {
+            if (chunkStorage.saveIfDirty()) {
+                saved++;
+            }
+        }
+        return saved;
     }
 
     /**
@@ -104,6 +194,134 @@ public class WorldStorage {
         return getOrCreateChunkStorage(location).getBlock(location);
     }
 
+    /**
+     * Calls the action for each stored block inside the specified box.<br>
+     * A block is inside the box, when its block coords are inside the block coords of the box (inclusive).<br>
+     * Only the cached chunks are queried, so this never loads chunks.
+     *
+     * @param box      The box to query.
+     * @param dataType The key of the {@link CustomBlockData} the blocks must contain; or null to include all blocks.
+     * @param action   The action to call for each matching block.
+     */
+    public void forEachBlockInBox(BoundingBox box, @Nullable NamespacedKey dataType, Consumer<BlockStorage> action) {
+        forEachBlockIn(
+                (int) Math.floor(box.getMinX()), (int) Math.floor(box.getMinY()), (int) Math.floor(box.getMinZ()),
+                (int) Math.floor(box.getMaxX()), (int) Math.floor(box.getMaxY()), (int) Math.floor(box.getMaxZ()),
+                dataType == null ? action : blockStorage -> {
+                    if (blockStorage.hasData(dataType)) {
+                        action.accept(blockStorage);
+                    }
+                });
+    }
+
+    /**
+     * Calls the action for each stored block within the radius around the center.<br>
+     * The distance is measured from the center to the block coords of the stored blocks.<br>
+     * Only the cached chunks are queried, so this never loads chunks.
+     *
+     * @param center   The center of the sphere.
+     * @param radius   The radius of the sphere.
+     * @param dataType The key of the {@link CustomBlockData} the blocks must contain; or null to include all blocks.
+     * @param action   The action to call for each matching block.
+     */
+    public void forEachBlockInRadius(Vector center, double radius, @Nullable NamespacedKey dataType, Consumer<BlockStorage> action) {
+        double cx = center.getX();
+        double cy = center.getY();
+        double cz = center.getZ();
+        double radiusSquared = radius * radius;
+        forEachBlockIn(
+                (int) Math.floor(cx - radius), (int) Math.floor(cy - radius), (int) Math.floor(cz - radius),
+                (int) Math.floor(cx + radius), (int) Math.floor(cy + radius), (int) Math.floor(cz + radius),
+                blockStorage -> {
+                    Vector pos = blockStorage.getPos();
+                    double dx = pos.getBlockX() - cx;
+                    double dy = pos.getBlockY() - cy;
+                    double dz = pos.getBlockZ() - cz;
+                    if (dx * dx + dy * dy + dz * dz <= radiusSquared && (dataType == null || blockStorage.hasData(dataType))) {
+                        action.accept(blockStorage);
+                    }
+                });
+    }
+
+    /**
+     * Gets the stored blocks inside the specified box.
+     *
+     * @param box The box to query.
+     * @return The stored blocks inside the box.
+     * @see #forEachBlockInBox(BoundingBox, NamespacedKey, Consumer)
+     */
+    public List<BlockStorage> getBlocksInBox(BoundingBox box) {
+        return getBlocksInBox(box, null);
+    }
+
+    /**
+     * Gets the stored blocks inside the specified box, that contain the specified data.
+     *
+     * @param box      The box to query.
+     * @param dataType The key of the {@link CustomBlockData} the blocks must contain; or null to include all blocks.
+     * @return The stored blocks inside the box.
+     * @see #forEachBlockInBox(BoundingBox, NamespacedKey, Consumer)
+     */
+    public List<BlockStorage> getBlocksInBox(BoundingBox box, @Nullable NamespacedKey dataType) {
+        List<BlockStorage> blocks = new ArrayList<>();
+        forEachBlockInBox(box, dataType, blocks::add);
+        return blocks;
+    }
+
+    /**
+     * Gets the stored blocks within the radius around the location.
+     *
+     * @param center The center of the sphere.
+     * @param radius The radius of the sphere.
+     * @return The stored blocks within the radius.
+     * @see #forEachBlockInRadius(Vector, double, NamespacedKey, Consumer)
+     */
+    public List<BlockStorage> getBlocksInRadius(Location center, double radius) {
+        return getBlocksInRadius(center, radius, null);
+    }
+
+    /**
+     * Gets the stored blocks within the radius around the location, that contain the specified data.
+     *
+     * @param center   The center of the sphere.
+     * @param radius   The radius of the sphere.
+     * @param dataType The key of the {@link CustomBlockData} the blocks must contain; or null to include all blocks.
+     * @return The stored blocks within the radius.
+     * @see #forEachBlockInRadius(Vector, double, NamespacedKey, Consumer)
+     */
+    public List<BlockStorage> getBlocksInRadius(Location center, double radius, @Nullable NamespacedKey dataType) {
+        List<BlockStorage> blocks = new ArrayList<>();
+        forEachBlockInRadius(center.toVector(), radius, dataType, blocks::add);
+        return blocks;
+    }
+
+    private void forEachBlockIn(int minX, int minY, int minZ, int maxX, int maxY, int maxZ, Consumer<BlockStorage> action) {
+        if (minX > maxX || minY > maxY || minZ > maxZ) return;
+        int minChunkX = minX >> 4;
+        int minChunkZ = minZ >> 4;
+        int maxChunkX = maxX >> 4;
+        int maxChunkZ = maxZ >> 4;
+        long chunkArea = (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        if (chunkArea > CHUNK_DATA.size()) {
+            // The region covers more chunks than are cached, so it is cheaper to check the cached chunks instead.
+            for (ChunkStorage chunkStorage : CHUNK_DATA.values()) {
+                Vec2i coords = chunkStorage.getCoords();
+                if (coords.getX() >= minChunkX && coords.getX() <= maxChunkX && coords.getY() >= minChunkZ && coords.getY() <= maxChunkZ) {
+                    chunkStorage.forEachBlockIn(minX, minY, minZ, maxX, maxY, maxZ, action);
+                }
+            }
+            return;
+        }
+        for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+            for (int chunkZ = minChunkZ; chunkZ <= maxChunkZ; chunkZ++) {
+                ChunkStorage chunkStorage = CHUNK_DATA.get(chunkKey(chunkX, chunkZ));
+                if (chunkStorage != null) {
+                    chunkStorage.forEachBlockIn(minX, minY, minZ, maxX, maxY, maxZ, action);
+                }
+            }
+        }
+    }
+
     protected Optional<PersistentDataContainer> getWorldContainer() {
         return getWorld().map(PersistentDataHolder::getPersistentDataContainer);
     }
@@ -23,23 +23,36 @@ import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
 import com.wolfyscript.utilities.bukkit.world.items.CustomItem;
 import com.wolfyscript.utilities.bukkit.world.items.reference.WolfyUtilsStackIdentifier;
 import com.wolfyscript.utilities.registry.AbstractRegistry;
+import de.tr7zw.changeme.nbtapi.NBT;
+import de.tr7zw.changeme.nbtapi.NbtApiException;
+import de.tr7zw.changeme.nbtapi.iface.ReadableNBT;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.persistence.PersistentDataType;
 
 public class RegistryCustomItem extends AbstractRegistry<Map<NamespacedKey, CustomItem>, CustomItem> {
 
+    /**
+     * The tag, that contains the values of the {@link org.bukkit.persistence.PersistentDataContainer} of the ItemMeta.
+     */
+    private static final String BUKKIT_VALUES_TAG = "PublicBukkitValues";
+
+    // The tag values of registered items are parsed once, as the same few keys are read over and over again
+    private final Map<String, NamespacedKey> parsedKeys = new ConcurrentHashMap<>();
+    private volatile boolean readTagDirectly = true;
+
     RegistryCustomItem(BukkitRegistries registries) {
         super(registries.getCore().getWolfyUtils().getIdentifiers().getWolfyUtilsNamespaced("custom_items"), HashMap::new, registries);
     }
 
     public List<String> getNamespaces() {
-        return this.map.keySet().stream().map(NamespacedKey::getNamespace).distinct().collect(Collectors.toList());
+        return List.copyOf(getRegisteredNamespaces());
     }
 
     /**
@@ -49,7 +62,7 @@ public class RegistryCustomItem extends AbstractRegistry<Map<NamespacedKey, Cust
      * @return A list of all the items of the specific namespace
      */
     public List<CustomItem> get(String namespace) {
-        return this.map.entrySet().stream().filter(entry -> entry.getKey().getNamespace().equals(namespace)).map(Map.Entry::getValue).collect(Collectors.toList());
+        return new ArrayList<>(getEntriesOf(namespace).values());
     }
 
 
@@ -66,10 +79,52 @@ public class RegistryCustomItem extends AbstractRegistry<Map<NamespacedKey, Cust
      * @return CustomItem the ItemStack is linked to, only if it is saved, else returns null
      */
     public Optional<CustomItem> getByItemStack(ItemStack itemStack) {
-        if (itemStack != null) {
-            return getKeyOfItemMeta(itemStack.getItemMeta()).map(this::get);
+        return getKeyOfItemStack(itemStack).map(this::get);
+    }
+
+    /**
+     * Gets the key of the CustomItem, that the ItemStack is linked to.<br>
+     * For server ItemStacks the key is read directly from the NBT of the stack, without creating a copy of the ItemMeta.
+     *
+     * @param itemStack The ItemStack to get the key from.
+     * @return The key of the CustomItem; or empty if the ItemStack isn't linked to any CustomItem.
+     */
+    public Optional<NamespacedKey> getKeyOfItemStack(ItemStack itemStack) {
+        if (itemStack == null || !itemStack.hasItemMeta()) {
+            return Optional.empty();
+        }
+        // Plain Bukkit ItemStacks have no NBT to read from, so reading their ItemMeta is cheaper than converting them
+        if (readTagDirectly && itemStack.getClass() != ItemStack.class) {
+            try {
+                String value = NBT.get(itemStack, nbt -> {
+                    ReadableNBT bukkitValues = nbt.getCompound(BUKKIT_VALUES_TAG);
+                    return bukkitValues != null && bukkitValues.hasTag(CustomItem.PERSISTENT_KEY_TAG.toString()) ? bukkitValues.getString(CustomItem.PERSISTENT_KEY_TAG.toString()) : null;
+                });
+                return Optional.ofNullable(parseKey(value));
+            } catch (NbtApiException e) {
+                // The NBT-API does not support this server version, so use the ItemMeta from now on
+                readTagDirectly = false;
+            }
+        }
+        return getKeyOfItemMeta(itemStack.getItemMeta());
+    }
+
+    /**
+     * Parses the value of the custom item tag. The keys of registered items are cached, so they are only parsed once.
+     *
+     * @param value The value of the tag.
+     * @return The parsed key; or null if the value is empty.
+     */
+    NamespacedKey parseKey(String value) {
+        if (value == null || value.isEmpty()) return null;
+        NamespacedKey key = parsedKeys.get(value);
+        if (key == null) {
+            key = BukkitNamespacedKey.of(value);
+            if (key != null && has(key)) { // Only cache registered keys, the tag of the stack may contain anything
+                parsedKeys.put(value, key);
+            }
         }
-        return Optional.empty();
+        return key;
     }
 
     /**
@@ -77,7 +132,7 @@ public class RegistryCustomItem extends AbstractRegistry<Map<NamespacedKey, Cust
      * @return The CustomItems {@link BukkitNamespacedKey} from the ItemMeta; or null if the ItemMeta doesn't contain a key.
      */
     private Optional<NamespacedKey> getKeyOfItemMeta(ItemMeta itemMeta) {
-        return itemMeta == null ? Optional.empty() : Optional.ofNullable(BukkitNamespacedKey.of(itemMeta.getPersistentDataContainer().get(CustomItem.PERSISTENT_KEY_TAG, PersistentDataType.STRING)));
+        return itemMeta == null ? Optional.empty() : Optional.ofNullable(parseKey(itemMeta.getPersistentDataContainer().get(CustomItem.PERSISTENT_KEY_TAG, PersistentDataType.STRING)));
     }
 
     /**
@@ -96,7 +151,7 @@ public class RegistryCustomItem extends AbstractRegistry<Map<NamespacedKey, Cust
      * @param namespacedKey The NamespacedKey of the CustomItem
      */
     public void remove(NamespacedKey namespacedKey) {
-        this.map.remove(namespacedKey);
+        removeEntry(namespacedKey);
     }
 
     /**
@@ -118,7 +173,7 @@ public class RegistryCustomItem extends AbstractRegistry<Map<NamespacedKey, Cust
         if (item == null || (item.stackReference().identifier() instanceof WolfyUtilsStackIdentifier wuRef && wuRef.key().equals(namespacedKey))) {
             return;
         }
-        this.map.put(namespacedKey, item);
+        putEntry(namespacedKey, item);
         item.setNamespacedKey(namespacedKey);
     }
 }
@@ -31,7 +31,7 @@ public class RegistryStackIdentifierParsers extends RegistrySimple<StackIdentifi
     public void register(NamespacedKey namespacedKey, StackIdentifierParser<?> value) {
         if (value != null) {
             Preconditions.checkState(!this.map.containsKey(namespacedKey), "namespaced key '%s' already has an associated value!", namespacedKey);
-            map.put(namespacedKey, value);
+            putEntry(namespacedKey, value);
             reIndexParsers();
         }
     }
@@ -23,48 +23,101 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
+import com.google.common.collect.ImmutableMap;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.bukkit.world.items.actions.Data;
 import com.wolfyscript.utilities.bukkit.world.items.actions.Event;
 import com.wolfyscript.utilities.WolfyUtils;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Contains the events of a custom item and the actions they execute.<br>
+ * <br>
+ * When the events are set, they are compiled into an immutable dispatch table from the event key to the events of that key.
+ * Calling an event is then a single lookup, and does not allocate anything when the item has no events of that key.
+ */
 public class ActionSettings {
 
+    private static final Event<?>[] NO_EVENTS = new Event<?>[0];
+
     @JsonIgnore
-    private Multimap<NamespacedKey, Event<?>> indexedEvents;
+    private List<Event<?>> events;
+    @JsonIgnore
+    private Map<NamespacedKey, Event<?>[]> dispatchTable;
     @JsonIgnore
     private final WolfyUtils wolfyUtils;
 
     @JsonCreator
     public ActionSettings(@JacksonInject WolfyUtils wolfyUtils) {
-        this.indexedEvents = HashMultimap.create();
+        this.events = List.of();
+        this.dispatchTable = Map.of();
         this.wolfyUtils = wolfyUtils;
     }
 
     @JsonSetter("events")
     public void setEvents(List<Event<?>> events) {
-        indexedEvents = HashMultimap.create();
-        for (Event<?> event : events) {
-            indexedEvents.put(event.key(), event);
+        // Events are equal by their key, so only the first event of each key is kept.
+        Set<Event<?>> uniqueEvents = new LinkedHashSet<>(events);
+        Map<NamespacedKey, List<Event<?>>> indexedEvents = new LinkedHashMap<>();
+        for (Event<?> event : uniqueEvents) {
+            indexedEvents.computeIfAbsent(event.key(), key -> new ArrayList<>(1)).add(event);
         }
+        ImmutableMap.Builder<NamespacedKey, Event<?>[]> table = ImmutableMap.builder();
+        indexedEvents.forEach((key, keyEvents) -> table.put(key, keyEvents.toArray(NO_EVENTS)));
+        this.events = List.copyOf(uniqueEvents);
+        this.dispatchTable = table.build();
     }
 
     @JsonGetter("events")
     public Collection<Event<?>> getEvents() {
-        return Collections.unmodifiableCollection(indexedEvents.values());
+        return events;
+    }
+
+    /**
+     * Checks if there are any events of the specified key, that are called with the specified type of data.<br>
+     * This can be used to skip creating the data, when {@link #callEvent(NamespacedKey, Data)} would not call any event.
+     *
+     * @param key      The key of the event.
+     * @param dataType The type of the data the events are called with.
+     * @return True if there are events of that key and data type; otherwise false.
+     */
+    public boolean hasEvents(NamespacedKey key, Class<? extends Data> dataType) {
+        Event<?>[] keyEvents = dispatchTable.get(key);
+        if (keyEvents == null) return false;
+        for (Event<?> event : keyEvents) {
+            if (dataType == event.getDataType()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public <T extends Data> List<Event<T>> getEvents(NamespacedKey key, Class<T> dataType) {
-        return indexedEvents.get(key).stream().filter(actionEvent -> dataType.equals(actionEvent.getDataType())).map(actionEvent -> (Event<T>) actionEvent).collect(Collectors.toList());
+        Event<?>[] keyEvents = dispatchTable.get(key);
+        if (keyEvents == null) return List.of();
+        List<Event<T>> result = new ArrayList<>(keyEvents.length);
+        for (Event<?> event : keyEvents) {
+            if (dataType.equals(event.getDataType())) {
+                result.add((Event<T>) event);
+            }
+        }
+        return result;
     }
 
     public <T extends Data> void callEvent(NamespacedKey key, T data) {
-        getEvents(key, (Class<T>) data.getClass()).forEach(event -> event.call(wolfyUtils, data));
+        Event<?>[] keyEvents = dispatchTable.get(key);
+        if (keyEvents == null) return;
+        Class<?> dataType = data.getClass();
+        for (Event<?> event : keyEvents) {
+            if (dataType == event.getDataType()) {
+                ((Event<T>) event).call(wolfyUtils, data);
+            }
+        }
     }
 }
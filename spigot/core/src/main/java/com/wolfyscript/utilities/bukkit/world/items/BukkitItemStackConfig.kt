@@ -6,7 +6,11 @@ import com.fasterxml.jackson.annotation.JsonProperty
 import com.wolfyscript.utilities.WolfyUtils
 import com.wolfyscript.utilities.bukkit.WolfyUtilsBukkit
 import com.wolfyscript.utilities.bukkit.adapters.ItemStackImpl
+import com.wolfyscript.utilities.eval.compiled.CompiledCondition
+import com.wolfyscript.utilities.eval.compiled.CompiledValue
+import com.wolfyscript.utilities.eval.compiled.CompiledValues
 import com.wolfyscript.utilities.eval.context.EvalContext
+import com.wolfyscript.utilities.eval.operator.BoolOperator
 import com.wolfyscript.utilities.eval.operator.BoolOperatorConst
 import com.wolfyscript.utilities.eval.value_provider.*
 import com.wolfyscript.utilities.nbt.*
@@ -27,12 +31,14 @@ import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver
 import org.bukkit.Material
 import org.bukkit.NamespacedKey
 import org.bukkit.enchantments.Enchantment
+import java.util.Locale
 import java.util.function.BiFunction
 import java.util.stream.Collectors
 
 class BukkitItemStackConfig : ItemStackConfig {
     private val usePaperDisplayOptions: Boolean
     private val HANDLED_NBT_TAGS = setOf("display.Name", "display.Lore", "CustomModelData", "Damage", "Enchantments")
+    private var compiled: CompiledStack? = null
 
     @JsonCreator
     constructor(@JacksonInject wolfyUtils: WolfyUtils, @JsonProperty("itemId") itemId: String) : super(
@@ -120,81 +126,105 @@ class BukkitItemStackConfig : ItemStackConfig {
         miniMsg: MiniMessage?,
         tagResolvers: TagResolver?
     ): ItemStackImpl? {
-        val type = Material.matchMaterial(itemId)
-        if (type != null) {
-            var itemStack = org.bukkit.inventory.ItemStack(type)
-            itemStack.amount = amount.getValue(context)
+        val compiled = compiled()
+        val type = compiled.material ?: return null
+        val values = compiled.evaluate(context)
 
-            // Apply the NBT of the stack
-            if (type != Material.AIR && itemStack.amount > 0) {
+        // Custom TagResolvers may resolve to different values on each call, so the stack is only cached when none of its lines use them
+        if (!compiled.cacheable || compiled.resolvesTags(values, miniMsg, tagResolvers)) {
+            return ItemStackImpl((wolfyUtils as WolfyUtilsBukkit), buildStack(compiled, type, values, context, miniMsg, tagResolvers))
+        }
+        val fingerprint = Fingerprint(values, miniMsg)
+        val stack = compiled.cache.getOrPut(fingerprint) {
+            buildStack(compiled, type, values, context, miniMsg, tagResolvers)
+        }
+        // The cached stack must stay untouched, so always hand out copies
+        return ItemStackImpl((wolfyUtils as WolfyUtilsBukkit), stack.clone())
+    }
+
+    /**
+     * Gets the compiled form of this config, and compiles it again when any of the settings were replaced.
+     */
+    private fun compiled(): CompiledStack {
+        val current = compiled
+        if (current != null && current.isCompiledFrom(this)) return current
+        return CompiledStack(this).also { compiled = it }
+    }
+
+    private fun buildStack(
+        compiled: CompiledStack,
+        type: Material,
+        values: Array<Any?>,
+        context: EvalContext?,
+        miniMsg: MiniMessage?,
+        tagResolvers: TagResolver?
+    ): org.bukkit.inventory.ItemStack {
+        val amount = values[CompiledStack.AMOUNT] as Int
+        var itemStack: org.bukkit.inventory.ItemStack
+
+        // Apply the NBT of the stack
+        if (type != Material.AIR && amount > 0) {
+            if (compiled.template != null) {
+                itemStack = compiled.template.clone()
+                itemStack.amount = amount
+            } else {
+                itemStack = org.bukkit.inventory.ItemStack(type)
+                itemStack.amount = amount
                 val nbtItem = NBTItem(itemStack)
                 applyCompound(nbtItem, nbt, context)
                 itemStack = nbtItem.item
             }
+        } else {
+            itemStack = org.bukkit.inventory.ItemStack(type)
+            itemStack.amount = amount
+        }
 
-            // Apply ItemMeta afterwards to override possible NBT Tags
-            val meta = itemStack.itemMeta
-            if (meta != null) {
-                // Apply Display options
-                this.name?.apply {
-                    val nameVal = getValue(context)
-                    if (usePaperDisplayOptions) {
-                        if (nameVal != null) {
-                            meta.displayName(miniMsg!!.deserialize(nameVal, tagResolvers!!))
-                        }
-                    } else {
-                        if (nameVal != null) {
-                            meta.setDisplayName(
-                                BukkitComponentSerializer.legacy().serialize(
-                                    miniMsg!!.deserialize(nameVal, tagResolvers!!)
-                                )
-                            )
-                        }
-                    }
+        // Apply ItemMeta afterwards to override possible NBT Tags
+        val meta = itemStack.itemMeta
+        if (meta != null) {
+            // Apply Display options
+            val nameVal = values[CompiledStack.NAME] as String?
+            if (nameVal != null) {
+                if (usePaperDisplayOptions) {
+                    meta.displayName(compiled.deserialize(nameVal, miniMsg!!, tagResolvers))
+                } else {
+                    meta.setDisplayName(
+                        BukkitComponentSerializer.legacy().serialize(
+                            compiled.deserialize(nameVal, miniMsg!!, tagResolvers)
+                        )
+                    )
                 }
+            }
 
-                this.lore.apply {
-                    if (isEmpty()) return@apply
-                    if (usePaperDisplayOptions) {
-                        if (isNotEmpty()) {
-                            meta.lore(
-                                lore.map { provider ->
-                                    miniMsg!!.deserialize(provider.getValue(context), tagResolvers!!)
-                                }
-                            )
-                        }
-                    } else {
-                        meta.lore = lore.map { provider ->
-                            BukkitComponentSerializer.legacy().serialize(
-                                miniMsg!!.deserialize(provider.getValue(context), tagResolvers!!)
-                            )
-                        }
+            if (compiled.loreSize > 0) {
+                val loreValues = (0 until compiled.loreSize).map { values[CompiledStack.LORE_START + it] as String }
+                if (usePaperDisplayOptions) {
+                    meta.lore(loreValues.map { compiled.deserialize(it, miniMsg!!, tagResolvers) })
+                } else {
+                    meta.lore = loreValues.map {
+                        BukkitComponentSerializer.legacy().serialize(compiled.deserialize(it, miniMsg!!, tagResolvers))
                     }
                 }
+            }
 
-                // Apply enchants
-                for ((key, value) in enchants) {
-                    val enchant = Enchantment.getByKey(
-                        NamespacedKey.fromString(
-                            key
-                        )
-                    )
-                    if (enchant != null) {
-                        meta.addEnchant(enchant, value.getValue(context), true)
-                    }
+            // Apply enchants
+            val enchantStart = CompiledStack.LORE_START + compiled.loreSize
+            for ((index, enchant) in compiled.enchantments.withIndex()) {
+                if (enchant != null) {
+                    meta.addEnchant(enchant, values[enchantStart + index] as Int, true)
                 }
+            }
 
-                if (customModelData != null) {
-                    meta.setCustomModelData(customModelData!!.getValue(context))
-                }
+            val customModelDataVal = values[CompiledStack.CUSTOM_MODEL_DATA] as Int?
+            if (customModelDataVal != null) {
+                meta.setCustomModelData(customModelDataVal)
+            }
 
-                meta.isUnbreakable = unbreakable.evaluate(context)
+            meta.isUnbreakable = values[CompiledStack.UNBREAKABLE] as Boolean
 
-                itemStack.setItemMeta(meta)
-            }
-            return ItemStackImpl((wolfyUtils as WolfyUtilsBukkit), itemStack)
+            itemStack.setItemMeta(meta)
         }
-        return null
+        return itemStack
     }
 
     private fun readFromItemStack(
@@ -452,6 +482,186 @@ class BukkitItemStackConfig : ItemStackConfig {
         }
     }
 
+    /**
+     * The parts of a [BukkitItemStackConfig] that do not depend on the context, resolved once.
+     *
+     * The material and enchantments are looked up when compiled, and the constant NBT is applied to a [template] stack.
+     * Built stacks are cached per [Fingerprint] (the evaluated settings and the used MiniMessage instance),
+     * so only the value providers are evaluated for a known combination.
+     * Stacks are only cached when the NBT is constant, because the NBT is evaluated while it is applied to the stack,
+     * and when none of the name and lore lines contain tags of the custom TagResolvers.
+     * The deserialized name and lore lines are cached as well, so only the lines with tags of the custom TagResolvers
+     * are deserialized again when such a stack is built.
+     * The version of the NBT is recorded, so the stack is compiled again when the compound is changed in place.
+     */
+    private class CompiledStack(config: BukkitItemStackConfig) {
+
+        // The settings this was compiled from
+        private val name: ValueProvider<String>? = config.name
+        private val lore: List<ValueProvider<String>> = config.lore.toList()
+        private val amount: ValueProvider<Int> = config.amount
+        private val unbreakable: BoolOperator = config.unbreakable
+        private val customModelData: ValueProvider<Int>? = config.customModelData
+        private val enchants: Map<String, ValueProvider<Int>> = config.enchants.toMap()
+        private val nbt: NBTTagConfigCompound = config.nbt
+        private val nbtVersion: Int = nbt.version
+
+        // The compiled providers, that are evaluated without walking the provider trees
+        private val compiledName: CompiledValue<String>? = name?.let { CompiledValues.of(it) }
+        private val compiledLore: List<CompiledValue<String>> = lore.map { CompiledValues.of(it) }
+        private val compiledAmount: CompiledValue<Int> = CompiledValues.of(amount)
+        private val compiledUnbreakable: CompiledCondition = unbreakable.compiled()
+        private val compiledCustomModelData: CompiledValue<Int>? = customModelData?.let { CompiledValues.of(it) }
+        private val enchantLevels: List<CompiledValue<Int>> = enchants.values.map { CompiledValues.of(it) }
+
+        val material: Material? = Material.matchMaterial(config.itemId)
+        val enchantments: List<Enchantment?> = enchants.keys.map { Enchantment.getByKey(NamespacedKey.fromString(it)) }
+        val loreSize: Int = lore.size
+        val cacheable: Boolean = isConstant(nbt)
+        val template: org.bukkit.inventory.ItemStack? = if (cacheable && material != null && material != Material.AIR) {
+            val nbtItem = NBTItem(org.bukkit.inventory.ItemStack(material))
+            config.applyCompound(nbtItem, nbt, null)
+            nbtItem.item
+        } else null
+
+        val cache: MutableMap<Fingerprint, org.bukkit.inventory.ItemStack> = object : LinkedHashMap<Fingerprint, org.bukkit.inventory.ItemStack>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<Fingerprint, org.bukkit.inventory.ItemStack>?): Boolean {
+                return size > MAX_CACHED_STACKS
+            }
+        }
+
+        // The parsed name and lore lines of the MiniMessage instance that was used last
+        private var linesMiniMessage: MiniMessage? = null
+        private val lines: MutableMap<String, ParsedLine> = object : LinkedHashMap<String, ParsedLine>(16, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, ParsedLine>?): Boolean {
+                return size > MAX_CACHED_LINES
+            }
+        }
+
+        fun isCompiledFrom(config: BukkitItemStackConfig): Boolean {
+            return name === config.name && amount === config.amount && unbreakable === config.unbreakable &&
+                    customModelData === config.customModelData && nbt === config.nbt && nbtVersion == nbt.version &&
+                    lore == config.lore && enchants == config.enchants
+        }
+
+        /**
+         * Checks if any of the evaluated name and lore lines contain a tag that is resolved by the custom TagResolvers.
+         */
+        fun resolvesTags(values: Array<Any?>, miniMsg: MiniMessage?, tagResolvers: TagResolver?): Boolean {
+            if (miniMsg == null || tagResolvers == null || tagResolvers === TagResolver.empty()) return false
+            val name = values[NAME] as String?
+            if (name != null && parsed(name, miniMsg).resolvesTags(tagResolvers)) return true
+            for (index in LORE_START until LORE_START + loreSize) {
+                if (parsed(values[index] as String, miniMsg).resolvesTags(tagResolvers)) return true
+            }
+            return false
+        }
+
+        /**
+         * Deserializes the name or lore line, and reuses the cached component when the line contains no tags of the custom TagResolvers.
+         */
+        fun deserialize(line: String, miniMsg: MiniMessage, tagResolvers: TagResolver?): Component {
+            val parsed = parsed(line, miniMsg)
+            if (tagResolvers != null && tagResolvers !== TagResolver.empty() && parsed.resolvesTags(tagResolvers)) {
+                return miniMsg.deserialize(line, tagResolvers)
+            }
+            return parsed.component
+        }
+
+        private fun parsed(line: String, miniMsg: MiniMessage): ParsedLine {
+            if (linesMiniMessage !== miniMsg) {
+                lines.clear()
+                linesMiniMessage = miniMsg
+            }
+            return lines.getOrPut(line) { ParsedLine(line, miniMsg) }
+        }
+
+        /**
+         * Evaluates the value providers of the settings into a flat array.
+         * The values are used to build the stack, so each provider is only evaluated once per construction.
+         */
+        fun evaluate(context: EvalContext?): Array<Any?> {
+            val values = arrayOfNulls<Any?>(LORE_START + loreSize + enchantLevels.size)
+            values[AMOUNT] = compiledAmount.get(context)
+            values[NAME] = compiledName?.get(context)
+            values[CUSTOM_MODEL_DATA] = compiledCustomModelData?.get(context)
+            values[UNBREAKABLE] = compiledUnbreakable.test(context)
+            for ((index, line) in compiledLore.withIndex()) {
+                values[LORE_START + index] = line.get(context)
+            }
+            for ((index, level) in enchantLevels.withIndex()) {
+                values[LORE_START + loreSize + index] = level.get(context)
+            }
+            return values
+        }
+
+        companion object {
+            const val AMOUNT = 0
+            const val NAME = 1
+            const val CUSTOM_MODEL_DATA = 2
+            const val UNBREAKABLE = 3
+            const val LORE_START = 4
+
+            private const val MAX_CACHED_STACKS = 64
+            private const val MAX_CACHED_LINES = 256
+
+            private fun isConstant(provider: ValueProvider<*>?): Boolean {
+                return when (provider) {
+                    is ValueProviderStringConst, is ValueProviderByteConst, is ValueProviderShortConst, is ValueProviderIntegerConst,
+                    is ValueProviderLongConst, is ValueProviderFloatConst, is ValueProviderDoubleConst,
+                    is ValueProviderByteArrayConst, is ValueProviderIntArrayConst -> true
+                    else -> false
+                }
+            }
+
+            private fun isConstant(tag: NBTTagConfig?): Boolean {
+                return when (tag) {
+                    is NBTTagConfigCompound -> tag.children.values.all { isConstant(it) }
+                    is NBTTagConfigList<*> -> tag.elements.all { isConstant(it.value) }
+                    is NBTTagConfigPrimitive<*> -> isConstant(tag.value)
+                    is NBTTagConfigBoolean -> tag.isConstant
+                    else -> tag == null
+                }
+            }
+        }
+    }
+
+    /**
+     * A name or lore line, with the names of the tags it contains and the component it deserializes to without custom TagResolvers.
+     * The tag names may include more names than MiniMessage resolves (e.g. escaped tags), so lines are rather deserialized again than cached wrongly.
+     */
+    private class ParsedLine(line: String, miniMsg: MiniMessage) {
+        private val tagNames: List<String> = TAG_NAME.findAll(line).flatMap {
+            val name = it.groupValues[1].lowercase(Locale.ROOT)
+            if (name.startsWith('!')) sequenceOf(name, name.substring(1)) else sequenceOf(name)
+        }.distinct().toList()
+
+        val component: Component by lazy(LazyThreadSafetyMode.NONE) { miniMsg.deserialize(line) }
+
+        fun resolvesTags(tagResolvers: TagResolver): Boolean = tagNames.any { tagResolvers.has(it) }
+
+        companion object {
+            private val TAG_NAME = Regex("<([!?#]?[a-zA-Z0-9_-]+)")
+        }
+    }
+
+    /**
+     * Identifies a built stack by the evaluated settings and the instance of the used MiniMessage.
+     */
+    private class Fingerprint(
+        private val values: Array<Any?>,
+        private val miniMessage: MiniMessage?
+    ) {
+        private val hash: Int = 31 * values.contentDeepHashCode() + System.identityHashCode(miniMessage)
+
+        override fun hashCode(): Int = hash
+
+        override fun equals(other: Any?): Boolean {
+            if (other !is Fingerprint) return false
+            return hash == other.hash && miniMessage === other.miniMessage && values.contentDeepEquals(other.values)
+        }
+    }
+
     override fun toString(): String {
         return "BukkitItemStackConfig{" +
                 "itemId='" + itemId + '\'' +
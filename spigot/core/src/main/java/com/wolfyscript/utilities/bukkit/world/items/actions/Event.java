@@ -47,6 +47,8 @@ public abstract class Event<T extends Data> implements Keyed {
     @JsonIgnore
     protected final Class<T> dataType;
     private List<Action<? super T>> actions;
+    @JsonIgnore
+    private Action<? super T>[] compiledActions = new Action[0];
 
     protected Event(WolfyUtils wolfyUtils, NamespacedKey key, Class<T> dataType) {
         this.key = key;
@@ -55,7 +57,7 @@ public abstract class Event<T extends Data> implements Keyed {
     }
 
     public void call(WolfyUtils wolfyUtils1, T data) {
-        for (Action<? super T> action : actions) {
+        for (Action<? super T> action : compiledActions) {
             action.execute(wolfyUtils, data);
         }
     }
@@ -67,6 +69,7 @@ public abstract class Event<T extends Data> implements Keyed {
 
     public void setActions(List<Action<? super T>> actions) {
         this.actions = actions.stream().filter(this::isApplicable).toList();
+        this.compiledActions = this.actions.toArray(new Action[0]);
     }
 
     public List<Action<? super T>> getActions() {
@@ -25,7 +25,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.wolfyscript.utilities.Keyed;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.WolfyCore;
-import com.wolfyscript.utilities.platform.scheduler.Task;
+import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.spigot.WolfyCoreSpigot;
 import com.wolfyscript.utilities.bukkit.world.entity.PlayerUtils;
 import com.wolfyscript.utilities.bukkit.world.particles.pos.ParticlePos;
@@ -36,7 +36,6 @@ import com.wolfyscript.utilities.bukkit.world.particles.pos.ParticlePosPlayer;
 import com.wolfyscript.utilities.config.jackson.OptionalKeyReference;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -232,14 +231,14 @@ public class ParticleAnimation implements Keyed {
      */
     public class Scheduler implements Runnable {
 
-        private Task task = null;
+        private boolean running = false;
+        private int delayTicks = 0;
         private UUID uuid = null;
         private final Player receiver;
         private final ParticlePos pos;
         private int tick = 0;
         private int loop = 0;
 
-        private int tickSinceLastCheck = 0;
         private boolean spawnEffects = true;
 
         private final Map<ParticleEffectSettings, ParticlePos> cachedOffsetPos = new HashMap<>();
@@ -279,12 +278,15 @@ public class ParticleAnimation implements Keyed {
 
         /**
          * Starts and caches the animation.
-         * It may be stopped if it is a continues animations, or before it is stopped automatically if it is limited.
+         * It may be stopped if it is a continues animations, or before it is stopped automatically if it is limited.<br>
+         * The animation is ticked by the shared {@link ParticleEngine}.
          *
          * @return The UUID of the running animation.
          */
         public UUID start() {
-            this.task = WolfyCore.getInstance().getPlatform().getScheduler().syncTimerTask(WolfyCore.getInstance().getWolfyUtils(), this, delay, 1);
+            this.running = true;
+            this.delayTicks = delay;
+            ((WolfyCoreCommon) WolfyCore.getInstance()).particleEngine.addAnimation(this);
             this.uuid = ParticleUtils.addScheduler(this);
             return uuid;
         }
@@ -293,38 +295,55 @@ public class ParticleAnimation implements Keyed {
          * Stops the current running animation.
          */
         public void stop() {
-            Objects.requireNonNull(task).cancel();
+            if (!running) throw new IllegalStateException("The animation is not running!");
+            this.running = false;
             ParticleUtils.removeScheduler(uuid);
             this.uuid = null;
-            this.task = null;
         }
 
         public boolean isRunning() {
-            return task != null; // TODO && //!task.isCancelled();
+            return running;
         }
 
         /**
-         * This checks if the location is valid to spawn the effects and make more resource intensive calculations.
-         * The spawn location is valid if it still exists and there are players nearby (64 block range).
+         * Gets the current location of the animation.
+         *
+         * @return The current location; or null if the location no longer exists.
+         */
+        @Nullable
+        public Location getLocation() {
+            return pos.getLocation();
+        }
+
+        /**
+         * Checks if the location is valid to spawn the effects and make more resource intensive calculations.
+         * The spawn location is valid if it still exists and there are players nearby.
          * <p>
-         * The delay between checks is currently 80 ticks (4 seconds).
+         * The visibility is updated by the {@link ParticleEngine} for all animations inside a chunk section at once (See {@link ParticleEngine#VISIBILITY_CHECK_INTERVAL}).
          */
         public boolean checkSpawnConditions() {
-            if (tickSinceLastCheck > 80) {
-                Location loc = pos.getLocation();
-                if (loc != null && loc.getWorld() != null) {
-                    Collection<Entity> entities = loc.getWorld().getNearbyEntities(loc, 32, 32, 32, entity1 -> entity1 instanceof Player);
-                    this.spawnEffects = !entities.isEmpty();
-                } else {
-                    this.spawnEffects = false;
-                }
-                tickSinceLastCheck = 0;
-            } else {
-                tickSinceLastCheck++;
-            }
             return spawnEffects;
         }
 
+        void setVisible(boolean visible) {
+            this.spawnEffects = visible;
+        }
+
+        /**
+         * Called by the {@link ParticleEngine} each tick, while the animation is active.
+         *
+         * @return True if the animation is still running; otherwise false.
+         */
+        boolean tick() {
+            if (!running) return false;
+            if (delayTicks > 0) {
+                delayTicks--;
+                return true;
+            }
+            run();
+            return running;
+        }
+
         /**
          * This method contains the actual logic to spawn the particle effects.
          * It increases the counter and makes sure to only spawn effects if required.
@@ -348,7 +367,7 @@ public class ParticleAnimation implements Keyed {
         }
 
         /**
-         * The core of the scheduler. This is actually executed each tick by the thread handling it.
+         * The core of the scheduler. This is actually executed each tick by the {@link ParticleEngine}.
          */
         public void run() {
             if (repetitions <= -1 || loop < repetitions) {
@@ -24,6 +24,7 @@ import com.google.common.base.Preconditions;
 import com.wolfyscript.utilities.Keyed;
 import com.wolfyscript.utilities.NamespacedKey;
 import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
 import com.wolfyscript.utilities.bukkit.world.particles.animators.Animator;
 import com.wolfyscript.utilities.bukkit.world.particles.animators.AnimatorBasic;
 import com.wolfyscript.utilities.bukkit.world.particles.pos.ParticlePos;
@@ -283,13 +284,14 @@ public class ParticleEffect implements Keyed {
     }
 
     /**
-     * Task that executes the particle effect and runs it in a new thread.
+     * Task that executes the particle effect. It is ticked by the shared {@link ParticleEngine} until the timer is done.
      */
     public class Task implements Runnable {
 
         private final Player player;
         private final ParticlePos origin;
         private final Timer.Runner runner = timer.createRunner();
+        private boolean visible = true;
 
         public Task(Location origin) {
             this(origin, null);
@@ -311,16 +313,41 @@ public class ParticleEffect implements Keyed {
 
         @Override
         public void run() {
-            WolfyCore.getInstance().getPlatform().getScheduler().task(WolfyCore.getInstance().getWolfyUtils())
-                    .delay(0)
-                    .interval(1)
-                    .execute(task -> {
-                        animator.draw(runner, ParticleEffect.this, origin.getLocation(), player);
-                        if (runner.shouldStop()) {
-                            task.cancel();
-                        }
-                    })
-                    .build();
+            ((WolfyCoreCommon) WolfyCore.getInstance()).particleEngine.addEffect(this);
+        }
+
+        /**
+         * Gets the current location of the effect.
+         *
+         * @return The current location; or null if the location no longer exists.
+         */
+        @Nullable
+        public Location getLocation() {
+            return origin.getLocation();
+        }
+
+        /**
+         * Sets if there are players near the effect. Updated by the {@link ParticleEngine} for all effects inside a chunk section at once.
+         *
+         * @param visible True to draw the effect; false to only advance its timer.
+         */
+        void setVisible(boolean visible) {
+            this.visible = visible;
+        }
+
+        /**
+         * Called by the {@link ParticleEngine} each tick, while the effect is active.
+         * While there are no players nearby, the timer is advanced without drawing the effect, so it still stops on time.
+         *
+         * @return True if the effect is still running; otherwise false.
+         */
+        boolean tick() {
+            if (visible) {
+                animator.draw(runner, ParticleEffect.this, origin.getLocation(), player);
+            } else {
+                runner.increase();
+            }
+            return !runner.shouldStop();
         }
     }
 }
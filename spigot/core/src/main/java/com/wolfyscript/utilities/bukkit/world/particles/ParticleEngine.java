@@ -0,0 +1,280 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.world.particles;
+
+import com.wolfyscript.utilities.bukkit.WolfyCoreCommon;
+import com.wolfyscript.utilities.platform.scheduler.Task;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Drives all the active {@link ParticleAnimation.Scheduler}s and {@link ParticleEffect.Task}s from a single tick loop.<br>
+ * <br>
+ * Instead of checking for nearby players per emitter, the animations and effects are grouped by the chunk section (16x16x16 blocks) they are in,
+ * and the visibility is computed once per section every {@link #VISIBILITY_CHECK_INTERVAL} ticks.
+ * A section is visible when a player is within {@link #VISIBILITY_RANGE} blocks of it on every axis.
+ * Hidden animations do not spawn their effects, and hidden effects only advance their timer without drawing the particles.<br>
+ * <br>
+ * The loop only runs while there are active emitters, and stops once all of them are done.
+ */
+public class ParticleEngine {
+
+    public static final int VISIBILITY_CHECK_INTERVAL = 80;
+    public static final int VISIBILITY_RANGE = 32;
+
+    private static final byte VISIBILITY_UNKNOWN = 0;
+    private static final byte VISIBILITY_VISIBLE = 1;
+    private static final byte VISIBILITY_HIDDEN = 2;
+
+    private final WolfyCoreCommon core;
+
+    private final List<ParticleAnimation.Scheduler> animations = new ArrayList<>();
+    private final List<ParticleEffect.Task> effects = new ArrayList<>();
+    // Emitters started during a tick are only ticked from the next tick on, the same as a newly scheduled task.
+    private final List<ParticleAnimation.Scheduler> pendingAnimations = new ArrayList<>();
+    private final List<ParticleEffect.Task> pendingEffects = new ArrayList<>();
+
+    private final Map<World, Long2ByteOpenHashMap> sectionVisibility = new HashMap<>();
+    private final Map<World, List<Player>> worldPlayers = new HashMap<>();
+
+    private Task task;
+    private int ticksSinceVisibilityCheck = 0;
+
+    private long lastTickNanos = 0;
+    private double averageTickNanos = 0;
+    private int visibleSections = 0;
+    private int lastVisibleSections = 0;
+
+    public ParticleEngine(WolfyCoreCommon core) {
+        this.core = core;
+    }
+
+    /**
+     * Adds the animation to the loop. It is ticked from the next tick on, until it is stopped.
+     *
+     * @param animation The animation to add.
+     */
+    void addAnimation(ParticleAnimation.Scheduler animation) {
+        pendingAnimations.add(animation);
+        startLoop();
+    }
+
+    /**
+     * Adds the effect to the loop. It is ticked from the next tick on, until its timer is done.
+     *
+     * @param effect The effect to add.
+     */
+    void addEffect(ParticleEffect.Task effect) {
+        pendingEffects.add(effect);
+        startLoop();
+    }
+
+    private void startLoop() {
+        if (task == null) {
+            task = core.getPlatform().getScheduler().task(core.getWolfyUtils()).delay(0).interval(1).execute(self -> {
+                if (self != task) {
+                    // A previous loop, that was stopped and replaced by a new one; it must not tick the emitters a second time.
+                    self.cancel();
+                    return;
+                }
+                tick();
+            }).build();
+        }
+    }
+
+    private void stopLoop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        animations.addAll(pendingAnimations);
+        pendingAnimations.clear();
+        effects.addAll(pendingEffects);
+        pendingEffects.clear();
+
+        if (ticksSinceVisibilityCheck++ >= VISIBILITY_CHECK_INTERVAL) {
+            ticksSinceVisibilityCheck = 0;
+            updateVisibility();
+        }
+        animations.removeIf(animation -> !tickAnimation(animation));
+        effects.removeIf(effect -> !tickEffect(effect));
+
+        if (animations.isEmpty() && effects.isEmpty() && pendingAnimations.isEmpty() && pendingEffects.isEmpty()) {
+            stopLoop();
+        }
+        lastTickNanos = System.nanoTime() - start;
+        averageTickNanos = averageTickNanos == 0 ? lastTickNanos : averageTickNanos * 0.95 + lastTickNanos * 0.05;
+    }
+
+    /**
+     * Ticks the animation. If the animation throws an exception, it is stopped, so it cannot break the other emitters.
+     *
+     * @param animation The animation to tick.
+     * @return true if the animation is still active; false if it should be removed.
+     */
+    private boolean tickAnimation(ParticleAnimation.Scheduler animation) {
+        try {
+            return animation.tick();
+        } catch (Exception e) {
+            core.getLogger().log(Level.SEVERE, "Failed to tick particle animation! Stopping it.", e);
+            if (animation.isRunning()) {
+                try {
+                    animation.stop();
+                } catch (Exception ignored) {
+                    // The animation is removed from the loop anyway.
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Ticks the effect. If the effect throws an exception, it is removed, so it cannot break the other emitters.
+     *
+     * @param effect The effect to tick.
+     * @return true if the effect is still active; false if it should be removed.
+     */
+    private boolean tickEffect(ParticleEffect.Task effect) {
+        try {
+            return effect.tick();
+        } catch (Exception e) {
+            core.getLogger().log(Level.SEVERE, "Failed to tick particle effect! Removing it.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Updates the visibility of all animations and effects, computing it only once for each chunk section that contains emitters.
+     */
+    private void updateVisibility() {
+        visibleSections = 0;
+        for (ParticleAnimation.Scheduler animation : animations) {
+            animation.setVisible(isVisible(animation.getLocation()));
+        }
+        for (ParticleEffect.Task effect : effects) {
+            effect.setVisible(isVisible(effect.getLocation()));
+        }
+        lastVisibleSections = visibleSections;
+        sectionVisibility.clear();
+        worldPlayers.clear();
+    }
+
+    /**
+     * Checks if the chunk section of the location is visible, and caches the result for the current visibility check.
+     *
+     * @param location The location of the emitter.
+     * @return true if a player is near the section; false if not, or the location no longer exists.
+     */
+    private boolean isVisible(@Nullable Location location) {
+        World world = location != null ? location.getWorld() : null;
+        if (world == null) return false;
+        int sectionX = location.getBlockX() >> 4;
+        int sectionY = location.getBlockY() >> 4;
+        int sectionZ = location.getBlockZ() >> 4;
+        Long2ByteOpenHashMap sections = sectionVisibility.computeIfAbsent(world, w -> new Long2ByteOpenHashMap());
+        long sectionKey = ((long) (sectionX & 0x3FFFFF) << 42) | ((long) (sectionZ & 0x3FFFFF) << 20) | (sectionY & 0xFFFFF);
+        byte visibility = sections.get(sectionKey);
+        if (visibility == VISIBILITY_UNKNOWN) {
+            visibility = isSectionVisible(world, sectionX, sectionY, sectionZ) ? VISIBILITY_VISIBLE : VISIBILITY_HIDDEN;
+            sections.put(sectionKey, visibility);
+            if (visibility == VISIBILITY_VISIBLE) {
+                visibleSections++;
+            }
+        }
+        return visibility == VISIBILITY_VISIBLE;
+    }
+
+    private boolean isSectionVisible(World world, int sectionX, int sectionY, int sectionZ) {
+        double minX = (sectionX << 4) - VISIBILITY_RANGE;
+        double minY = (sectionY << 4) - VISIBILITY_RANGE;
+        double minZ = (sectionZ << 4) - VISIBILITY_RANGE;
+        double maxX = (sectionX << 4) + 16 + VISIBILITY_RANGE;
+        double maxY = (sectionY << 4) + 16 + VISIBILITY_RANGE;
+        double maxZ = (sectionZ << 4) + 16 + VISIBILITY_RANGE;
+        for (Player player : worldPlayers.computeIfAbsent(world, World::getPlayers)) {
+            Location location = player.getLocation();
+            if (location.getX() >= minX && location.getX() <= maxX && location.getY() >= minY && location.getY() <= maxY
+                    && location.getZ() >= minZ && location.getZ() <= maxZ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the amount of animations, that are currently active.
+     *
+     * @return The active animation count.
+     */
+    public int getActiveAnimationCount() {
+        return animations.size() + pendingAnimations.size();
+    }
+
+    /**
+     * Gets the amount of effects, that are currently active.
+     *
+     * @return The active effect count.
+     */
+    public int getActiveEffectCount() {
+        return effects.size() + pendingEffects.size();
+    }
+
+    /**
+     * Gets the amount of chunk sections with animations or effects, that were visible to players on the last visibility check.
+     *
+     * @return The visible section count.
+     */
+    public int getVisibleSectionCount() {
+        return lastVisibleSections;
+    }
+
+    /**
+     * Gets the time the last tick took to update all emitters.
+     *
+     * @return The duration of the last tick in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Gets the moving average of the time the ticks took to update all emitters.
+     *
+     * @return The average duration of a tick in nanoseconds.
+     */
+    public double getAverageTickNanos() {
+        return averageTickNanos;
+    }
+
+    public boolean isRunning() {
+        return task != null;
+    }
+}
@@ -23,6 +23,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
 import com.wolfyscript.utilities.bukkit.world.particles.ParticleEffect;
 import com.wolfyscript.utilities.bukkit.world.particles.shapes.Shape;
+import com.wolfyscript.utilities.bukkit.world.particles.shapes.ShapePoints;
 import com.wolfyscript.utilities.bukkit.world.particles.timer.Timer;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -46,6 +47,15 @@ public class AnimatorShape extends Animator {
     @Override
     public void draw(Timer.Runner timer, ParticleEffect effect, Location origin, @Nullable Player player) {
         double time = timer.increase();
+        ShapePoints points = shape.getPoints();
+        if (points != null) {
+            points.forEach((x, y, z) -> {
+                origin.add(x, y, z);
+                spawnParticle(effect, origin, player);
+                origin.subtract(x, y, z);
+            });
+            return;
+        }
         shape.drawVectors(time, vec -> {
             origin.add(vec);
             spawnParticle(effect, origin, player);
@@ -25,6 +25,7 @@ import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
 import com.wolfyscript.utilities.bukkit.math.MathUtil;
 import com.wolfyscript.utilities.bukkit.world.particles.ParticleEffect;
 import com.wolfyscript.utilities.bukkit.world.particles.shapes.Shape;
+import com.wolfyscript.utilities.bukkit.world.particles.shapes.ShapePoints;
 import com.wolfyscript.utilities.bukkit.world.particles.timer.Timer;
 import java.util.Iterator;
 import java.util.Map;
@@ -94,11 +95,20 @@ public class AnimatorVectorPath extends Animator {
             }
         }
         origin.add(vector); //Add vector to origin
-        shape.drawVectors(time, vec -> {
-            origin.add(vec);
-            spawnParticle(effect, origin, player);
-            origin.subtract(vec);
-        });
+        ShapePoints points = shape.getPoints();
+        if (points != null) {
+            points.forEach((x, y, z) -> {
+                origin.add(x, y, z);
+                spawnParticle(effect, origin, player);
+                origin.subtract(x, y, z);
+            });
+        } else {
+            shape.drawVectors(time, vec -> {
+                origin.add(vec);
+                spawnParticle(effect, origin, player);
+                origin.subtract(vec);
+            });
+        }
         origin.subtract(vector);
     }
 
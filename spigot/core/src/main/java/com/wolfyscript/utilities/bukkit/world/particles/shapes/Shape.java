@@ -33,6 +33,7 @@ import com.wolfyscript.utilities.config.jackson.KeyedTypeResolver;
 import java.util.function.Consumer;
 import org.bukkit.util.Vector;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 @JsonTypeResolver(KeyedTypeResolver.class)
 @JsonTypeIdResolver(KeyedTypeIdResolver.class)
@@ -52,13 +53,26 @@ public abstract class Shape implements Keyed {
      * Applies the {@link Consumer<Vector>} for all vertices of the shape.<br>
      * Resource intensive tasks should be done beforehand, as this method might be called each tick.<br>
      * The consumer might be nested like in {@link ShapeComplexRotation} to rotate all vertices.<br>
-     * Because of that the vertices should be copied, so changes won't get reflected to this shape vertices (If they were cached)!
+     * Because of that the vertices should be copied, so changes won't get reflected to this shape vertices (If they were cached)!<br>
+     * The same vector may be passed for multiple vertices (See {@link ShapePoints#forEach(Consumer)}), so the consumer must not keep a reference to it.
      *
      * @param time The current time value from the timer. See {@link Timer.Runner#increase()}.
      * @param drawVector The consumer that calculates the vector and spawns the particles.
      */
     public abstract void drawVectors(double time, Consumer<Vector> drawVector);
 
+    /**
+     * Gets the precomputed points of the shape, if they do not change over time.<br>
+     * Animators can use them to apply their transform directly to the points, instead of using {@link #drawVectors(double, Consumer)}.
+     *
+     * @return The precomputed points; or null if the points are computed each time the shape is drawn.
+     */
+    @JsonIgnore
+    @Nullable
+    public ShapePoints getPoints() {
+        return null;
+    }
+
     @JsonIgnore
     @Override
     public NamespacedKey key() {
@@ -35,6 +35,8 @@ public class ShapeCircle extends Shape {
     private Direction direction;
     @JsonIgnore
     private Function<Double, Vector> createVector;
+    @JsonIgnore
+    private volatile ShapePoints points;
 
     /**
      * Only used for Jackson deserialization.
@@ -52,9 +54,26 @@ public class ShapeCircle extends Shape {
 
     @Override
     public void drawVectors(double time, Consumer<Vector> drawVector) {
+        getPoints().forEach(drawVector);
+    }
+
+    @JsonIgnore
+    @Override
+    public ShapePoints getPoints() {
+        ShapePoints result = points;
+        if (result == null) {
+            result = ShapePoints.shared(new PointsKey(radius, resolution, direction), this::computePoints);
+            points = result;
+        }
+        return result;
+    }
+
+    private ShapePoints computePoints() {
+        var builder = ShapePoints.builder();
         for (double i = 0; i <= Math.PI * 2; i += Math.PI / resolution) {
-            drawVector.accept(createVector.apply(i));
+            builder.add(createVector.apply(i));
         }
+        return builder.build();
     }
 
     @JsonGetter
@@ -65,6 +84,7 @@ public class ShapeCircle extends Shape {
     @JsonSetter
     private void setResolution(int resolution) {
         this.resolution = resolution;
+        this.points = null;
     }
 
     @JsonGetter
@@ -80,6 +100,7 @@ public class ShapeCircle extends Shape {
     @JsonSetter
     private void setDirection(Direction direction) {
         this.direction = direction;
+        this.points = null;
         createVector = switch (direction) {
             case X_AXIS -> (t) -> {
                 double y = radius * Math.sin(t);
@@ -98,4 +119,7 @@ public class ShapeCircle extends Shape {
             };
         };
     }
+
+    private record PointsKey(double radius, int resolution, Direction direction) {
+    }
 }
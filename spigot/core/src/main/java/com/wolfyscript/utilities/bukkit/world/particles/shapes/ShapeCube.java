@@ -19,6 +19,7 @@
 package com.wolfyscript.utilities.bukkit.world.particles.shapes;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonSetter;
 import com.google.common.base.Preconditions;
 import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
@@ -31,6 +32,8 @@ public class ShapeCube extends Shape {
 
     private final double radius;
     private int pointsPerSide;
+    @JsonIgnore
+    private volatile ShapePoints points;
 
     /**
      * Only used for Jackson deserialization.
@@ -47,6 +50,22 @@ public class ShapeCube extends Shape {
 
     @Override
     public void drawVectors(double time, Consumer<Vector> drawVector) {
+        getPoints().forEach(drawVector);
+    }
+
+    @JsonIgnore
+    @Override
+    public ShapePoints getPoints() {
+        ShapePoints result = points;
+        if (result == null) {
+            result = ShapePoints.shared(new PointsKey(radius, pointsPerSide), this::computePoints);
+            points = result;
+        }
+        return result;
+    }
+
+    private ShapePoints computePoints() {
+        var builder = ShapePoints.builder();
         double pointIncrease = radius * 2 / (pointsPerSide - 1);
         var corner1 = new Vector(radius, radius, radius);
         var corner2 = new Vector(-radius, -radius, -radius);
@@ -66,11 +85,12 @@ public class ShapeCube extends Shape {
                     if (y == minY || y == maxY) components++;
                     if (z == minZ || z == maxZ) components++;
                     if (components >= 2) {
-                        drawVector.accept(new Vector(x, y, z));
+                        builder.add(x, y, z);
                     }
                 }
             }
         }
+        return builder.build();
     }
 
     @JsonGetter
@@ -82,6 +102,7 @@ public class ShapeCube extends Shape {
     private void setPointsPerSide(int pointsPerSide) {
         Preconditions.checkArgument(pointsPerSide > 1, "Points per side must be at least 2!");
         this.pointsPerSide = pointsPerSide;
+        this.points = null;
     }
 
     @JsonGetter
@@ -89,4 +110,6 @@ public class ShapeCube extends Shape {
         return pointsPerSide;
     }
 
+    private record PointsKey(double radius, int pointsPerSide) {
+    }
 }
@@ -50,10 +50,10 @@ public class ShapeIcosahedron extends Shape {
     @JsonIgnore
     private final List<Triangle> triangles = new ArrayList<>();
     /**
-     * The cached vectors of the specified settings (So we don't recalculate them each run).
+     * The cached points of the specified settings (So we don't recalculate them each run).
      */
     @JsonIgnore
-    private final List<Vector> vectors = new ArrayList<>();
+    private final ShapePoints points;
 
     /**
      * Only used for Jackson deserialization.
@@ -83,23 +83,32 @@ public class ShapeIcosahedron extends Shape {
         this.depth = depth;
         this.particleIncrease = particleIncrease;
 
-        calcIcosahedron(this.depth, this.radius);
+        this.points = ShapePoints.shared(new PointsKey(radius, depth, particleIncrease), () -> calcIcosahedron(this.depth, this.radius));
     }
 
     @Override
     public void drawVectors(double time, Consumer<Vector> drawVector) {
-        vectors.forEach(vector -> drawVector.accept(vector.clone()));
+        points.forEach(drawVector);
     }
 
-    private void calcIcosahedron(int depth, double radius) {
+    @JsonIgnore
+    @Override
+    public ShapePoints getPoints() {
+        return points;
+    }
+
+    private ShapePoints calcIcosahedron(int depth, double radius) {
         for (int[] tindx : TINDX) {
             subdivide(V_DATA[tindx[0]], V_DATA[tindx[1]], V_DATA[tindx[2]], depth, radius);
         }
-        // Cache vectors
+        // Cache points
+        var builder = ShapePoints.builder();
         for (Triangle triangle : triangles) {
-            vectors.addAll(MathUtil.getLineVectors(triangle.getPoint1(), triangle.getPoint2(), particleIncrease));
-            vectors.addAll(MathUtil.getLineVectors(triangle.getPoint3(), triangle.getPoint2(), particleIncrease));
+            MathUtil.getLineVectors(triangle.getPoint1(), triangle.getPoint2(), particleIncrease).forEach(builder::add);
+            MathUtil.getLineVectors(triangle.getPoint3(), triangle.getPoint2(), particleIncrease).forEach(builder::add);
         }
+        triangles.clear(); // Only required to calculate the points
+        return builder.build();
     }
 
     private void calcTriangle(double[] vA0, double[] vB1, double[] vC2, double radius) {
@@ -147,4 +156,7 @@ public class ShapeIcosahedron extends Shape {
         return Math.sqrt(v[0] * v[0] + v[1] * v[1] + v[2] * v[2]);
     }
 
+    private record PointsKey(double radius, int depth, double particleIncrease) {
+    }
+
 }
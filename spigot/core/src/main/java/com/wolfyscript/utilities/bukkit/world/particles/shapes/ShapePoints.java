@@ -0,0 +1,141 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.world.particles.shapes;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.bukkit.util.Vector;
+
+/**
+ * The precomputed points of a {@link Shape}, packed into a single array of offsets (x, y, z for each point).<br>
+ * Shapes whose points do not change over time compute them once, and share them with all other shapes of the same settings.
+ * That way, drawing them only requires to apply the transform (e.g. the location or rotation) of the animator to each point,
+ * instead of computing and allocating new vectors each time.
+ */
+public final class ShapePoints {
+
+    /**
+     * The points that are currently in use by any shape. Once no shape references them anymore, they are removed.
+     */
+    private static final Cache<Object, ShapePoints> SHARED = CacheBuilder.newBuilder().weakValues().build();
+
+    private final double[] coords;
+
+    private ShapePoints(double[] coords) {
+        this.coords = coords;
+    }
+
+    /**
+     * Gets the points that are shared by all shapes with the same key, or computes them if there are none yet.
+     *
+     * @param key     The key that contains the type and all settings of the shape. Must implement equals and hashCode.
+     * @param compute Computes the points if they are not yet shared.
+     * @return The shared points of the key.
+     */
+    public static ShapePoints shared(Object key, Supplier<ShapePoints> compute) {
+        return SHARED.asMap().computeIfAbsent(key, k -> compute.get());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return The amount of points.
+     */
+    public int size() {
+        return coords.length / 3;
+    }
+
+    public double getX(int index) {
+        return coords[index * 3];
+    }
+
+    public double getY(int index) {
+        return coords[index * 3 + 1];
+    }
+
+    public double getZ(int index) {
+        return coords[index * 3 + 2];
+    }
+
+    /**
+     * Calls the consumer for each point, without allocating any objects.
+     *
+     * @param consumer The consumer of the point coordinates.
+     */
+    public void forEach(PointConsumer consumer) {
+        for (int i = 0; i < coords.length; i += 3) {
+            consumer.accept(coords[i], coords[i + 1], coords[i + 2]);
+        }
+    }
+
+    /**
+     * Calls the consumer for each point.<br>
+     * The same {@link Vector} is reused for all points, so the consumer may modify it, but must not keep a reference to it.
+     *
+     * @param consumer The consumer of the point vector.
+     */
+    public void forEach(Consumer<Vector> consumer) {
+        var vector = new Vector();
+        for (int i = 0; i < coords.length; i += 3) {
+            vector.setX(coords[i]).setY(coords[i + 1]).setZ(coords[i + 2]);
+            consumer.accept(vector);
+        }
+    }
+
+    @FunctionalInterface
+    public interface PointConsumer {
+
+        void accept(double x, double y, double z);
+
+    }
+
+    public static final class Builder {
+
+        private double[] coords = new double[48];
+        private int length = 0;
+
+        private Builder() {
+        }
+
+        public Builder add(double x, double y, double z) {
+            if (length + 3 > coords.length) {
+                coords = Arrays.copyOf(coords, coords.length * 2);
+            }
+            coords[length++] = x;
+            coords[length++] = y;
+            coords[length++] = z;
+            return this;
+        }
+
+        public Builder add(Vector vector) {
+            return add(vector.getX(), vector.getY(), vector.getZ());
+        }
+
+        public ShapePoints build() {
+            return new ShapePoints(Arrays.copyOf(coords, length));
+        }
+
+    }
+
+}
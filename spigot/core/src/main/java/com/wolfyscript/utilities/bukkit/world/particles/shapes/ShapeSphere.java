@@ -35,6 +35,8 @@ public class ShapeSphere extends Shape {
     private Direction direction;
     @JsonIgnore
     private BiFunction<Double, Double, Vector> createVector;
+    @JsonIgnore
+    private volatile ShapePoints points;
 
     /**
      * Only used for Jackson deserialization.
@@ -52,11 +54,28 @@ public class ShapeSphere extends Shape {
 
     @Override
     public void drawVectors(double time, Consumer<Vector> drawVector) {
+        getPoints().forEach(drawVector);
+    }
+
+    @JsonIgnore
+    @Override
+    public ShapePoints getPoints() {
+        ShapePoints result = points;
+        if (result == null) {
+            result = ShapePoints.shared(new PointsKey(radius, resolution, direction), this::computePoints);
+            points = result;
+        }
+        return result;
+    }
+
+    private ShapePoints computePoints() {
+        var builder = ShapePoints.builder();
         for (double i = 0; i <= 2 * Math.PI; i += Math.PI / resolution) {
             for (double j = 0; j <= Math.PI * 2; j += Math.PI / resolution) {
-                drawVector.accept(createVector.apply(j, i));
+                builder.add(createVector.apply(j, i));
             }
         }
+        return builder.build();
     }
 
     @JsonGetter
@@ -67,6 +86,7 @@ public class ShapeSphere extends Shape {
     @JsonSetter
     private void setResolution(int resolution) {
         this.resolution = resolution;
+        this.points = null;
     }
 
     @JsonGetter
@@ -82,6 +102,7 @@ public class ShapeSphere extends Shape {
     @JsonSetter
     private void setDirection(Direction direction) {
         this.direction = direction;
+        this.points = null;
         createVector = switch (direction) {
             case X_AXIS -> (i, j) -> {
                 double x = radius * Math.cos(j);
@@ -103,4 +124,7 @@ public class ShapeSphere extends Shape {
             };
         };
     }
+
+    private record PointsKey(double radius, int resolution, Direction direction) {
+    }
 }
@@ -36,6 +36,8 @@ public class ShapeSquare extends Shape {
     private Direction direction;
     @JsonIgnore
     private Function<Double, Vector[]> createVector;
+    @JsonIgnore
+    private volatile ShapePoints points;
 
     /**
      * Only used for Jackson deserialization.
@@ -53,13 +55,30 @@ public class ShapeSquare extends Shape {
 
     @Override
     public void drawVectors(double time, Consumer<Vector> drawVector) {
+        getPoints().forEach(drawVector);
+    }
+
+    @JsonIgnore
+    @Override
+    public ShapePoints getPoints() {
+        ShapePoints result = points;
+        if (result == null) {
+            result = ShapePoints.shared(new PointsKey(radius, pointsPerSide, direction), this::computePoints);
+            points = result;
+        }
+        return result;
+    }
+
+    private ShapePoints computePoints() {
+        var builder = ShapePoints.builder();
         double pointIncrease = radius * 2 / (pointsPerSide - 1);
         for(double i = 0; i <= radius * 2; i += pointIncrease) {
             Vector[] sides = createVector.apply(i);
             for (Vector side : sides) {
-                drawVector.accept(side);
+                builder.add(side);
             }
         }
+        return builder.build();
     }
 
     @JsonGetter
@@ -71,6 +90,7 @@ public class ShapeSquare extends Shape {
     private void setPointsPerSide(int pointsPerSide) {
         Preconditions.checkArgument(pointsPerSide > 1, "Points per side must be at least 2!");
         this.pointsPerSide = pointsPerSide;
+        this.points = null;
     }
 
     @JsonGetter
@@ -86,6 +106,7 @@ public class ShapeSquare extends Shape {
     @JsonSetter
     private void setDirection(Direction direction) {
         this.direction = direction;
+        this.points = null;
         createVector = switch (direction) {
             case X_AXIS -> (t) -> new Vector[] {
                     new Vector(0, radius - t, radius),
@@ -107,4 +128,7 @@ public class ShapeSquare extends Shape {
             };
         };
     }
+
+    private record PointsKey(double radius, int pointsPerSide, Direction direction) {
+    }
 }
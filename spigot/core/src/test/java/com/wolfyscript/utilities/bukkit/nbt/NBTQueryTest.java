@@ -0,0 +1,299 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.nbt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.withSettings;
+
+import com.wolfyscript.utilities.WolfyCore;
+import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.eval.context.EvalContext;
+import com.wolfyscript.utilities.eval.operator.BoolOperatorConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderIntegerConst;
+import com.wolfyscript.utilities.eval.value_provider.ValueProviderStringConst;
+import de.tr7zw.changeme.nbtapi.NBTCompound;
+import de.tr7zw.changeme.nbtapi.NBTType;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+/**
+ * Runs randomly generated queries over randomly generated compounds, and checks that the compiled plans of the compound nodes
+ * select the same keys and visit them with the same nodes, as the previous implementation that filtered the keys on every run.<br>
+ * The compounds are backed by maps, as the real compounds require a running server.
+ */
+class NBTQueryTest {
+
+    private static final long SEED = 0xB7L;
+    private static final int SAMPLES = 1_000;
+    private static final int MAX_DEPTH = 3;
+    private static final String[] KEYS = {"a", "b", "c", "d", "e"};
+
+    private static WolfyUtils wolfyUtils;
+
+    @BeforeAll
+    static void setUpCore() {
+        try {
+            WolfyCore.getInstance();
+        } catch (IllegalStateException e) {
+            // The constructor of the core registers the instance, that the value providers use to create their keys
+            mock(WolfyCore.class, withSettings().useConstructor().defaultAnswer(RETURNS_DEEP_STUBS));
+        }
+        wolfyUtils = mock(WolfyUtils.class, RETURNS_DEEP_STUBS);
+    }
+
+    @Test
+    void planMatchesPreviousImplementation() {
+        var random = new Random(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            var query = new NBTQuery(wolfyUtils);
+            configure(random, query, 0);
+            NBTCompound input = generateCompound(random, 0);
+
+            NBTCompound expected = MapCompound.create();
+            legacyApplyChildren(query, "", new EvalContext(), input, expected);
+            NBTCompound actual = MapCompound.create();
+            query.applyChildrenToCompound("", new EvalContext(), input, actual);
+            // Run twice, so the second run uses the cached plan and child paths
+            NBTCompound cached = MapCompound.create();
+            query.applyChildrenToCompound("", new EvalContext(), input, cached);
+
+            String description = "Input: " + MapCompound.snapshot(input) + ", query: " + describe(query);
+            assertEquals(MapCompound.snapshot(expected), MapCompound.snapshot(actual), description);
+            assertEquals(MapCompound.snapshot(expected), MapCompound.snapshot(cached), description);
+        }
+    }
+
+    @Test
+    void invalidatedPlanUsesModifiedChildren() {
+        var query = new NBTQuery(wolfyUtils);
+        query.getChildren().put("a", new QueryNodeBoolean(wolfyUtils, new BoolOperatorConst(wolfyUtils, true), "a", ""));
+        NBTCompound input = MapCompound.create();
+        input.setInteger("a", 1);
+        input.setInteger("b", 2);
+
+        NBTCompound before = MapCompound.create();
+        query.applyChildrenToCompound("", new EvalContext(), input, before);
+        assertEquals(Map.of("a", 1), MapCompound.snapshot(before));
+
+        query.getChildren().put("b", new QueryNodeInt(wolfyUtils, new ValueProviderIntegerConst(2), "b", ""));
+        query.invalidatePlan();
+        NBTCompound after = MapCompound.create();
+        query.applyChildrenToCompound("", new EvalContext(), input, after);
+        assertNotEquals(MapCompound.snapshot(before), MapCompound.snapshot(after));
+        assertEquals(Map.of("a", 1, "b", 2), MapCompound.snapshot(after));
+    }
+
+    /**
+     * The previous implementation of {@link QueryNodeCompound#applyChildrenToCompound(String, EvalContext, NBTCompound, NBTCompound)},
+     * that filtered the keys of the compound and created a new node for each included key without a child node, on every run.
+     */
+    private static void legacyApplyChildren(QueryNodeCompound node, String containerPath, EvalContext context, NBTCompound value, NBTCompound resultContainer) {
+        Set<String> keys;
+        if (!node.getIncludes().isEmpty()) {
+            keys = value.getKeys().stream().filter(s -> node.getIncludes().getOrDefault(s, node.isIncludeAll())).collect(Collectors.toSet());
+        } else {
+            keys = value.getKeys().stream().filter(s -> node.getChildren().containsKey(s) || node.isIncludeAll()).collect(Collectors.toSet());
+        }
+        for (String childKey : keys) {
+            QueryNode<?> subQueryNode = node.getChildren().get(childKey);
+            if (subQueryNode instanceof QueryNodeCompound compoundNode) {
+                NBTCompound childValue = value.getCompound(childKey);
+                if (childValue != null && !childValue.getKeys().isEmpty()) {
+                    NBTCompound container = compoundNode.isPreservePath() ? resultContainer.addCompound(childKey) : resultContainer;
+                    legacyApplyChildren(compoundNode, containerPath + "." + childKey, context, childValue, container);
+                }
+            } else if (subQueryNode != null) {
+                subQueryNode.visit(containerPath, childKey, context, value, resultContainer);
+            } else {
+                new QueryNodeBoolean(wolfyUtils, new BoolOperatorConst(wolfyUtils, true), childKey, containerPath).visit(containerPath, childKey, context, value, resultContainer);
+            }
+        }
+    }
+
+    private static void configure(Random random, QueryNodeCompound node, int depth) {
+        node.setIncludeAll(random.nextInt(3) == 0);
+        node.setPreservePath(random.nextInt(4) != 0);
+        Map<String, Boolean> includes = new HashMap<>();
+        if (random.nextBoolean()) {
+            for (String key : KEYS) {
+                if (random.nextInt(3) == 0) {
+                    includes.put(key, random.nextBoolean());
+                }
+            }
+        }
+        node.setIncludes(includes);
+        for (String key : KEYS) {
+            if (random.nextInt(3) != 0) continue;
+            QueryNode<?> child = switch (random.nextInt(depth >= MAX_DEPTH ? 3 : 4)) {
+                case 0 -> new QueryNodeBoolean(wolfyUtils, new BoolOperatorConst(wolfyUtils, random.nextBoolean()), key, "");
+                case 1 -> new QueryNodeInt(wolfyUtils, new ValueProviderIntegerConst(random.nextInt(3)), key, "");
+                case 2 -> new QueryNodeString(wolfyUtils, new ValueProviderStringConst(randomString(random)), key, "");
+                default -> {
+                    var compoundNode = new QueryNodeCompound(wolfyUtils, key, "");
+                    configure(random, compoundNode, depth + 1);
+                    yield compoundNode;
+                }
+            };
+            node.getChildren().put(key, child);
+        }
+        node.invalidatePlan();
+    }
+
+    private static NBTCompound generateCompound(Random random, int depth) {
+        NBTCompound compound = MapCompound.create();
+        for (String key : KEYS) {
+            if (random.nextInt(4) == 0) continue;
+            switch (random.nextInt(depth >= MAX_DEPTH ? 7 : 9)) {
+                case 0 -> compound.setInteger(key, random.nextInt(3));
+                case 1 -> compound.setString(key, randomString(random));
+                case 2 -> compound.setByte(key, (byte) random.nextInt(3));
+                case 3 -> compound.setLong(key, (long) random.nextInt(3));
+                case 4 -> compound.setDouble(key, random.nextDouble());
+                case 5 -> compound.setIntArray(key, new int[]{random.nextInt(3), random.nextInt(3)});
+                case 6 -> compound.setByteArray(key, new byte[]{(byte) random.nextInt(3)});
+                default -> {
+                    NBTCompound child = compound.addCompound(key);
+                    NBTCompound generated = generateCompound(random, depth + 1);
+                    child.mergeCompound(generated);
+                }
+            }
+        }
+        return compound;
+    }
+
+    private static String randomString(Random random) {
+        return KEYS[random.nextInt(2)];
+    }
+
+    private static String describe(QueryNodeCompound node) {
+        Map<String, Object> description = new TreeMap<>();
+        description.put("includeAll", node.isIncludeAll());
+        description.put("preservePath", node.isPreservePath());
+        description.put("includes", new TreeMap<>(node.getIncludes()));
+        node.getChildren().forEach((key, child) -> description.put(key, child instanceof QueryNodeCompound compoundNode ? describe(compoundNode) : child.getClass().getSimpleName()));
+        return description.toString();
+    }
+
+    /**
+     * Answers the calls of a mocked {@link NBTCompound} using a map, that contains the values of the compound by their key.
+     */
+    private static final class MapCompound implements Answer<Object> {
+
+        private final Map<String, Object> values = new HashMap<>();
+
+        static NBTCompound create() {
+            return mock(NBTCompound.class, new MapCompound());
+        }
+
+        private static MapCompound of(NBTCompound compound) {
+            return (MapCompound) mockingDetails(compound).getMockCreationSettings().getDefaultAnswer();
+        }
+
+        /**
+         * Copies the values of the compound into a sorted map, that can be compared using equals.
+         */
+        static Map<String, Object> snapshot(NBTCompound compound) {
+            Map<String, Object> snapshot = new TreeMap<>();
+            of(compound).values.forEach((key, value) -> {
+                if (value instanceof NBTCompound child) {
+                    snapshot.put(key, snapshot(child));
+                } else if (value instanceof int[] array) {
+                    snapshot.put(key, Arrays.toString(array));
+                } else if (value instanceof byte[] array) {
+                    snapshot.put(key, Arrays.toString(array));
+                } else {
+                    snapshot.put(key, value);
+                }
+            });
+            return snapshot;
+        }
+
+        @Override
+        public Object answer(InvocationOnMock invocation) {
+            String name = invocation.getMethod().getName();
+            Object[] args = invocation.getArguments();
+            switch (name) {
+                case "getKeys":
+                    return new HashSet<>(values.keySet());
+                case "hasTag":
+                    return values.containsKey((String) args[0]);
+                case "getType":
+                    return typeOf(values.get((String) args[0]));
+                case "addCompound":
+                case "getOrCreateCompound":
+                    return values.computeIfAbsent((String) args[0], key -> create());
+                case "mergeCompound":
+                    of((NBTCompound) args[0]).values.forEach((key, value) -> {
+                        if (value instanceof NBTCompound child) {
+                            NBTCompound copy = (NBTCompound) values.computeIfAbsent(key, k -> create());
+                            copy.mergeCompound(child);
+                        } else {
+                            values.put(key, value);
+                        }
+                    });
+                    return null;
+                case "toString":
+                    return snapshot((NBTCompound) invocation.getMock()).toString();
+                default:
+                    break;
+            }
+            Class<?> returnType = invocation.getMethod().getReturnType();
+            if (name.startsWith("get") && args.length == 1) {
+                Object value = values.get((String) args[0]);
+                Class<?> type = returnType.isPrimitive() ? MethodType.methodType(returnType).wrap().returnType() : returnType;
+                return type.isInstance(value) ? value : null;
+            }
+            if (name.startsWith("set") && args.length == 2) {
+                values.put((String) args[0], args[1]);
+                return null;
+            }
+            throw new UnsupportedOperationException("The compound does not support " + invocation.getMethod());
+        }
+
+        private static NBTType typeOf(Object value) {
+            if (value instanceof Integer) return NBTType.NBTTagInt;
+            if (value instanceof Byte) return NBTType.NBTTagByte;
+            if (value instanceof Short) return NBTType.NBTTagShort;
+            if (value instanceof Long) return NBTType.NBTTagLong;
+            if (value instanceof Float) return NBTType.NBTTagFloat;
+            if (value instanceof Double) return NBTType.NBTTagDouble;
+            if (value instanceof String) return NBTType.NBTTagString;
+            if (value instanceof int[]) return NBTType.NBTTagIntArray;
+            if (value instanceof byte[]) return NBTType.NBTTagByteArray;
+            if (value instanceof NBTCompound) return NBTType.NBTTagCompound;
+            return NBTType.NBTTagEnd;
+        }
+    }
+
+}
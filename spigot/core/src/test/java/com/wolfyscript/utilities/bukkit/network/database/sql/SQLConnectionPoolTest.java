@@ -0,0 +1,206 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.network.database.sql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SQLConnectionPoolTest {
+
+    private String url;
+    private SQLConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        pool = new SQLConnectionPool(() -> DriverManager.getConnection(url), 2, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void borrowReusesReleasedConnections() throws SQLException {
+        PooledConnection first = pool.borrow(100);
+        Connection connection = first.getConnection();
+        assertEquals(1, pool.getSize());
+        assertEquals(0, pool.getIdleCount());
+
+        first.close();
+        assertEquals(1, pool.getIdleCount());
+
+        try (PooledConnection second = pool.borrow(100)) {
+            assertSame(connection, second.getConnection());
+            assertEquals(1, pool.getSize());
+        }
+    }
+
+    @Test
+    void borrowOpensConnectionsUpToMaxSize() throws SQLException {
+        try (PooledConnection first = pool.borrow(100); PooledConnection second = pool.borrow(100)) {
+            assertNotSame(first.getConnection(), second.getConnection());
+            assertEquals(2, pool.getSize());
+        }
+        assertEquals(2, pool.getIdleCount());
+    }
+
+    @Test
+    void borrowTimesOutWhenExhausted() throws SQLException {
+        PooledConnection first = pool.borrow(100);
+        PooledConnection second = pool.borrow(100);
+
+        long start = System.nanoTime();
+        assertThrows(SQLTimeoutException.class, () -> pool.borrow(50));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(2, pool.getSize());
+
+        first.close();
+        try (PooledConnection third = pool.borrow(100)) {
+            assertSame(first.getConnection(), third.getConnection());
+        }
+        second.close();
+    }
+
+    @Test
+    void waitingBorrowReceivesReleasedConnection() throws Exception {
+        PooledConnection first = pool.borrow(100);
+        PooledConnection second = pool.borrow(100);
+
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try (PooledConnection connection = pool.borrow(5_000)) {
+                return connection.getConnection();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        Thread.sleep(50);
+        second.close();
+
+        assertSame(second.getConnection(), waiting.get(5, TimeUnit.SECONDS));
+        first.close();
+        assertEquals(2, pool.getSize());
+    }
+
+    @Test
+    void brokenConnectionsAreReplaced() throws SQLException {
+        PooledConnection first = pool.borrow(100);
+        Connection broken = first.getConnection();
+        broken.close();
+        first.close();
+
+        try (PooledConnection second = pool.borrow(100)) {
+            assertNotSame(broken, second.getConnection());
+            assertTrue(second.getConnection().isValid(1));
+        }
+        assertEquals(1, pool.getSize());
+    }
+
+    @Test
+    void closeDiscardsIdleAndReleasedConnections() throws SQLException {
+        PooledConnection idle = pool.borrow(100);
+        PooledConnection inUse = pool.borrow(100);
+        idle.close();
+
+        pool.close();
+        assertTrue(idle.getConnection().isClosed());
+        assertEquals(1, pool.getSize());
+        assertThrows(SQLException.class, () -> pool.borrow(100));
+
+        inUse.close();
+        assertTrue(inUse.getConnection().isClosed());
+        assertEquals(0, pool.getSize());
+    }
+
+    @Test
+    void closingTwiceReleasesTheConnectionOnce() throws SQLException {
+        PooledConnection first = pool.borrow(100);
+        first.close();
+        first.close();
+        assertEquals(1, pool.getIdleCount());
+
+        try (PooledConnection second = pool.borrow(100); PooledConnection third = pool.borrow(100)) {
+            assertNotSame(second.getConnection(), third.getConnection());
+            assertEquals(2, pool.getSize());
+        }
+    }
+
+    @Test
+    void releaseRollsBackOpenTransactions() throws SQLException {
+        try (PooledConnection connection = pool.borrow(100)) {
+            connection.prepare("CREATE TABLE items (id INT)").executeUpdate();
+        }
+        PooledConnection first = pool.borrow(100);
+        first.getConnection().setAutoCommit(false);
+        first.prepare("INSERT INTO items VALUES (1)").executeUpdate();
+        first.close();
+
+        try (PooledConnection second = pool.borrow(100)) {
+            assertSame(first.getConnection(), second.getConnection());
+            assertTrue(second.getConnection().getAutoCommit());
+            try (ResultSet resultSet = second.prepare("SELECT COUNT(*) FROM items").executeQuery()) {
+                assertTrue(resultSet.next());
+                assertEquals(0, resultSet.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    void brokenConnectionsAreNotReleased() throws SQLException {
+        PooledConnection first = pool.borrow(100);
+        first.getConnection().setAutoCommit(false);
+        first.getConnection().close();
+        first.close();
+
+        assertEquals(0, pool.getIdleCount());
+        assertEquals(0, pool.getSize());
+        try (PooledConnection second = pool.borrow(100)) {
+            assertFalse(second.getConnection().isClosed());
+        }
+    }
+
+    @Test
+    void failedConnectionsDoNotTakeUpSpace() {
+        var failingPool = new SQLConnectionPool(() -> {
+            throw new SQLException("Connection refused");
+        }, 1, 4);
+        assertThrows(SQLException.class, () -> failingPool.borrow(100));
+        assertEquals(0, failingPool.getSize());
+        assertThrows(SQLException.class, () -> failingPool.borrow(100));
+        failingPool.close();
+    }
+
+}
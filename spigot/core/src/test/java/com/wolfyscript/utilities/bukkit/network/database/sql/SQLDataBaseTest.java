@@ -0,0 +1,167 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.network.database.sql;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.wolfyscript.utilities.WolfyUtils;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SQLDataBaseTest {
+
+    private static final String COUNT = "SELECT COUNT(*) FROM items";
+    private static final String INSERT = "INSERT INTO items (id, name) VALUES (?, ?)";
+
+    private SQLDataBase dataBase;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        WolfyUtils api = mock(WolfyUtils.class);
+        when(api.getName()).thenReturn("Test");
+        dataBase = new SQLDataBase(api, "jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", new Properties(), 1);
+        dataBase.update("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(64))", SQLDataBase.StatementBinder.NONE).get(5, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataBase.close();
+    }
+
+    private int count() throws Exception {
+        return dataBase.query(COUNT, SQLDataBase.StatementBinder.NONE, resultSet -> {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void updateAndQuery() throws Exception {
+        int updated = dataBase.update(INSERT, statement -> {
+            statement.setInt(1, 1);
+            statement.setString(2, "stone");
+        }).get(5, TimeUnit.SECONDS);
+        assertEquals(1, updated);
+
+        String name = dataBase.query("SELECT name FROM items WHERE id = ?", statement -> statement.setInt(1, 1), resultSet -> resultSet.next() ? resultSet.getString(1) : null).get(5, TimeUnit.SECONDS);
+        assertEquals("stone", name);
+        assertEquals(1, dataBase.getPool().getSize());
+        assertEquals(1, dataBase.getPool().getIdleCount());
+    }
+
+    @Test
+    void statementsAreCachedPerConnection() throws Exception {
+        PreparedStatement first = dataBase.withConnection(connection -> connection.prepare(COUNT)).get(5, TimeUnit.SECONDS);
+        PreparedStatement second = dataBase.withConnection(connection -> connection.prepare(COUNT)).get(5, TimeUnit.SECONDS);
+        assertSame(first, second);
+    }
+
+    @Test
+    void batchUpdateCommitsAllValues() throws Exception {
+        int[] result = dataBase.batchUpdate(INSERT, List.of(1, 2, 3), (statement, id) -> {
+            statement.setInt(1, id);
+            statement.setString(2, "item_" + id);
+        }).get(5, TimeUnit.SECONDS);
+        assertArrayEquals(new int[]{1, 1, 1}, result);
+        assertEquals(3, count());
+    }
+
+    @Test
+    void batchUpdateRollsBackOnFailure() throws Exception {
+        // The duplicate primary key fails the batch, so none of the values must be stored
+        CompletableFuture<int[]> failing = dataBase.batchUpdate(INSERT, List.of(1, 2, 2), (statement, id) -> {
+            statement.setInt(1, id);
+            statement.setString(2, "item_" + id);
+        });
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(SQLException.class, exception.getCause());
+        assertEquals(0, count());
+
+        // The auto-commit of the connection is restored, so following updates are committed
+        assertEquals(1, dataBase.getPool().getSize());
+        dataBase.update(INSERT, statement -> {
+            statement.setInt(1, 4);
+            statement.setString(2, "item_4");
+        }).get(5, TimeUnit.SECONDS);
+        assertTrue(dataBase.withConnection(connection -> connection.getConnection().getAutoCommit()).get(5, TimeUnit.SECONDS));
+        assertEquals(1, count());
+    }
+
+    @Test
+    void failingFunctionReleasesConnection() throws Exception {
+        CompletableFuture<Object> failing = dataBase.withConnection(connection -> {
+            throw new SQLException("Failed");
+        });
+        assertThrows(ExecutionException.class, () -> failing.get(5, TimeUnit.SECONDS));
+        assertEquals(1, dataBase.getPool().getIdleCount());
+    }
+
+    @Test
+    void executorRejectsWhenQueueIsFull() throws Exception {
+        var running = new CountDownLatch(1);
+        var blocker = new CountDownLatch(1);
+        CompletableFuture<Object> blocking = dataBase.withConnection(connection -> {
+            running.countDown();
+            try {
+                blocker.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // The only thread is busy, so these fill up the queue
+        List<CompletableFuture<Integer>> queued = new ArrayList<>(SQLDataBase.MAX_QUEUED_TASKS);
+        for (int i = 0; i < SQLDataBase.MAX_QUEUED_TASKS; i++) {
+            queued.add(dataBase.withConnection(connection -> 1));
+        }
+        assertEquals(SQLDataBase.MAX_QUEUED_TASKS, dataBase.getQueuedTaskCount());
+
+        CompletableFuture<Integer> rejected = dataBase.withConnection(connection -> 1);
+        assertTrue(rejected.isCompletedExceptionally());
+        ExecutionException exception = assertThrows(ExecutionException.class, rejected::get);
+        assertInstanceOf(RejectedExecutionException.class, exception.getCause());
+
+        blocker.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(queued.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+        assertEquals(0, dataBase.getQueuedTaskCount());
+    }
+
+}
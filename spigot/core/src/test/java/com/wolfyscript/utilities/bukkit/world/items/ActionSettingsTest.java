@@ -0,0 +1,73 @@
+/*
+ *       WolfyUtilities, APIs and Utilities for Minecraft Spigot plugins
+ *                      Copyright (C) 2021  WolfyScript
+ *
+ *     This program is free software: you can redistribute it and/or modify
+ *     it under the terms of the GNU General Public License as published by
+ *     the Free Software Foundation, either version 3 of the License, or
+ *     (at your option) any later version.
+ *
+ *     This program is distributed in the hope that it will be useful,
+ *     but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *     MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *     GNU General Public License for more details.
+ *
+ *     You should have received a copy of the GNU General Public License
+ *     along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package com.wolfyscript.utilities.bukkit.world.items;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import com.wolfyscript.utilities.NamespacedKey;
+import com.wolfyscript.utilities.WolfyUtils;
+import com.wolfyscript.utilities.bukkit.BukkitNamespacedKey;
+import com.wolfyscript.utilities.bukkit.world.items.actions.Data;
+import com.wolfyscript.utilities.bukkit.world.items.actions.DataBlock;
+import com.wolfyscript.utilities.bukkit.world.items.actions.DataPlayer;
+import com.wolfyscript.utilities.bukkit.world.items.actions.Event;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ActionSettingsTest {
+
+    private static final NamespacedKey INTERACT = BukkitNamespacedKey.of("test:interact");
+    private static final NamespacedKey DROP = BukkitNamespacedKey.of("test:drop");
+
+    private final WolfyUtils wolfyUtils = mock(WolfyUtils.class);
+
+    @Test
+    void hasEventsChecksTheDataType() {
+        var settings = new ActionSettings(wolfyUtils);
+        settings.setEvents(List.of(new TestEvent<>(wolfyUtils, INTERACT, DataPlayer.class)));
+
+        assertTrue(settings.hasEvents(INTERACT, DataPlayer.class));
+        assertFalse(settings.hasEvents(INTERACT, DataBlock.class));
+        assertFalse(settings.hasEvents(DROP, DataPlayer.class));
+    }
+
+    @Test
+    void getEventsFiltersTheDataType() {
+        var settings = new ActionSettings(wolfyUtils);
+        var playerEvent = new TestEvent<>(wolfyUtils, INTERACT, DataPlayer.class);
+        var blockEvent = new TestEvent<>(wolfyUtils, DROP, DataBlock.class);
+        settings.setEvents(List.of(playerEvent, blockEvent, new TestEvent<>(wolfyUtils, INTERACT, DataPlayer.class)));
+
+        assertEquals(List.of(playerEvent, blockEvent), settings.getEvents());
+        assertEquals(List.of(playerEvent), settings.getEvents(INTERACT, DataPlayer.class));
+        assertEquals(List.of(), settings.getEvents(INTERACT, DataBlock.class));
+        assertEquals(List.of(blockEvent), settings.getEvents(DROP, DataBlock.class));
+    }
+
+    private static final class TestEvent<T extends Data> extends Event<T> {
+
+        private TestEvent(WolfyUtils wolfyUtils, NamespacedKey key, Class<T> dataType) {
+            super(wolfyUtils, key, dataType);
+        }
+    }
+
+}